@@ -0,0 +1,61 @@
+package org.example.benchmarks;
+
+import org.example.DOTGraph;
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultEdge;
+
+import java.util.Random;
+
+/**
+ * Builds the graphs the benchmarks run on. Nodes are named n0 .. n(size-1) and
+ * connected by a chain n0 -> n1 -> ... plus up to extraEdges random forward edges
+ * per node to one of the next eight nodes. All edges point forward, so the graph
+ * is acyclic, n0 reaches every node along paths of length up to size-1, and no
+ * node reaches an earlier one.
+ */
+final class BenchmarkGraphs {
+    // How far a random forward edge may jump
+    private static final int MAX_JUMP = 8;
+
+    private BenchmarkGraphs() {
+    }
+
+    /**
+     * Get the name of a node
+     *
+     * @param i the node number
+     * @return the node name
+     */
+    static String node(int i) {
+        return "n" + i;
+    }
+
+    /**
+     * Build a graph directly through the underlying JGraphT graph, so setup does
+     * not pay for the per-call console output of addNode and addEdge
+     *
+     * @param size the number of nodes
+     * @param extraEdges random forward edges per node in addition to the chain
+     * @param seed the random seed
+     * @return the graph
+     */
+    static DOTGraph chain(int size, int extraEdges, long seed) {
+        DOTGraph dotGraph = new DOTGraph();
+        Graph<String, DefaultEdge> graph = dotGraph.getGraph();
+        Random random = new Random(seed);
+
+        for (int i = 0; i < size; i++) {
+            graph.addVertex(node(i));
+        }
+        for (int i = 0; i + 1 < size; i++) {
+            graph.addEdge(node(i), node(i + 1));
+            for (int e = 0; e < extraEdges; e++) {
+                int target = i + 2 + random.nextInt(MAX_JUMP - 1);
+                if (target < size) {
+                    graph.addEdge(node(i), node(target));
+                }
+            }
+        }
+        return dotGraph;
+    }
+}
@@ -0,0 +1,31 @@
+package org.example.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of benchmarks.jar. Accepts the usual JMH command line and always adds
+ * the GC profiler, so every result comes with gc.alloc.rate.norm (bytes allocated
+ * per operation) next to the timing.
+ */
+public class BenchmarkRunner {
+    /**
+     * Run the selected benchmarks
+     *
+     * @param args JMH command-line options, e.g. a benchmark name pattern and -p size=1000
+     * @throws RunnerException if a benchmark fails
+     * @throws CommandLineOptionException if the options can't be parsed
+     */
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,53 @@
+package org.example.benchmarks;
+
+import org.example.DOTGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to write a graph of the given size in DOT format
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ExportBenchmark {
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int size;
+
+    private DOTGraph graph;
+    private File output;
+
+    @Setup(Level.Trial)
+    public void buildGraph() throws IOException {
+        graph = BenchmarkGraphs.chain(size, 1, 42);
+        output = File.createTempFile("export-benchmark", ".dot");
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteOutput() {
+        output.delete();
+    }
+
+    @Benchmark
+    public boolean outputDOTGraph() {
+        return graph.outputDOTGraph(output.getPath());
+    }
+}
@@ -0,0 +1,76 @@
+package org.example.benchmarks;
+
+import org.example.DOTGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a single addNode or addEdge on a graph that already holds size nodes.
+ * The graph is rebuilt before every iteration so its size stays close to the
+ * parameter however many operations an iteration runs.
+ *
+ * Both methods print a line per call, and writing it to the console would cost
+ * more than the mutation. System.out is replaced by a stream that discards its
+ * output for the whole trial. The benchmarks still call DOTGraph rather than the
+ * underlying JGraphT graph, so the timings include DOTGraph's own checks, index
+ * updates and the building of the message.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MutationBenchmark {
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int size;
+
+    private DOTGraph graph;
+    private int next;
+    private PrintStream console;
+
+    @Setup(Level.Trial)
+    public void discardOutput() {
+        console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown(Level.Trial)
+    public void restoreOutput() {
+        System.setOut(console);
+    }
+
+    @Setup(Level.Iteration)
+    public void buildGraph() {
+        graph = BenchmarkGraphs.chain(size, 1, 42);
+        next = size;
+    }
+
+    @Benchmark
+    public boolean addNode() {
+        return graph.addNode(BenchmarkGraphs.node(next++));
+    }
+
+    @Benchmark
+    public boolean addEdge() {
+        // A new node plus an edge into the existing graph, so the edge is never a duplicate
+        String source = BenchmarkGraphs.node(next++);
+        graph.getGraph().addVertex(source);
+        return graph.addEdge(source, BenchmarkGraphs.node(next % size));
+    }
+}
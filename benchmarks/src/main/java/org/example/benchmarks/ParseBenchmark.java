@@ -0,0 +1,56 @@
+package org.example.benchmarks;
+
+import org.example.DOTGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to parse a DOT file of the given size into a fresh DOTGraph
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ParseBenchmark {
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int size;
+
+    private File input;
+
+    @Setup(Level.Trial)
+    public void writeInput() throws IOException {
+        input = File.createTempFile("parse-benchmark", ".dot");
+        if (!BenchmarkGraphs.chain(size, 1, 42).outputDOTGraph(input.getPath())) {
+            throw new IOException("Could not write benchmark input");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteInput() {
+        input.delete();
+    }
+
+    @Benchmark
+    public DOTGraph parseGraph() {
+        DOTGraph graph = new DOTGraph();
+        graph.parseGraph(input.getPath());
+        return graph;
+    }
+}
@@ -0,0 +1,83 @@
+package org.example.benchmarks;
+
+import org.example.DOTGraph;
+import org.example.ForceDirectedLayout;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time for a full outputGraphics call: layout, rasterization and encoding. The
+ * layout cache is cleared before every call so each one lays out from scratch.
+ * outputGraphics picks its engine by size, format and renderer; outputGraphicsNative
+ * always uses the native force-directed engine. With the default awt renderer both
+ * lay out natively. Only -Ddotgraph.renderer=jgraphx sends PNG output of graphs up
+ * to NATIVE_LAYOUT_THRESHOLD (200 nodes) to JGraphX, and every default size is
+ * above that. A render that fails throws instead of returning false, so it is
+ * reported as an error rather than timed. Sizes stop at 10^5 by default because a
+ * single call at 10^6 already takes minutes; pass -p size=1000000 to measure it
+ * anyway.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RenderBenchmark {
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    @Param({"png", "svg"})
+    public String format;
+
+    private DOTGraph graph;
+    private File output;
+
+    @Setup(Level.Trial)
+    public void buildGraph() throws IOException {
+        graph = BenchmarkGraphs.chain(size, 1, 42);
+        output = File.createTempFile("render-benchmark", "." + format);
+    }
+
+    @Setup(Level.Invocation)
+    public void clearLayout() {
+        graph.clearLayoutCache();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteOutput() {
+        output.delete();
+    }
+
+    @Benchmark
+    public boolean outputGraphics() {
+        return check(graph.outputGraphics(output.getPath(), format));
+    }
+
+    @Benchmark
+    public boolean outputGraphicsNative() {
+        return check(graph.outputGraphics(output.getPath(), format, new ForceDirectedLayout(100)));
+    }
+
+    private boolean check(boolean written) {
+        if (!written) {
+            throw new IllegalStateException("Rendering " + size + " nodes as " + format + " failed");
+        }
+        return written;
+    }
+}
@@ -0,0 +1,75 @@
+package org.example.benchmarks;
+
+import org.example.Algorithm;
+import org.example.DOTGraph;
+import org.example.Path;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * graphSearch with BFS and DFS for three kinds of query:
+ * <ul>
+ *   <li>short: the target is a few hops from the source</li>
+ *   <li>long: the target is the last node, reachable only across the whole graph</li>
+ *   <li>miss: the target is unreachable, so the search exhausts everything after the source</li>
+ * </ul>
+ * DFS recurses once per node on the current path, so the fork gets a large stack.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xss1g")
+public class SearchBenchmark {
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int size;
+
+    @Param({"BFS", "DFS"})
+    public Algorithm algorithm;
+
+    @Param({"short", "long", "miss"})
+    public String query;
+
+    private DOTGraph graph;
+    private String source;
+    private String target;
+
+    @Setup(Level.Trial)
+    public void buildGraph() {
+        graph = BenchmarkGraphs.chain(size, 2, 42);
+        switch (query) {
+            case "short" -> {
+                source = BenchmarkGraphs.node(0);
+                target = BenchmarkGraphs.node(4);
+            }
+            case "long" -> {
+                source = BenchmarkGraphs.node(0);
+                target = BenchmarkGraphs.node(size - 1);
+            }
+            case "miss" -> {
+                // Edges only point forward, so the first node can't be reached
+                source = BenchmarkGraphs.node(size / 2);
+                target = BenchmarkGraphs.node(0);
+            }
+            default -> throw new IllegalArgumentException("Error: Unknown query '" + query + "'.");
+        }
+    }
+
+    @Benchmark
+    public Path graphSearch() {
+        return graph.graphSearch(source, target, algorithm);
+    }
+}
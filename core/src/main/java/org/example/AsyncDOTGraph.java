@@ -0,0 +1,224 @@
+package org.example;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A non-blocking facade over a {@link DOTGraph}. Every call returns at once with a
+ * CompletableFuture and the work runs on one of two executors: file parsing and DOT
+ * export run on an I/O executor (a virtual thread per task by default), while
+ * searches and image rendering run on a CPU executor with a fixed number of
+ * threads. Thousands of outstanding requests therefore cost queue entries or
+ * virtual threads, not platform threads.
+ *
+ * The graph itself is not thread-safe, so calls are ordered by a read-write lock:
+ * searches and DOT export share the graph, while parsing, rendering (which updates
+ * the layout cache) and {@link #update} get it to themselves.
+ *
+ * Cancelling a future before its task starts keeps the task from running.
+ * Cancelling a running task interrupts its thread; a task still waiting for the
+ * lock stops waiting, but a parse, export or search already under way runs to the
+ * end and its result is discarded.
+ */
+public class AsyncDOTGraph implements AutoCloseable {
+    private final DOTGraph graph;
+    private final ExecutorService ioExecutor;
+    private final ExecutorService cpuExecutor;
+    private final boolean ownsExecutors;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * A future that cancels the task computing it
+     */
+    private static final class TaskFuture<T> extends CompletableFuture<T> {
+        private volatile Future<?> task;
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            Future<?> running = task;
+            if (cancelled && running != null) {
+                running.cancel(true);
+            }
+            return cancelled;
+        }
+    }
+
+    /**
+     * Wrap a graph using a virtual thread per I/O task and one CPU thread per
+     * available processor. The executors are shut down by close().
+     *
+     * @param graph the graph to wrap
+     */
+    public AsyncDOTGraph(DOTGraph graph) {
+        this(graph, Executors.newVirtualThreadPerTaskExecutor(),
+                Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors()), true);
+    }
+
+    /**
+     * Wrap a graph using the given executors, which stay open after close()
+     *
+     * @param graph the graph to wrap
+     * @param ioExecutor runs parsing and DOT export
+     * @param cpuExecutor runs searches, rendering and updates
+     */
+    public AsyncDOTGraph(DOTGraph graph, ExecutorService ioExecutor, ExecutorService cpuExecutor) {
+        this(graph, ioExecutor, cpuExecutor, false);
+    }
+
+    private AsyncDOTGraph(DOTGraph graph, ExecutorService ioExecutor, ExecutorService cpuExecutor,
+                          boolean ownsExecutors) {
+        if (graph == null || ioExecutor == null || cpuExecutor == null) {
+            throw new IllegalArgumentException("Error: Graph and executors must not be null.");
+        }
+        this.graph = graph;
+        this.ioExecutor = ioExecutor;
+        this.cpuExecutor = cpuExecutor;
+        this.ownsExecutors = ownsExecutors;
+    }
+
+    /**
+     * Get the wrapped graph. Using it directly bypasses the lock.
+     *
+     * @return the graph
+     */
+    public DOTGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Parse a DOT file into the graph. As with {@link DOTGraph#parseGraph}, the
+     * file's nodes and edges are merged into the graph and the node attributes are
+     * replaced by those of the file.
+     *
+     * @param filepath the path to the DOT file
+     * @return a future completing with true if parsing was successful
+     */
+    public CompletableFuture<Boolean> parseGraph(String filepath) {
+        return submit(ioExecutor, lock.writeLock(), () -> graph.parseGraph(filepath));
+    }
+
+    /**
+     * Export the graph as a DOT file
+     *
+     * @param path the path where to save the DOT file
+     * @return a future completing with true if successful
+     */
+    public CompletableFuture<Boolean> outputDOTGraph(String path) {
+        return submit(ioExecutor, lock.readLock(), () -> graph.outputDOTGraph(path));
+    }
+
+    /**
+     * Render the graph as an image
+     *
+     * @param path the path where to save the graphics file
+     * @param format the format of the graphics file ("png" or "svg")
+     * @return a future completing with true if successful
+     */
+    public CompletableFuture<Boolean> outputGraphics(String path, String format) {
+        return submit(cpuExecutor, lock.writeLock(), () -> graph.outputGraphics(path, format));
+    }
+
+    /**
+     * Find a path between two nodes
+     *
+     * @param src the source node label
+     * @param dst the destination node label
+     * @param algo the algorithm to use (BFS or DFS)
+     * @return a future completing with the path, or null if there is none; it
+     *         completes exceptionally with IllegalArgumentException for unknown nodes
+     */
+    public CompletableFuture<Path> graphSearch(String src, String dst, Algorithm algo) {
+        return submit(cpuExecutor, lock.readLock(), () -> graph.graphSearch(src, dst, algo));
+    }
+
+    /**
+     * Find a path between nodes chosen by attribute value
+     *
+     * @param attribute the attribute used to pick the endpoints
+     * @param srcValue the attribute value of the source nodes
+     * @param dstValue the attribute value of the destination nodes
+     * @param algo the algorithm to use (BFS or DFS)
+     * @return a future completing with the path, or null if there is none
+     */
+    public CompletableFuture<Path> graphSearch(String attribute, String srcValue, String dstValue, Algorithm algo) {
+        return submit(cpuExecutor, lock.readLock(), () -> graph.graphSearch(attribute, srcValue, dstValue, algo));
+    }
+
+    /**
+     * Run a read-only query against the graph, concurrently with other reads
+     *
+     * @param query the query, which must not modify the graph
+     * @return a future completing with the query result
+     */
+    public <T> CompletableFuture<T> query(Function<DOTGraph, T> query) {
+        return submit(cpuExecutor, lock.readLock(), () -> query.apply(graph));
+    }
+
+    /**
+     * Modify the graph with exclusive access
+     *
+     * @param change the change to apply
+     * @return a future completing when the change has been applied
+     */
+    public CompletableFuture<Void> update(Consumer<DOTGraph> change) {
+        return submit(cpuExecutor, lock.writeLock(), () -> {
+            change.accept(graph);
+            return null;
+        });
+    }
+
+    /**
+     * Run a task on an executor while holding a lock, completing the returned future
+     * with its result
+     */
+    private <T> CompletableFuture<T> submit(ExecutorService executor, Lock held, Callable<T> task) {
+        TaskFuture<T> future = new TaskFuture<>();
+        try {
+            future.task = executor.submit(() -> {
+                // Skip tasks cancelled while queued
+                if (future.isDone()) {
+                    return;
+                }
+                try {
+                    held.lockInterruptibly();
+                } catch (InterruptedException e) {
+                    future.completeExceptionally(e);
+                    return;
+                }
+                try {
+                    if (!future.isDone()) {
+                        future.complete(task.call());
+                    }
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                } finally {
+                    held.unlock();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Shut down the executors if this facade created them. Tasks already submitted
+     * still run.
+     */
+    @Override
+    public void close() {
+        if (ownsExecutors) {
+            ioExecutor.shutdown();
+            cpuExecutor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package org.example;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * A secondary index from the values of one vertex attribute to the vertices that
+ * carry them. Equality lookups go through a hash map; an index created as sorted
+ * also keeps a tree map for range and prefix lookups.
+ *
+ * Values are indexed without surrounding double quotes, so a node added with
+ * addNode("A") (stored as label "\"A\"") and one parsed from label="A" are both
+ * found by the value A.
+ */
+public class AttributeIndex {
+    private final String attributeName;
+    private final Map<String, Set<String>> byValue = new HashMap<>();
+    private final TreeMap<String, Set<String>> sorted;
+
+    /**
+     * Create an empty index
+     *
+     * @param attributeName the attribute to index
+     * @param sorted whether to support range and prefix lookups
+     */
+    public AttributeIndex(String attributeName, boolean sorted) {
+        this.attributeName = attributeName;
+        this.sorted = sorted ? new TreeMap<>() : null;
+    }
+
+    /**
+     * Get the name of the indexed attribute
+     *
+     * @return the attribute name
+     */
+    public String getAttributeName() {
+        return attributeName;
+    }
+
+    /**
+     * Check whether this index supports range and prefix lookups
+     *
+     * @return true if the index is sorted
+     */
+    public boolean isSorted() {
+        return sorted != null;
+    }
+
+    /**
+     * Add a vertex under an attribute value
+     *
+     * @param vertex the vertex
+     * @param value the raw attribute value, possibly quoted
+     */
+    public void add(String vertex, String value) {
+        String key = normalize(value);
+        Set<String> vertices = byValue.computeIfAbsent(key, k -> new HashSet<>());
+        vertices.add(vertex);
+        if (sorted != null) {
+            // Both maps share the same vertex set
+            sorted.put(key, vertices);
+        }
+    }
+
+    /**
+     * Remove a vertex from under an attribute value
+     *
+     * @param vertex the vertex
+     * @param value the raw attribute value, possibly quoted
+     */
+    public void remove(String vertex, String value) {
+        String key = normalize(value);
+        Set<String> vertices = byValue.get(key);
+        if (vertices == null) {
+            return;
+        }
+        vertices.remove(vertex);
+        if (vertices.isEmpty()) {
+            byValue.remove(key);
+            if (sorted != null) {
+                sorted.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Remove every entry from the index
+     */
+    public void clear() {
+        byValue.clear();
+        if (sorted != null) {
+            sorted.clear();
+        }
+    }
+
+    /**
+     * Find the vertices whose attribute equals a value
+     *
+     * @param value the value to look up
+     * @return the matching vertices (read-only)
+     */
+    public Set<String> equalTo(String value) {
+        Set<String> vertices = byValue.get(normalize(value));
+        return vertices == null ? Collections.emptySet() : Collections.unmodifiableSet(vertices);
+    }
+
+    /**
+     * Find the vertices whose attribute lies in [from, to) in string order
+     *
+     * @param from the inclusive lower bound
+     * @param to the exclusive upper bound
+     * @return the matching vertices
+     * @throws IllegalStateException if the index is not sorted
+     */
+    public Set<String> range(String from, String to) {
+        requireSorted();
+        return collect(sorted.subMap(normalize(from), true, normalize(to), false));
+    }
+
+    /**
+     * Find the vertices whose attribute starts with a prefix
+     *
+     * @param prefix the prefix
+     * @return the matching vertices
+     * @throws IllegalStateException if the index is not sorted
+     */
+    public Set<String> prefix(String prefix) {
+        requireSorted();
+        String key = normalize(prefix);
+        if (key.isEmpty()) {
+            return collect(sorted);
+        }
+        // The smallest string greater than every string with this prefix. Trailing
+        // \uFFFF characters cannot be incremented, so drop them first; a prefix made
+        // only of them has no upper bound.
+        int end = key.length();
+        while (end > 0 && key.charAt(end - 1) == Character.MAX_VALUE) {
+            end--;
+        }
+        if (end == 0) {
+            return collect(sorted.tailMap(key, true));
+        }
+        String upper = key.substring(0, end - 1) + (char) (key.charAt(end - 1) + 1);
+        return collect(sorted.subMap(key, true, upper, false));
+    }
+
+    private void requireSorted() {
+        if (sorted == null) {
+            throw new IllegalStateException("Error: Index on '" + attributeName + "' is not sorted.");
+        }
+    }
+
+    private static Set<String> collect(NavigableMap<String, Set<String>> entries) {
+        Set<String> result = new HashSet<>();
+        for (Set<String> vertices : entries.values()) {
+            result.addAll(vertices);
+        }
+        return result;
+    }
+
+    /**
+     * Strip one pair of surrounding double quotes from a value
+     *
+     * @param value the raw value
+     * @return the value without quotes
+     */
+    static String normalize(String value) {
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            return value.substring(1, value.length() - 1);
+        }
+        return value;
+    }
+
+    /**
+     * Estimate the heap used by the index. Vertex names are shared with the graph
+     * and not counted.
+     *
+     * @return the size in bytes
+     */
+    long estimatedBytes() {
+        long size = MemoryReport.object(2, 0) + MemoryReport.hashMap(byValue.size());
+        for (Map.Entry<String, Set<String>> entry : byValue.entrySet()) {
+            size += MemoryReport.string(entry.getKey());
+            size += MemoryReport.HASH_SET + MemoryReport.hashMap(entry.getValue().size());
+        }
+        if (sorted != null) {
+            // Same keys and vertex sets as byValue, so only the tree entries are extra
+            size += MemoryReport.object(7, 8) + sorted.size() * MemoryReport.TREE_MAP_ENTRY;
+        }
+        return size;
+    }
+}
@@ -0,0 +1,295 @@
+package org.example;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders many DOT files in one run. Each file goes through four pipelined stages,
+ * each with its own bounded pool: parse, layout on a fork-join pool (which the
+ * layout engine also uses, so a single large file can spread over idle workers),
+ * rasterize (PNG only), then encode and write on a smaller writer pool. While one
+ * file is being written the next can be rasterized and a third laid out. At most
+ * maxInFlight files are between parsing and writing at any time, and no stage
+ * queues more than that; the submitting thread blocks until one finishes, which
+ * caps the number of graphs and images held in memory. PNG images are drawn and
+ * encoded by the installed {@link GraphRenderer}, with AWT headless.
+ */
+public class BatchRenderer {
+    private final int workers;
+    private final int maxInFlight;
+    private final int layoutIterations;
+
+    /**
+     * Timings and outcome for one input file
+     */
+    public static final class Result {
+        private final String input;
+        private final String output;
+        private boolean success;
+        private String error;
+        private long parseMillis;
+        private long layoutMillis;
+        private long renderMillis;
+        private long encodeMillis;
+
+        Result(String input, String output) {
+            this.input = input;
+            this.output = output;
+        }
+
+        public String getInput() {
+            return input;
+        }
+
+        public String getOutput() {
+            return output;
+        }
+
+        public boolean isSuccess() {
+            return success;
+        }
+
+        /**
+         * Get the failure reason
+         *
+         * @return the error message, or null if the file was rendered
+         */
+        public String getError() {
+            return error;
+        }
+
+        public long getParseMillis() {
+            return parseMillis;
+        }
+
+        public long getLayoutMillis() {
+            return layoutMillis;
+        }
+
+        public long getRenderMillis() {
+            return renderMillis;
+        }
+
+        public long getEncodeMillis() {
+            return encodeMillis;
+        }
+
+        public long getTotalMillis() {
+            return parseMillis + layoutMillis + renderMillis + encodeMillis;
+        }
+
+        @Override
+        public String toString() {
+            if (!success) {
+                return input + ": failed (" + error + ")";
+            }
+            return input + ": parse " + parseMillis + " ms, layout " + layoutMillis + " ms, render "
+                    + renderMillis + " ms, encode " + encodeMillis + " ms";
+        }
+    }
+
+    /**
+     * Create a batch renderer
+     *
+     * @param workers the number of threads in each of the parse, layout and rasterize stages
+     * @param maxInFlight the maximum number of files held in memory at once
+     * @param layoutIterations the iteration budget of the layout engine
+     */
+    public BatchRenderer(int workers, int maxInFlight, int layoutIterations) {
+        if (workers <= 0 || maxInFlight <= 0) {
+            throw new IllegalArgumentException("Error: Worker and in-flight counts must be positive.");
+        }
+        this.workers = workers;
+        this.maxInFlight = maxInFlight;
+        this.layoutIterations = layoutIterations;
+    }
+
+    /**
+     * Render every .dot file in a directory
+     *
+     * @param inputDirectory the directory to scan
+     * @param outputDirectory where to write the images, created if needed
+     * @param format "png" or "svg"
+     * @return one result per file, in file name order
+     * @throws IOException if the input directory cannot be listed
+     */
+    public List<Result> renderDirectory(String inputDirectory, String outputDirectory, String format)
+            throws IOException {
+        List<String> inputs = new ArrayList<>();
+        try (DirectoryStream<java.nio.file.Path> files = Files.newDirectoryStream(Paths.get(inputDirectory), "*.dot")) {
+            for (java.nio.file.Path file : files) {
+                inputs.add(file.toString());
+            }
+        }
+        inputs.sort(null);
+        return render(inputs, outputDirectory, format);
+    }
+
+    /**
+     * Render a list of DOT files. A file that fails to parse or render is reported in
+     * its result and does not stop the others.
+     *
+     * @param inputs the DOT files
+     * @param outputDirectory where to write the images, created if needed
+     * @param format "png" or "svg"
+     * @return one result per input, in input order
+     */
+    public List<Result> render(List<String> inputs, String outputDirectory, String format) {
+        if (!format.equalsIgnoreCase("png") && !format.equalsIgnoreCase("svg")) {
+            throw new IllegalArgumentException("Error: Unsupported format: " + format + ".");
+        }
+        if (System.getProperty("java.awt.headless") == null) {
+            System.setProperty("java.awt.headless", "true");
+        }
+        new File(outputDirectory).mkdirs();
+
+        ExecutorService parsePool = stage(workers);
+        ForkJoinPool layoutPool = new ForkJoinPool(workers);
+        ExecutorService rasterPool = stage(workers);
+        ExecutorService writerPool = stage(Math.max(1, workers / 2));
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        List<Result> results = new ArrayList<>();
+        List<CompletableFuture<Void>> pending = new ArrayList<>();
+
+        try {
+            for (String input : inputs) {
+                String name = new File(input).getName();
+                int dot = name.lastIndexOf('.');
+                String base = dot > 0 ? name.substring(0, dot) : name;
+                Result result = new Result(input, new File(outputDirectory, base + "." + format.toLowerCase()).getPath());
+                results.add(result);
+
+                // Backpressure: wait until an earlier file has been written
+                inFlight.acquireUninterruptibly();
+                pending.add(CompletableFuture
+                        .supplyAsync(() -> parseStage(result), parsePool)
+                        .thenApplyAsync(dotGraph -> layoutStage(result, dotGraph, layoutPool), layoutPool)
+                        .thenApplyAsync(layout -> rasterizeStage(result, layout, format), rasterPool)
+                        .thenAcceptAsync(staged -> writeStage(result, staged), writerPool)
+                        .whenComplete((ignored, failure) -> {
+                            if (failure != null) {
+                                result.success = false;
+                                Throwable cause = failure.getCause() != null ? failure.getCause() : failure;
+                                result.error = cause.getMessage();
+                            }
+                            inFlight.release();
+                        }));
+            }
+
+            CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0])).exceptionally(e -> null).join();
+        } finally {
+            parsePool.shutdown();
+            layoutPool.shutdown();
+            rasterPool.shutdown();
+            writerPool.shutdown();
+        }
+
+        int failed = 0;
+        for (Result result : results) {
+            if (!result.success) {
+                failed++;
+            }
+        }
+        System.out.println("Batch rendered " + (results.size() - failed) + " of " + results.size()
+                + " graphs to: " + outputDirectory);
+        return results;
+    }
+
+    /**
+     * Create the pool of one stage. Its queue holds maxInFlight tasks, which the
+     * in-flight limit never exceeds, so submissions are never rejected.
+     */
+    private ExecutorService stage(int threads) {
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxInFlight));
+    }
+
+    /**
+     * Work handed from the rasterize stage to the writer stage
+     */
+    private static final class Staged {
+        private final GraphLayout layout;
+        private final GraphRenderer.Raster image;
+
+        Staged(GraphLayout layout, GraphRenderer.Raster image) {
+            this.layout = layout;
+            this.image = image;
+        }
+    }
+
+    /**
+     * Parse one file
+     */
+    private DOTGraph parseStage(Result result) {
+        long start = System.nanoTime();
+        DOTGraph dotGraph = new DOTGraph();
+        if (!dotGraph.parseGraph(result.input)) {
+            throw new IllegalStateException("could not parse " + result.input);
+        }
+        result.parseMillis = (System.nanoTime() - start) / 1_000_000;
+        return dotGraph;
+    }
+
+    /**
+     * Lay out one parsed file
+     */
+    private GraphLayout layoutStage(Result result, DOTGraph dotGraph, ForkJoinPool pool) {
+        long start = System.nanoTime();
+        ForceDirectedLayout engine = new ForceDirectedLayout(layoutIterations);
+        engine.setPool(pool);
+        GraphLayout layout = engine.compute(dotGraph.snapshot());
+        result.layoutMillis = (System.nanoTime() - start) / 1_000_000;
+        return layout;
+    }
+
+    /**
+     * Draw one layout into an image, for PNG output
+     */
+    private Staged rasterizeStage(Result result, GraphLayout layout, String format) {
+        if (!format.equalsIgnoreCase("png")) {
+            return new Staged(layout, null);
+        }
+        GraphRenderer renderer = Renderers.get();
+        if (renderer == null) {
+            throw new IllegalStateException("no graph renderer is available; add DOTGraph-render to the class path");
+        }
+        long start = System.nanoTime();
+        GraphRenderer.Raster image = renderer.rasterize(layout);
+        result.renderMillis = (System.nanoTime() - start) / 1_000_000;
+        return new Staged(layout, image);
+    }
+
+    /**
+     * Encode and write one file
+     */
+    private void writeStage(Result result, Staged staged) {
+        long start = System.nanoTime();
+        try {
+            if (staged.image != null) {
+                staged.image.write(result.output, "png");
+            } else {
+                try (BufferedWriter out = Files.newBufferedWriter(Paths.get(result.output), StandardCharsets.UTF_8)) {
+                    new SVGWriter(out, DOTGraph.MAX_IMAGE_SIZE, 40).write(staged.layout);
+                }
+            }
+            result.success = true;
+        } catch (IOException e) {
+            result.error = e.getMessage();
+        }
+        result.encodeMillis = (System.nanoTime() - start) / 1_000_000;
+    }
+}
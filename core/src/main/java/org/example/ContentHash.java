@@ -0,0 +1,180 @@
+package org.example;
+
+import org.jgrapht.Graph;
+import org.jgrapht.event.GraphEdgeChangeEvent;
+import org.jgrapht.event.GraphListener;
+import org.jgrapht.event.GraphVertexChangeEvent;
+import org.jgrapht.graph.DefaultEdge;
+
+import java.util.Map;
+
+/**
+ * An order-independent 64-bit hash of a graph's nodes, edges and attributes. Every
+ * node, edge and attribute entry is hashed on its own and the results are added
+ * up, so the hash does not depend on insertion order and a change only has to add
+ * or subtract the terms it affects. Structural changes arrive as graph events;
+ * attribute changes are reported by {@link DOTGraph}.
+ */
+class ContentHash implements GraphListener<String, DefaultEdge> {
+    private static final long NODE = 0x6E6F6465L;
+    private static final long EDGE = 0x65646765L;
+    private static final long ATTRIBUTE = 0x61747472L;
+
+    private long value;
+
+    /**
+     * Get the current hash
+     *
+     * @return the hash
+     */
+    long value() {
+        return value;
+    }
+
+    /**
+     * Recompute the hash from scratch
+     *
+     * @param graph the graph structure
+     * @param vertexAttributes the node attributes
+     * @param edgeAttributes the edge attributes
+     */
+    void recompute(Graph<String, DefaultEdge> graph, Map<String, Map<String, String>> vertexAttributes,
+                   Map<DefaultEdge, Map<String, String>> edgeAttributes) {
+        long sum = 0;
+        for (String vertex : graph.vertexSet()) {
+            sum += node(vertex);
+            Map<String, String> attributes = vertexAttributes.get(vertex);
+            if (attributes != null) {
+                sum += attributes(node(vertex), attributes);
+            }
+        }
+        for (DefaultEdge edge : graph.edgeSet()) {
+            long owner = edge(graph.getEdgeSource(edge), graph.getEdgeTarget(edge));
+            sum += owner;
+            Map<String, String> attributes = edgeAttributes.get(edge);
+            if (attributes != null) {
+                sum += attributes(owner, attributes);
+            }
+        }
+        value = sum;
+    }
+
+    @Override
+    public void vertexAdded(GraphVertexChangeEvent<String> e) {
+        value += node(e.getVertex());
+    }
+
+    @Override
+    public void vertexRemoved(GraphVertexChangeEvent<String> e) {
+        value -= node(e.getVertex());
+    }
+
+    @Override
+    public void edgeAdded(GraphEdgeChangeEvent<String, DefaultEdge> e) {
+        value += edge(e.getEdgeSource(), e.getEdgeTarget());
+    }
+
+    @Override
+    public void edgeRemoved(GraphEdgeChangeEvent<String, DefaultEdge> e) {
+        value -= edge(e.getEdgeSource(), e.getEdgeTarget());
+    }
+
+    /**
+     * Account for a node attribute being set
+     *
+     * @param vertex the node
+     * @param name the attribute name
+     * @param oldValue the previous value, or null
+     * @param newValue the new value
+     */
+    void nodeAttributeSet(String vertex, String name, String oldValue, String newValue) {
+        attributeSet(node(vertex), name, oldValue, newValue);
+    }
+
+    /**
+     * Account for an edge attribute being set
+     *
+     * @param source the edge source
+     * @param target the edge target
+     * @param name the attribute name
+     * @param oldValue the previous value, or null
+     * @param newValue the new value
+     */
+    void edgeAttributeSet(String source, String target, String name, String oldValue, String newValue) {
+        attributeSet(edge(source, target), name, oldValue, newValue);
+    }
+
+    /**
+     * Account for all attributes of a node being dropped
+     *
+     * @param vertex the node
+     * @param attributes the dropped attributes, may be null
+     */
+    void nodeAttributesRemoved(String vertex, Map<String, String> attributes) {
+        if (attributes != null) {
+            value -= attributes(node(vertex), attributes);
+        }
+    }
+
+    /**
+     * Account for all attributes of an edge being dropped
+     *
+     * @param source the edge source
+     * @param target the edge target
+     * @param attributes the dropped attributes, may be null
+     */
+    void edgeAttributesRemoved(String source, String target, Map<String, String> attributes) {
+        if (attributes != null) {
+            value -= attributes(edge(source, target), attributes);
+        }
+    }
+
+    private void attributeSet(long owner, String name, String oldValue, String newValue) {
+        if (oldValue != null) {
+            value -= attribute(owner, name, oldValue);
+        }
+        value += attribute(owner, name, newValue);
+    }
+
+    private static long node(String vertex) {
+        return mix(hash(vertex) ^ NODE);
+    }
+
+    private static long edge(String source, String target) {
+        // The target is mixed separately so that A -> B and B -> A differ
+        return mix(hash(source) + 0x9E3779B97F4A7C15L * mix(hash(target) ^ EDGE));
+    }
+
+    private static long attributes(long owner, Map<String, String> attributes) {
+        long sum = 0;
+        for (Map.Entry<String, String> entry : attributes.entrySet()) {
+            sum += attribute(owner, entry.getKey(), entry.getValue());
+        }
+        return sum;
+    }
+
+    private static long attribute(long owner, String name, String value) {
+        return mix(owner ^ mix(hash(name) + 0x9E3779B97F4A7C15L * mix(hash(value) ^ ATTRIBUTE)));
+    }
+
+    /**
+     * 64-bit FNV-1a over the characters of a string
+     */
+    private static long hash(String s) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < s.length(); i++) {
+            h ^= s.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        return h;
+    }
+
+    /**
+     * SplitMix64 finalizer, spreads every input bit over the whole word
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,1851 @@
+package org.example;
+
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultDirectedGraph;
+import org.jgrapht.graph.DefaultEdge;
+import org.jgrapht.graph.DefaultListenableGraph;
+import org.jgrapht.nio.dot.DOTImporter;
+import org.jgrapht.nio.ImportException;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+
+/**
+ * A class to parse and represent DOT format graphs
+ */
+public class DOTGraph {
+    /** Maximum number of nodes and of edges listed by toString() */
+    public static final int TO_STRING_LIMIT = 1000;
+
+    /**
+     * Graphs with more nodes than this are drawn with the native layout engine even
+     * when the renderer has a layout of its own (-Ddotgraph.renderer=jgraphx).
+     * JGraphX's circle layout grows the image with the square of the node count
+     * and runs out of a default heap at around 400 nodes, so this stays well below.
+     */
+    public static final int NATIVE_LAYOUT_THRESHOLD = 200;
+    static final int DEFAULT_LAYOUT_ITERATIONS = 100;
+    static final int MAX_IMAGE_SIZE = 8192;
+
+    // Latency metric name of each search algorithm, indexed by ordinal, so searches don't build strings
+    private static final String[] SEARCH_METRICS = new String[Algorithm.values().length];
+
+    static {
+        for (Algorithm algorithm : Algorithm.values()) {
+            SEARCH_METRICS[algorithm.ordinal()] = "graphSearch." + algorithm.name();
+        }
+    }
+
+    private Graph<String, DefaultEdge> graph;
+    private Map<String, Map<String, String>> vertexAttributes;
+    private Map<DefaultEdge, Map<String, String>> edgeAttributes;
+
+    // Incrementally maintained topological order, null until enabled
+    private TopologicalOrder topologicalOrder;
+    private boolean rejectCycles;
+
+    // Secondary indexes over vertex attribute values, keyed by attribute name
+    private final Map<String, AttributeIndex> attributeIndexes = new HashMap<>();
+
+    // Vertex positions from the last native layout, reused across mutations
+    private final LayoutCache layoutCache = new LayoutCache();
+
+    // Spatial index of the layout for region exports, valid while the content hash matches
+    private SpatialGrid viewIndex;
+    private long viewIndexHash;
+
+    // Order-independent hash of nodes, edges and attributes, kept current on every change
+    private final ContentHash contentHash = new ContentHash();
+
+    // On-disk cache of exports keyed by content hash, null when caching is off
+    private ExportCache exportCache;
+
+    // Receives explained statistics of every search, null when profiling is off
+    private SearchProfiler searchProfiler;
+
+    /**
+     * Constructor initializes an empty graph
+     */
+    public DOTGraph() {
+        DefaultListenableGraph<String, DefaultEdge> listenable =
+                new DefaultListenableGraph<>(new DefaultDirectedGraph<>(DefaultEdge.class));
+        listenable.addGraphListener(contentHash);
+        graph = listenable;
+        vertexAttributes = new HashMap<>();
+        edgeAttributes = new HashMap<>();
+    }
+
+    /**
+     * Parse a DOT graph file and create a graph object
+     *
+     * @param filepath the path to the DOT file
+     * @return true if parsing was successful, false otherwise
+     */
+    public boolean parseGraph(String filepath) {
+        return parseGraph(filepath, () -> Files.readAllBytes(Paths.get(filepath)));
+    }
+
+    /**
+     * Supplies the bytes of a DOT file, possibly read ahead of time
+     */
+    interface DOTSource {
+        byte[] read() throws IOException;
+    }
+
+    /**
+     * Parse DOT content that the caller reads itself, e.g. a file prefetched while
+     * other work was running
+     *
+     * @param filepath the path the content came from, used in messages and events
+     * @param source supplies the content
+     * @return true if parsing was successful, false otherwise
+     */
+    boolean parseGraph(String filepath, DOTSource source) {
+        long start = Metrics.start();
+        GraphEvents.Parse event = new GraphEvents.Parse();
+        event.begin();
+        boolean importing = false;
+        try {
+            // Create a new importer for DOT format
+            DOTImporter<String, DefaultEdge> importer = new DOTImporter<>();
+
+            // Set up vertex provider (factory)
+            importer.setVertexFactory(id -> id);
+
+            // Set up attribute consumers
+            importer.addVertexAttributeConsumer((pair, attribute) -> {
+                String vertex = pair.getFirst();
+                String attributeName = pair.getSecond();
+
+                if (!vertexAttributes.containsKey(vertex)) {
+                    vertexAttributes.put(vertex, new HashMap<>());
+                }
+                vertexAttributes.get(vertex).put(attributeName, attribute.toString());
+            });
+            importer.addEdgeAttributeConsumer((pair, attribute) -> {
+                edgeAttributes.computeIfAbsent(pair.getFirst(), k -> new HashMap<>())
+                        .put(pair.getSecond(), attribute.toString());
+            });
+
+            // Read the file content
+            GraphEvents.Phase phase = GraphEvents.Phase.start("parseGraph", "read");
+            byte[] bytes = source.read();
+            String dotContent = new String(bytes);
+            phase.commit();
+            event.bytes = bytes.length;
+
+            // Create a map to store vertex attributes
+            vertexAttributes = new HashMap<>();
+            importing = true;
+
+            // Import the graph (JGraphT tokenizes and builds in a single pass)
+            phase = GraphEvents.Phase.start("parseGraph", "import");
+            importer.importGraph(graph, new StringReader(dotContent));
+            phase.commit();
+
+            event.success = true;
+            return true;
+        } catch (IOException | ImportException e) {
+            System.err.println("Error parsing DOT file: " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        } finally {
+            // A failed import may have added part of the file and has replaced the
+            // attribute map, so derived state is rebuilt whether or not it succeeded
+            if (importing) {
+                GraphEvents.Phase phase = GraphEvents.Phase.start("parseGraph", "index");
+                rebuildAfterImport();
+                phase.commit();
+            }
+            Metrics.record("parseGraph", start);
+            if (event.shouldCommit()) {
+                event.path = filepath;
+                event.vertexCount = graph.vertexSet().size();
+                event.edgeCount = graph.edgeSet().size();
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Rebuild everything derived from the graph and its attributes after an import,
+     * which bypasses the incremental updates
+     */
+    private void rebuildAfterImport() {
+        // Imported edges bypass addEdge, so rebuild the order in one pass
+        if (topologicalOrder != null) {
+            topologicalOrder = new TopologicalOrder(graph);
+        }
+
+        // Imported edges are not tracked individually, so lay out from scratch next time
+        layoutCache.clear();
+
+        // The attribute map was replaced, so rebuild any attribute indexes
+        for (AttributeIndex index : attributeIndexes.values()) {
+            fillIndex(index);
+        }
+        contentHash.recompute(graph, vertexAttributes, edgeAttributes);
+    }
+
+    /**
+     * Add a node to the graph with the specified label
+     *
+     * @param label the label for the new node
+     * @return true if the node was added, false if a node with this label already exists
+     */
+    public boolean addNode(String label) {
+        long start = Metrics.start();
+
+        // Check if a node with this label already exists
+        if (graph.containsVertex(label)) {
+            System.out.println("Warning: Node with label '" + label + "' already exists.");
+            return false;
+        }
+
+        // Add the node to the graph
+        graph.addVertex(label);
+        if (topologicalOrder != null) {
+            topologicalOrder.vertexAdded(label);
+        }
+
+        // Set the label attribute
+        putAttribute(label, "label", "\"" + label + "\"");
+
+        System.out.println("Added node: " + label);
+        Metrics.record("addNode", start);
+        return true;
+    }
+
+    /**
+     * Add multiple nodes to the graph
+     *
+     * @param labels array of labels for new nodes
+     * @return the number of nodes successfully added
+     */
+    public int addNodes(String[] labels) {
+        int addedCount = 0;
+
+        for (String label : labels) {
+            if (addNode(label)) {
+                addedCount++;
+            }
+        }
+
+        return addedCount;
+    }
+
+    /**
+     * Add an edge between two nodes in the graph
+     *
+     * @param srcLabel the source node label
+     * @param dstLabel the destination node label
+     * @return true if the edge was added, false if it already exists or nodes don't exist
+     */
+    public boolean addEdge(String srcLabel, String dstLabel) {
+        long start = Metrics.start();
+
+        // Check if both nodes exist
+        if (!graph.containsVertex(srcLabel)) {
+            System.out.println("Error: Source node '" + srcLabel + "' does not exist. Add it first.");
+            return false;
+        }
+
+        if (!graph.containsVertex(dstLabel)) {
+            System.out.println("Error: Destination node '" + dstLabel + "' does not exist. Add it first.");
+            return false;
+        }
+
+        // Check if the edge already exists
+        if (graph.containsEdge(srcLabel, dstLabel)) {
+            System.out.println("Warning: Edge from '" + srcLabel + "' to '" + dstLabel + "' already exists.");
+            return false;
+        }
+
+        // Keep the topological order up to date, refusing cycles if requested
+        if (topologicalOrder != null && !topologicalOrder.edgeAdded(srcLabel, dstLabel)) {
+            if (rejectCycles) {
+                System.out.println("Error: Edge from '" + srcLabel + "' to '" + dstLabel + "' would create a cycle.");
+                return false;
+            }
+            topologicalOrder.markCyclic();
+            System.out.println("Warning: Edge from '" + srcLabel + "' to '" + dstLabel + "' creates a cycle.");
+        }
+
+        // Add the edge
+        graph.addEdge(srcLabel, dstLabel);
+        layoutCache.markDirty(srcLabel);
+        layoutCache.markDirty(dstLabel);
+        System.out.println("Added edge: " + srcLabel + " -> " + dstLabel);
+        Metrics.record("addEdge", start);
+        return true;
+    }
+
+    /**
+     * Get the number of vertices in the graph
+     *
+     * @return the vertex count
+     */
+    public int getVertexCount() {
+        return graph.vertexSet().size();
+    }
+
+    /**
+     * Get the number of edges in the graph
+     *
+     * @return the edge count
+     */
+    public int getEdgeCount() {
+        return graph.edgeSet().size();
+    }
+
+    /**
+     * Output the graph information to a file
+     *
+     * @param filepath the path where to save the output
+     * @return true if successful, false otherwise
+     */
+    public boolean outputGraph(String filepath) {
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filepath))) {
+            // Stream the full listing rather than building it with toString()
+            new GraphSummaryWriter(writer).write(this);
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error writing to file: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Output the graph information split across several files that are written in
+     * parallel (filepath.part0, filepath.part1, ...)
+     *
+     * @param filepath the path prefix for the part files
+     * @param partitions the number of part files
+     * @return true if successful, false otherwise
+     */
+    public boolean outputGraph(String filepath, int partitions) {
+        try {
+            GraphSummaryWriter.writePartitioned(this, filepath, partitions);
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error writing to file: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Output the graph in DOT format to a file
+     *
+     * @param path the path where to save the DOT file
+     * @return true if successful, false otherwise
+     */
+    public boolean outputDOTGraph(String path) {
+        long start = Metrics.start();
+        try {
+            String cacheKey = exportCache != null ? ExportCache.key(contentHash(), "dot", "dot") : null;
+            if (cacheKey != null && exportCache.fetch(cacheKey, path)) {
+                System.out.println("DOT graph exported successfully to: " + path + " (cached)");
+                return true;
+            }
+
+            try (BufferedWriter writer = Files.newBufferedWriter(Paths.get(path), StandardCharsets.UTF_8)) {
+                // Stream vertices and edges straight into the file buffer
+                new DOTWriter(writer).write(this);
+            } catch (IOException e) {
+                System.err.println("Error exporting DOT graph: " + e.getMessage());
+                e.printStackTrace();
+                return false;
+            }
+
+            if (cacheKey != null) {
+                exportCache.store(cacheKey, path);
+            }
+            System.out.println("DOT graph exported successfully to: " + path);
+            return true;
+        } finally {
+            Metrics.record("outputDOTGraph", start);
+        }
+    }
+
+    /**
+     * Output the graph as a graphics file
+     *
+     * @param path the path where to save the graphics file
+     * @param format the format of the graphics file ("png" or "svg")
+     * @return true if successful, false otherwise
+     */
+    public boolean outputGraphics(String path, String format) {
+        long start = Metrics.start();
+        try {
+            // Check if format is supported
+            if (!isSupportedFormat(path, format)) {
+                return false;
+            }
+
+            String cacheKey = exportCache != null ? graphicsCacheKey(format) : null;
+            if (cacheKey != null && exportCache.fetch(cacheKey, path)) {
+                System.out.println("Graph image exported successfully to: " + path + " (cached)");
+                return true;
+            }
+
+            boolean written = renderGraphics(path, format);
+            if (written && cacheKey != null) {
+                exportCache.store(cacheKey, path);
+            }
+            return written;
+        } finally {
+            Metrics.record("outputGraphics", start);
+        }
+    }
+
+    /**
+     * Build the export cache key for outputGraphics(path, format). Besides the content,
+     * the image depends on the renderer that draws it and on the layout iteration budget.
+     */
+    String graphicsCacheKey(String format) {
+        GraphRenderer renderer = format.equalsIgnoreCase("svg") ? null : Renderers.get();
+        String engine = renderer != null ? renderer.getName() : "native";
+        return ExportCache.key(contentHash(), "graphics-" + engine + "-" + DEFAULT_LAYOUT_ITERATIONS, format);
+    }
+
+    /**
+     * Lay out and draw the graph, choosing the engine by graph size and format
+     */
+    private boolean renderGraphics(String path, String format) {
+        // Large graphs, SVG output and renderers without a layout of their own use the native layout engine
+        GraphRenderer renderer = format.equalsIgnoreCase("svg") ? null : Renderers.get();
+        if (getVertexCount() > NATIVE_LAYOUT_THRESHOLD || renderer == null || !renderer.supportsOwnLayout()) {
+            return outputGraphics(path, format, new ForceDirectedLayout(DEFAULT_LAYOUT_ITERATIONS));
+        }
+
+        GraphEvents.Render event = new GraphEvents.Render();
+        event.begin();
+        try {
+            renderer.renderGraph(graph, path, format);
+            System.out.println("Graph image exported successfully to: " + path);
+            commitRender(event, path, format, renderer.getName(), true);
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error exporting graph image: " + e.getMessage());
+            e.printStackTrace();
+            commitRender(event, path, format, renderer.getName(), false);
+            return false;
+        }
+    }
+
+    /**
+     * Check that an image format is supported, reporting a failed render if not
+     */
+    private boolean isSupportedFormat(String path, String format) {
+        if (format.equalsIgnoreCase("png") || format.equalsIgnoreCase("svg")) {
+            return true;
+        }
+        GraphEvents.Render event = new GraphEvents.Render();
+        event.begin();
+        System.err.println("Unsupported format: " + format + ". Only 'png' and 'svg' are supported.");
+        commitRender(event, path, format, "none", false);
+        return false;
+    }
+
+    /**
+     * Output the graph as a graphics file using the native force-directed layout. The
+     * layout runs on primitive coordinate arrays and the image is drawn straight from
+     * them, which scales to graphs far beyond what JGraphX can handle.
+     *
+     * @param path the path where to save the graphics file
+     * @param format the format of the graphics file ("png" or "svg")
+     * @param layoutEngine the layout engine, which sets the iteration budget
+     * @return true if successful, false otherwise
+     */
+    public boolean outputGraphics(String path, String format, ForceDirectedLayout layoutEngine) {
+        // Check if format is supported
+        if (!isSupportedFormat(path, format)) {
+            return false;
+        }
+
+        GraphEvents.Render event = new GraphEvents.Render();
+        event.begin();
+        boolean written = false;
+        try {
+            GraphEvents.Phase phase = GraphEvents.Phase.start("outputGraphics", "layout");
+            GraphLayout layout = computeLayout(layoutEngine);
+            phase.commit();
+
+            if (format.equalsIgnoreCase("svg")) {
+                // SVG is written straight from the layout, so encoding is the only other phase
+                phase = GraphEvents.Phase.start("outputGraphics", "encode");
+                written = outputSVG(path, layout, null, null);
+                phase.commit();
+                return written;
+            }
+
+            GraphRenderer renderer = Renderers.get();
+            if (renderer == null) {
+                System.err.println("Error exporting graph image: no graph renderer is available;"
+                        + " add DOTGraph-render to the class path.");
+                return false;
+            }
+
+            renderer.renderLayout(layout, path, format);
+            System.out.println("Graph image exported successfully to: " + path);
+            written = true;
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error exporting graph image: " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        } finally {
+            commitRender(event, path, format, "native", written);
+        }
+    }
+
+    /**
+     * Fill in and commit a render event if JFR is recording it
+     */
+    private void commitRender(GraphEvents.Render event, String path, String format, String engine, boolean success) {
+        if (event.shouldCommit()) {
+            event.path = path;
+            event.format = format.toLowerCase();
+            event.engine = engine;
+            event.vertexCount = graph.vertexSet().size();
+            event.success = success;
+            event.commit();
+        }
+    }
+
+    /**
+     * Output one region of the graph as SVG. Only nodes and edges inside the region
+     * are written, and the drawing is scaled to the region, so zoomed-in views of
+     * large graphs stay small. The layout and a spatial index of it are kept until
+     * the graph changes, so further regions of the same graph only visit the nodes
+     * and edges near the region.
+     *
+     * @param path the path where to save the SVG file
+     * @param minX the left edge of the region in layout units
+     * @param minY the top edge of the region in layout units
+     * @param maxX the right edge of the region in layout units
+     * @param maxY the bottom edge of the region in layout units
+     * @return true if successful, false otherwise
+     */
+    public boolean outputSVG(String path, double minX, double minY, double maxX, double maxY) {
+        SpatialGrid grid = viewIndex();
+        return outputSVG(path, grid.getLayout(), grid, new double[]{minX, minY, maxX, maxY});
+    }
+
+    /**
+     * Get the layout's spatial index for region exports, rebuilding it if the graph
+     * changed since it was made. The grid has about one cell per node.
+     */
+    private SpatialGrid viewIndex() {
+        long hash = contentHash.value();
+        if (viewIndex == null || viewIndexHash != hash) {
+            GraphLayout layout = computeLayout(new ForceDirectedLayout(DEFAULT_LAYOUT_ITERATIONS));
+            double[] bounds = layout.bounds();
+            int side = Math.max(1, (int) Math.ceil(Math.sqrt(layout.getSnapshot().vertexCount())));
+            double extent = Math.max(bounds[2] - bounds[0], bounds[3] - bounds[1]);
+            double cellSize = extent > 0 ? extent / side : 1;
+            // One extra row and column so nodes on the far bounds fall inside the grid
+            viewIndex = new SpatialGrid(layout, bounds[0], bounds[1], cellSize, side + 1, side + 1);
+            viewIndexHash = hash;
+        }
+        return viewIndex;
+    }
+
+    /**
+     * Stream a layout to an SVG file, optionally restricted to a viewport
+     */
+    private boolean outputSVG(String path, GraphLayout layout, SpatialGrid grid, double[] viewport) {
+        try (BufferedWriter out = Files.newBufferedWriter(Paths.get(path), StandardCharsets.UTF_8)) {
+            SVGWriter writer = new SVGWriter(out, MAX_IMAGE_SIZE, 40);
+            if (viewport != null) {
+                writer.setViewport(viewport[0], viewport[1], viewport[2], viewport[3]);
+            }
+            writer.write(layout, grid);
+
+            System.out.println("Graph image exported successfully to: " + path);
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error exporting graph image: " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Compute node positions with the native layout engine. Positions are cached:
+     * after addNode/addEdge/removeNode/removeEdge only the changed nodes and their
+     * neighbours are relaxed, and everything else stays where it was. Changes made
+     * directly through getGraph() are not tracked; call clearLayoutCache() after them.
+     *
+     * @param layoutEngine the engine used for full layouts and relaxation
+     * @return the node positions
+     */
+    public GraphLayout computeLayout(ForceDirectedLayout layoutEngine) {
+        return layoutCache.update(snapshot(), layoutEngine);
+    }
+
+    /**
+     * Get an order-independent hash of all nodes, edges and attributes. Graphs with
+     * the same content have the same hash however they were built. The hash is kept
+     * up to date on every change, so this is O(1).
+     *
+     * @return the content hash
+     */
+    public long contentHash() {
+        return contentHash.value();
+    }
+
+    /**
+     * Cache DOT and image exports on disk. outputDOTGraph and outputGraphics(path,
+     * format) then copy the cached file when the graph content hasn't changed since
+     * the same export was last made.
+     *
+     * @param cache the cache, or null to turn caching off
+     */
+    public void setExportCache(ExportCache cache) {
+        this.exportCache = cache;
+    }
+
+    /**
+     * Profile every search on this graph. While a profiler is attached, graphSearch
+     * runs in explain mode and adds its statistics to the profiler, which costs
+     * roughly one list entry per expanded vertex.
+     *
+     * @param profiler the profiler, or null to turn profiling off
+     */
+    public void setSearchProfiler(SearchProfiler profiler) {
+        this.searchProfiler = profiler;
+    }
+
+    /**
+     * Estimate how much heap this graph uses, broken down by structure. The
+     * estimate walks the graph once and allocates little, so it can be taken
+     * periodically on a live graph.
+     *
+     * @return the memory report
+     */
+    public MemoryReport memoryReport() {
+        int vertexCount = graph.vertexSet().size();
+        int edgeCount = graph.edgeSet().size();
+
+        // Vertex map of JGraphT's directed specifics, with one edge container per vertex
+        long vertices = MemoryReport.LINKED_HASH_MAP + MemoryReport.hashTable(vertexCount)
+                + vertexCount * (MemoryReport.LINKED_HASH_MAP_ENTRY + MemoryReport.object(4, 0));
+        long adjacency = 0;
+        for (String vertex : graph.vertexSet()) {
+            vertices += MemoryReport.string(vertex);
+            adjacency += MemoryReport.growableList(graph.inDegreeOf(vertex))
+                    + MemoryReport.growableList(graph.outDegreeOf(vertex));
+        }
+
+        // Edge objects and the edge map, plus the (source, target) -> edges lookup map
+        // that DefaultDirectedGraph keeps for fast containsEdge
+        adjacency += MemoryReport.LINKED_HASH_MAP + MemoryReport.hashTable(edgeCount)
+                + edgeCount * (MemoryReport.object(2, 0) + MemoryReport.LINKED_HASH_MAP_ENTRY);
+        adjacency += MemoryReport.hashMap(edgeCount)
+                + edgeCount * (MemoryReport.object(2, 0) + MemoryReport.growableList(1));
+
+        // Attribute names repeat on every vertex; count each distinct string object once
+        Set<String> names = java.util.Collections.newSetFromMap(new java.util.IdentityHashMap<>());
+        long strings = 0;
+        long vertexMaps = MemoryReport.hashMap(vertexAttributes.size());
+        for (Map<String, String> attributes : vertexAttributes.values()) {
+            vertexMaps += MemoryReport.hashMap(attributes.size());
+            strings += attributeStringBytes(attributes, names);
+        }
+        long edgeMaps = MemoryReport.hashMap(edgeAttributes.size());
+        for (Map<String, String> attributes : edgeAttributes.values()) {
+            edgeMaps += MemoryReport.hashMap(attributes.size());
+            strings += attributeStringBytes(attributes, names);
+        }
+
+        long indexes = MemoryReport.hashMap(attributeIndexes.size());
+        for (AttributeIndex index : attributeIndexes.values()) {
+            indexes += index.estimatedBytes();
+        }
+
+        Map<String, Long> bytes = new java.util.LinkedHashMap<>();
+        bytes.put("vertices", vertices);
+        bytes.put("adjacency", adjacency);
+        bytes.put("vertexAttributes", vertexMaps);
+        bytes.put("edgeAttributes", edgeMaps);
+        bytes.put("attributeStrings", strings);
+        bytes.put("attributeIndexes", indexes);
+        bytes.put("topologicalOrder", topologicalOrder == null ? 0 : topologicalOrder.estimatedBytes());
+        bytes.put("layoutCache", layoutCache.estimatedBytes());
+        return new MemoryReport(vertexCount, edgeCount, bytes);
+    }
+
+    private static long attributeStringBytes(Map<String, String> attributes, Set<String> seenNames) {
+        long size = 0;
+        for (Map.Entry<String, String> attribute : attributes.entrySet()) {
+            if (seenNames.add(attribute.getKey())) {
+                size += MemoryReport.string(attribute.getKey());
+            }
+            size += MemoryReport.string(attribute.getValue());
+        }
+        return size;
+    }
+
+    /**
+     * Discard cached node positions so the next layout starts from scratch
+     */
+    public void clearLayoutCache() {
+        layoutCache.clear();
+        viewIndex = null;
+    }
+
+    /**
+     * Output the graph as a set of PNG tiles so that graphs too large for a single
+     * image can still be rendered. Each tile only draws the nodes and edges that touch
+     * it, tiles are drawn in parallel, and memory is bounded by the tile size.
+     *
+     * @param directory the directory to write the tiles into
+     * @param tileSize the width and height of each tile in pixels
+     * @param levels 1 for a single grid of tile_ROW_COL.png files, or the number of
+     *               zoom levels for a Z/COL_ROW.png pyramid
+     * @return true if successful, false otherwise
+     */
+    public boolean outputTiledGraphics(String directory, int tileSize, int levels) {
+        try {
+            GraphRenderer renderer = Renderers.get();
+            if (renderer == null) {
+                System.err.println("Error exporting graph tiles: no graph renderer is available;"
+                        + " add DOTGraph-render to the class path.");
+                return false;
+            }
+            GraphLayout layout = computeLayout(new ForceDirectedLayout(DEFAULT_LAYOUT_ITERATIONS));
+            int tiles = renderer.renderTiles(layout, directory, tileSize, levels);
+
+            System.out.println("Graph tiles exported successfully to: " + directory + " (" + tiles + " tiles)");
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error exporting graph tiles: " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Return a string representation of the graph. Large graphs are truncated after
+     * {@link #TO_STRING_LIMIT} nodes and edges; use outputGraph for the full listing.
+     *
+     * @return string representation of the graph
+     */
+    @Override
+    public String toString() {
+        StringWriter out = new StringWriter();
+        try {
+            new GraphSummaryWriter(out).write(this, TO_STRING_LIMIT);
+        } catch (IOException e) {
+            // StringWriter does not throw
+            throw new UncheckedIOException(e);
+        }
+        return out.toString();
+    }
+
+    /**
+     * Get the underlying graph object
+     *
+     * @return the graph
+     */
+    public Graph<String, DefaultEdge> getGraph() {
+        return graph;
+    }
+
+    /**
+     * Set an attribute on an existing node. The attribute is kept alongside the
+     * parsed attributes and is included when the graph is exported.
+     *
+     * @param label the node label
+     * @param name the attribute name
+     * @param value the attribute value
+     * @throws IllegalArgumentException if the node doesn't exist
+     */
+    public void setNodeAttribute(String label, String name, String value) {
+        if (!graph.containsVertex(label)) {
+            throw new IllegalArgumentException("Error: Node '" + label + "' does not exist.");
+        }
+
+        putAttribute(label, name, value);
+    }
+
+    /**
+     * Store an attribute value and keep any index on that attribute in sync
+     *
+     * @param vertex the vertex
+     * @param name the attribute name
+     * @param value the new value
+     */
+    private void putAttribute(String vertex, String name, String value) {
+        String old = vertexAttributes.computeIfAbsent(vertex, k -> new HashMap<>()).put(name, value);
+        contentHash.nodeAttributeSet(vertex, name, old, value);
+
+        AttributeIndex index = attributeIndexes.get(name);
+        if (index != null) {
+            if (old != null) {
+                index.remove(vertex, old);
+            }
+            index.add(vertex, value);
+        }
+    }
+
+    /**
+     * Start indexing the values of a vertex attribute. The index is kept up to date by
+     * addNode, removeNode, setNodeAttribute and parseGraph.
+     *
+     * @param name the attribute to index, e.g. "label"
+     * @param sorted whether to also support range and prefix lookups
+     */
+    public void createAttributeIndex(String name, boolean sorted) {
+        AttributeIndex index = new AttributeIndex(name, sorted);
+        fillIndex(index);
+        attributeIndexes.put(name, index);
+    }
+
+    /**
+     * Stop indexing a vertex attribute
+     *
+     * @param name the attribute name
+     */
+    public void dropAttributeIndex(String name) {
+        attributeIndexes.remove(name);
+    }
+
+    /**
+     * Rebuild an index from the current attribute map
+     *
+     * @param index the index to fill
+     */
+    private void fillIndex(AttributeIndex index) {
+        index.clear();
+        for (Map.Entry<String, Map<String, String>> entry : vertexAttributes.entrySet()) {
+            String value = entry.getValue().get(index.getAttributeName());
+            if (value != null) {
+                index.add(entry.getKey(), value);
+            }
+        }
+    }
+
+    /**
+     * Find all nodes whose attribute equals a value. Surrounding quotes are ignored on
+     * both sides. Uses an index if one exists for the attribute, otherwise scans.
+     *
+     * @param name the attribute name
+     * @param value the value to match
+     * @return the matching nodes
+     */
+    public Set<String> findNodes(String name, String value) {
+        AttributeIndex index = attributeIndexes.get(name);
+        if (index != null) {
+            return index.equalTo(value);
+        }
+
+        String key = AttributeIndex.normalize(value);
+        return scanAttributes(name, v -> v.equals(key));
+    }
+
+    /**
+     * Find all nodes whose attribute lies in [from, to) in string order
+     *
+     * @param name the attribute name
+     * @param from the inclusive lower bound
+     * @param to the exclusive upper bound
+     * @return the matching nodes
+     */
+    public Set<String> findNodesInRange(String name, String from, String to) {
+        AttributeIndex index = attributeIndexes.get(name);
+        if (index != null && index.isSorted()) {
+            return index.range(from, to);
+        }
+
+        String lower = AttributeIndex.normalize(from);
+        String upper = AttributeIndex.normalize(to);
+        return scanAttributes(name, v -> v.compareTo(lower) >= 0 && v.compareTo(upper) < 0);
+    }
+
+    /**
+     * Find all nodes whose attribute starts with a prefix
+     *
+     * @param name the attribute name
+     * @param prefix the prefix to match
+     * @return the matching nodes
+     */
+    public Set<String> findNodesWithPrefix(String name, String prefix) {
+        AttributeIndex index = attributeIndexes.get(name);
+        if (index != null && index.isSorted()) {
+            return index.prefix(prefix);
+        }
+
+        String key = AttributeIndex.normalize(prefix);
+        return scanAttributes(name, v -> v.startsWith(key));
+    }
+
+    /**
+     * Scan every vertex for an attribute value matching a predicate
+     */
+    private Set<String> scanAttributes(String name, Predicate<String> matches) {
+        Set<String> result = new HashSet<>();
+        for (Map.Entry<String, Map<String, String>> entry : vertexAttributes.entrySet()) {
+            String value = entry.getValue().get(name);
+            if (value != null && matches.test(AttributeIndex.normalize(value))) {
+                result.add(entry.getKey());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get an attribute of a node
+     *
+     * @param label the node label
+     * @param name the attribute name
+     * @return the attribute value, or null if the node has no such attribute
+     */
+    public String getNodeAttribute(String label, String name) {
+        Map<String, String> attributes = vertexAttributes.get(label);
+        return attributes == null ? null : attributes.get(name);
+    }
+
+    /**
+     * Set an attribute on an existing edge. Edge attributes are included when the
+     * graph is exported to DOT.
+     *
+     * @param srcLabel the source node label
+     * @param dstLabel the destination node label
+     * @param name the attribute name
+     * @param value the attribute value
+     * @throws IllegalArgumentException if the edge doesn't exist
+     */
+    public void setEdgeAttribute(String srcLabel, String dstLabel, String name, String value) {
+        DefaultEdge edge = graph.containsVertex(srcLabel) && graph.containsVertex(dstLabel)
+                ? graph.getEdge(srcLabel, dstLabel) : null;
+        if (edge == null) {
+            throw new IllegalArgumentException("Error: Edge from '" + srcLabel + "' to '" + dstLabel + "' does not exist.");
+        }
+
+        String old = edgeAttributes.computeIfAbsent(edge, k -> new HashMap<>()).put(name, value);
+        contentHash.edgeAttributeSet(srcLabel, dstLabel, name, old, value);
+    }
+
+    /**
+     * Get an attribute of an edge
+     *
+     * @param srcLabel the source node label
+     * @param dstLabel the destination node label
+     * @param name the attribute name
+     * @return the attribute value, or null if the edge has no such attribute
+     */
+    public String getEdgeAttribute(String srcLabel, String dstLabel, String name) {
+        if (!graph.containsVertex(srcLabel) || !graph.containsVertex(dstLabel)) {
+            return null;
+        }
+        Map<String, String> attributes = edgeAttributes.get(graph.getEdge(srcLabel, dstLabel));
+        return attributes == null ? null : attributes.get(name);
+    }
+
+    /**
+     * Direct access to the stored attributes of a vertex for writers in this package
+     *
+     * @param vertex the vertex
+     * @return the live attribute map, or null if the vertex has none
+     */
+    Map<String, String> nodeAttributes(String vertex) {
+        return vertexAttributes.get(vertex);
+    }
+
+    /**
+     * Direct access to the stored attributes of an edge for writers in this package
+     *
+     * @param edge the edge
+     * @return the live attribute map, or null if the edge has none
+     */
+    Map<String, String> edgeAttributes(DefaultEdge edge) {
+        return edgeAttributes.get(edge);
+    }
+
+    /**
+     * Take an array-based snapshot of the current graph structure for analytics.
+     * Later changes to the graph are not reflected in the snapshot.
+     *
+     * @return the snapshot
+     */
+    public GraphSnapshot snapshot() {
+        return new GraphSnapshot(graph);
+    }
+
+    /**
+     * Compute PageRank, in-/out-degree centrality and sampled betweenness for every
+     * node and store them as node attributes
+     *
+     * @param betweennessSamples the number of source nodes to sample for betweenness
+     */
+    public void computeCentrality(int betweennessSamples) {
+        new GraphAnalytics(snapshot()).writeAttributes(this, betweennessSamples);
+    }
+
+    /**
+     * Start maintaining a topological order of the graph. From then on every
+     * addEdge updates the order incrementally and detects whether the new edge
+     * closes a cycle. Cycles already in the graph are kept, and new ones are still
+     * detected, but until they are removed every addEdge and every removal costs a
+     * pass over the whole graph.
+     *
+     * @param rejectCycles if true, addEdge refuses edges that would create a cycle
+     * @return true if the graph is currently acyclic
+     */
+    public boolean enableTopologicalOrder(boolean rejectCycles) {
+        this.rejectCycles = rejectCycles;
+        topologicalOrder = new TopologicalOrder(graph);
+        return !topologicalOrder.hasCycle();
+    }
+
+    /**
+     * Stop maintaining the topological order
+     */
+    public void disableTopologicalOrder() {
+        topologicalOrder = null;
+        rejectCycles = false;
+    }
+
+    /**
+     * Check whether the graph contains a cycle. This is O(1) while the topological
+     * order is enabled and a full traversal otherwise.
+     *
+     * @return true if the graph has a cycle
+     */
+    public boolean hasCycle() {
+        if (topologicalOrder != null) {
+            return topologicalOrder.hasCycle();
+        }
+        return new TopologicalOrder(graph).hasCycle();
+    }
+
+    /**
+     * Get the nodes in topological order. While the order is enabled this is a live
+     * view that does not recompute anything.
+     *
+     * @return the nodes ordered so that every edge points forward
+     * @throws IllegalStateException if the graph contains a cycle
+     */
+    public Collection<String> topologicalOrder() {
+        if (topologicalOrder != null) {
+            return topologicalOrder.vertices();
+        }
+        return new ArrayList<>(new TopologicalOrder(graph).vertices());
+    }
+
+    /**
+     * Extract the neighbourhood of a node: every node within k hops of the center,
+     * all edges between those nodes, and their node and edge attributes. The result
+     * is an independent graph that can be exported or rendered on its own. Only the
+     * edges of the nodes inside the neighbourhood are examined, so the cost depends
+     * on the size of the neighbourhood, not of the whole graph.
+     *
+     * @param center the node to start from
+     * @param k the maximum number of hops from the center
+     * @param direction which edges to follow when expanding
+     * @return a new graph holding the neighbourhood
+     * @throws IllegalArgumentException if the center doesn't exist or k is negative
+     */
+    public DOTGraph subgraph(String center, int k, Direction direction) {
+        if (!graph.containsVertex(center)) {
+            throw new IllegalArgumentException("Error: Node '" + center + "' does not exist.");
+        }
+        if (k < 0) {
+            throw new IllegalArgumentException("Error: Number of hops must not be negative.");
+        }
+
+        // Bounded BFS, one frontier per hop
+        Set<String> included = new LinkedHashSet<>();
+        included.add(center);
+        List<String> frontier = new ArrayList<>();
+        frontier.add(center);
+        for (int hop = 0; hop < k && !frontier.isEmpty(); hop++) {
+            List<String> next = new ArrayList<>();
+            for (String vertex : frontier) {
+                if (direction != Direction.IN) {
+                    for (DefaultEdge edge : graph.outgoingEdgesOf(vertex)) {
+                        String target = graph.getEdgeTarget(edge);
+                        if (included.add(target)) {
+                            next.add(target);
+                        }
+                    }
+                }
+                if (direction != Direction.OUT) {
+                    for (DefaultEdge edge : graph.incomingEdgesOf(vertex)) {
+                        String source = graph.getEdgeSource(edge);
+                        if (included.add(source)) {
+                            next.add(source);
+                        }
+                    }
+                }
+            }
+            frontier = next;
+        }
+
+        return inducedSubgraph(included);
+    }
+
+    /**
+     * Copy a set of nodes, every edge whose endpoints are both in the set, and their
+     * node and edge attributes into a new, independent graph
+     *
+     * @param vertices the nodes to keep
+     * @return a new graph holding the induced subgraph
+     * @throws IllegalArgumentException if one of the nodes doesn't exist
+     */
+    public DOTGraph inducedSubgraph(Collection<String> vertices) {
+        Set<String> included = new LinkedHashSet<>(vertices);
+        for (String vertex : included) {
+            if (!graph.containsVertex(vertex)) {
+                throw new IllegalArgumentException("Error: Node '" + vertex + "' does not exist.");
+            }
+        }
+
+        // Copy nodes, then every edge whose endpoints are both inside
+        DOTGraph result = new DOTGraph();
+        for (String vertex : included) {
+            result.graph.addVertex(vertex);
+            Map<String, String> attributes = vertexAttributes.get(vertex);
+            if (attributes != null) {
+                result.vertexAttributes.put(vertex, new HashMap<>(attributes));
+            }
+        }
+        for (String vertex : included) {
+            for (DefaultEdge edge : graph.outgoingEdgesOf(vertex)) {
+                String target = graph.getEdgeTarget(edge);
+                if (included.contains(target)) {
+                    DefaultEdge copy = result.graph.addEdge(vertex, target);
+                    Map<String, String> attributes = edgeAttributes.get(edge);
+                    if (attributes != null) {
+                        result.edgeAttributes.put(copy, new HashMap<>(attributes));
+                    }
+                }
+            }
+        }
+        result.contentHash.recompute(result.graph, result.vertexAttributes, result.edgeAttributes);
+
+        return result;
+    }
+
+    /**
+     * Collapse every strongly connected component into a single node
+     *
+     * @return the summary, which can be exported, rendered or expanded per component
+     */
+    public GraphSummary summarizeByComponents() {
+        return GraphSummary.byStronglyConnectedComponents(this);
+    }
+
+    /**
+     * Collapse communities found by label propagation into single nodes
+     *
+     * @param maxIterations the maximum number of propagation rounds
+     * @return the summary, which can be exported, rendered or expanded per community
+     */
+    public GraphSummary summarizeByCommunities(int maxIterations) {
+        return GraphSummary.byLabelPropagation(this, maxIterations);
+    }
+
+    /**
+     * Remove a node from the graph
+     *
+     * @param label the label of the node to remove
+     * @return true if the node was removed
+     * @throws IllegalArgumentException if the node doesn't exist
+     */
+    public boolean removeNode(String label) {
+        long start = Metrics.start();
+
+        // Check if the node exists
+        if (!graph.containsVertex(label)) {
+            throw new IllegalArgumentException("Error: Node '" + label + "' does not exist.");
+        }
+
+        // Drop attributes of the edges that are about to disappear with the node,
+        // and let its neighbours move into the space it leaves
+        for (DefaultEdge edge : graph.edgesOf(label)) {
+            contentHash.edgeAttributesRemoved(graph.getEdgeSource(edge), graph.getEdgeTarget(edge),
+                    edgeAttributes.remove(edge));
+            layoutCache.markDirty(graph.getEdgeSource(edge));
+            layoutCache.markDirty(graph.getEdgeTarget(edge));
+        }
+        layoutCache.remove(label);
+
+        // Remove the node from the graph (this will also remove all edges connected to it)
+        graph.removeVertex(label);
+
+        // Remove the node's attributes and their index entries
+        Map<String, String> removed = vertexAttributes.remove(label);
+        contentHash.nodeAttributesRemoved(label, removed);
+        if (removed != null) {
+            for (Map.Entry<String, String> entry : removed.entrySet()) {
+                AttributeIndex index = attributeIndexes.get(entry.getKey());
+                if (index != null) {
+                    index.remove(label, entry.getValue());
+                }
+            }
+        }
+
+        if (topologicalOrder != null) {
+            topologicalOrder.vertexRemoved(label);
+        }
+
+        System.out.println("Removed node: " + label);
+        Metrics.record("removeNode", start);
+        return true;
+    }
+
+    /**
+     * Remove multiple nodes from the graph
+     *
+     * @param labels array of labels for nodes to remove
+     * @return the number of nodes successfully removed
+     * @throws IllegalArgumentException if any node doesn't exist
+     */
+    public int removeNodes(String[] labels) {
+        int removedCount = 0;
+
+        for (String label : labels) {
+            if (removeNode(label)) {
+                removedCount++;
+            }
+        }
+
+        return removedCount;
+    }
+
+    /**
+     * Remove an edge between two nodes in the graph
+     *
+     * @param srcLabel the source node label
+     * @param dstLabel the destination node label
+     * @return true if the edge was removed
+     * @throws IllegalArgumentException if either node doesn't exist or the edge doesn't exist
+     */
+    public boolean removeEdge(String srcLabel, String dstLabel) {
+        long start = Metrics.start();
+
+        // Check if both nodes exist
+        if (!graph.containsVertex(srcLabel)) {
+            throw new IllegalArgumentException("Error: Source node '" + srcLabel + "' does not exist.");
+        }
+
+        if (!graph.containsVertex(dstLabel)) {
+            throw new IllegalArgumentException("Error: Destination node '" + dstLabel + "' does not exist.");
+        }
+
+        // Check if the edge exists
+        if (!graph.containsEdge(srcLabel, dstLabel)) {
+            throw new IllegalArgumentException("Error: Edge from '" + srcLabel + "' to '" + dstLabel + "' does not exist.");
+        }
+
+        // Remove the edge
+        contentHash.edgeAttributesRemoved(srcLabel, dstLabel, edgeAttributes.remove(graph.removeEdge(srcLabel, dstLabel)));
+        layoutCache.markDirty(srcLabel);
+        layoutCache.markDirty(dstLabel);
+        if (topologicalOrder != null) {
+            topologicalOrder.edgeRemoved();
+        }
+        System.out.println("Removed edge: " + srcLabel + " -> " + dstLabel);
+        Metrics.record("removeEdge", start);
+        return true;
+    }
+
+    /**
+     * Compute the changes that turn this graph into another
+     *
+     * @param other the graph to compare with
+     * @return the diff, empty if the graphs have the same content
+     */
+    public GraphDiff diff(DOTGraph other) {
+        long start = Metrics.start();
+        GraphDiff diff = GraphDiff.compare(this, other);
+        Metrics.record("diff", start);
+        return diff;
+    }
+
+    /**
+     * Apply a diff computed against a graph with the same content as this one. The
+     * whole patch is checked first, so a patch that does not fit leaves the graph
+     * unchanged. Nodes and edges are removed before new ones are added, and
+     * attribute changes come last.
+     *
+     * @param patch the changes to apply
+     * @throws IllegalArgumentException if a removed node or edge is missing, an added
+     *         one already exists, or an attribute does not have the old value
+     */
+    public void applyPatch(GraphDiff patch) {
+        long start = Metrics.start();
+        checkPatch(patch);
+
+        for (GraphDiff.Edge edge : patch.getRemovedEdges()) {
+            String src = edge.getSource();
+            String dst = edge.getTarget();
+            contentHash.edgeAttributesRemoved(src, dst, edgeAttributes.remove(graph.removeEdge(src, dst)));
+            layoutCache.markDirty(src);
+            layoutCache.markDirty(dst);
+        }
+        for (String label : patch.getRemovedNodes()) {
+            // Its edges are gone already, checkPatch made sure of that
+            layoutCache.remove(label);
+            graph.removeVertex(label);
+            Map<String, String> removed = vertexAttributes.remove(label);
+            contentHash.nodeAttributesRemoved(label, removed);
+            if (removed != null) {
+                for (Map.Entry<String, String> entry : removed.entrySet()) {
+                    AttributeIndex index = attributeIndexes.get(entry.getKey());
+                    if (index != null) {
+                        index.remove(label, entry.getValue());
+                    }
+                }
+            }
+        }
+        for (String label : patch.getAddedNodes()) {
+            graph.addVertex(label);
+        }
+        for (GraphDiff.Edge edge : patch.getAddedEdges()) {
+            graph.addEdge(edge.getSource(), edge.getTarget());
+            layoutCache.markDirty(edge.getSource());
+            layoutCache.markDirty(edge.getTarget());
+        }
+
+        for (GraphDiff.AttributeChange change : patch.getAttributeChanges()) {
+            String name = change.getName();
+            String value = change.getNewValue();
+            if (change.isEdgeAttribute()) {
+                String src = change.getSource();
+                String dst = change.getTarget();
+                DefaultEdge edge = graph.getEdge(src, dst);
+                if (value == null) {
+                    Map<String, String> attributes = edgeAttributes.get(edge);
+                    contentHash.edgeAttributesRemoved(src, dst, Map.of(name, attributes.remove(name)));
+                } else {
+                    String old = edgeAttributes.computeIfAbsent(edge, k -> new HashMap<>()).put(name, value);
+                    contentHash.edgeAttributeSet(src, dst, name, old, value);
+                }
+            } else if (value == null) {
+                String label = change.getSource();
+                String old = vertexAttributes.get(label).remove(name);
+                contentHash.nodeAttributesRemoved(label, Map.of(name, old));
+                AttributeIndex index = attributeIndexes.get(name);
+                if (index != null) {
+                    index.remove(label, old);
+                }
+            } else {
+                putAttribute(change.getSource(), name, value);
+            }
+        }
+
+        // Rebuild the order in one pass, as after parsing
+        if (topologicalOrder != null) {
+            topologicalOrder = new TopologicalOrder(graph);
+        }
+
+        System.out.println("Applied patch: " + patch.size() + " changes");
+        Metrics.record("applyPatch", start);
+    }
+
+    /**
+     * Check that a patch fits this graph without changing anything
+     *
+     * @throws IllegalArgumentException if it does not
+     */
+    private void checkPatch(GraphDiff patch) {
+        Set<GraphDiff.Edge> removedEdges = new HashSet<>(patch.getRemovedEdges());
+        Set<String> removedNodes = new HashSet<>(patch.getRemovedNodes());
+        Set<String> addedNodes = new HashSet<>(patch.getAddedNodes());
+        Set<GraphDiff.Edge> addedEdges = new HashSet<>(patch.getAddedEdges());
+
+        for (GraphDiff.Edge edge : removedEdges) {
+            if (!hasEdge(edge.getSource(), edge.getTarget())) {
+                throw new IllegalArgumentException("Error: Patch removes missing edge " + edge + ".");
+            }
+        }
+        for (String label : removedNodes) {
+            if (!graph.containsVertex(label)) {
+                throw new IllegalArgumentException("Error: Patch removes missing node '" + label + "'.");
+            }
+            // Edges must not disappear unless the patch lists them
+            for (DefaultEdge edge : graph.edgesOf(label)) {
+                GraphDiff.Edge key = new GraphDiff.Edge(graph.getEdgeSource(edge), graph.getEdgeTarget(edge));
+                if (!removedEdges.contains(key)) {
+                    throw new IllegalArgumentException("Error: Patch removes node '" + label
+                            + "' but keeps edge " + key + ".");
+                }
+            }
+        }
+        for (String label : addedNodes) {
+            if (graph.containsVertex(label)) {
+                throw new IllegalArgumentException("Error: Patch adds existing node '" + label + "'.");
+            }
+        }
+        for (GraphDiff.Edge edge : addedEdges) {
+            if (!existsAfter(edge.getSource(), removedNodes, addedNodes)
+                    || !existsAfter(edge.getTarget(), removedNodes, addedNodes)) {
+                throw new IllegalArgumentException("Error: Patch adds edge " + edge + " to a missing node.");
+            }
+            if (hasEdge(edge.getSource(), edge.getTarget()) && !removedEdges.contains(edge)) {
+                throw new IllegalArgumentException("Error: Patch adds existing edge " + edge + ".");
+            }
+        }
+
+        for (GraphDiff.AttributeChange change : patch.getAttributeChanges()) {
+            String current;
+            if (change.isEdgeAttribute()) {
+                GraphDiff.Edge edge = new GraphDiff.Edge(change.getSource(), change.getTarget());
+                boolean added = addedEdges.contains(edge);
+                if (!added && (!hasEdge(edge.getSource(), edge.getTarget()) || removedEdges.contains(edge))) {
+                    throw new IllegalArgumentException("Error: Patch changes an attribute of missing edge " + edge + ".");
+                }
+                current = added ? null : getEdgeAttribute(edge.getSource(), edge.getTarget(), change.getName());
+            } else {
+                String label = change.getSource();
+                if (!existsAfter(label, removedNodes, addedNodes)) {
+                    throw new IllegalArgumentException("Error: Patch changes an attribute of missing node '"
+                            + label + "'.");
+                }
+                current = addedNodes.contains(label) ? null : getNodeAttribute(label, change.getName());
+            }
+            if (!java.util.Objects.equals(current, change.getOldValue())) {
+                throw new IllegalArgumentException("Error: Patch expects " + change.getName() + " = "
+                        + change.getOldValue() + " but found " + current + ".");
+            }
+        }
+    }
+
+    private boolean hasEdge(String src, String dst) {
+        return graph.containsVertex(src) && graph.containsVertex(dst) && graph.containsEdge(src, dst);
+    }
+
+    private boolean existsAfter(String label, Set<String> removedNodes, Set<String> addedNodes) {
+        return addedNodes.contains(label) || (graph.containsVertex(label) && !removedNodes.contains(label));
+    }
+
+    /**
+     * Finds a path from source node to destination node using BFS algorithm
+     *
+     * @param src the source node label
+     * @param dst the destination node label
+     * @return a Path object representing the path if found, null otherwise
+     * @throws IllegalArgumentException if either node doesn't exist
+     */
+    /**
+     * Finds a path from source node to destination node using the specified algorithm
+     *
+     * @param src   the source node label
+     * @param dst   the destination node label
+     * @param algo  the algorithm to use (BFS or DFS)
+     * @return a Path object representing the path if found, null otherwise
+     * @throws IllegalArgumentException if either node doesn't exist or an invalid algorithm is specified
+     */
+    public Path graphSearch(String src, String dst, Algorithm algo) {
+        if (searchProfiler != null) {
+            return explainSearch(src, dst, algo).getPath();
+        }
+        return graphSearch(src, dst, algo, new SearchStats());
+    }
+
+    /**
+     * Finds a path like {@link #graphSearch(String, String, Algorithm)} and reports
+     * how the search went: per-level frontier sizes, vertices and edges examined,
+     * maximum depth, time per phase and bytes allocated. The statistics are also
+     * added to the search profiler if one is attached.
+     *
+     * @param src   the source node label
+     * @param dst   the destination node label
+     * @param algo  the algorithm to use (BFS or DFS)
+     * @return the statistics, including the path found
+     * @throws IllegalArgumentException if either node doesn't exist or an invalid algorithm is specified
+     */
+    public SearchStats explainSearch(String src, String dst, Algorithm algo) {
+        SearchStats stats = new SearchStats(algo, true);
+        long allocated = SearchStats.threadAllocatedBytes();
+        stats.setPath(graphSearch(src, dst, algo, stats));
+        finishExplain(stats, allocated);
+        return stats;
+    }
+
+    private Path graphSearch(String src, String dst, Algorithm algo, SearchStats stats) {
+        long resolve = stats.startPhase();
+
+        // Check if both nodes exist
+        if (!graph.containsVertex(src)) {
+            throw new IllegalArgumentException("Error: Source node '" + src + "' does not exist.");
+        }
+
+        if (!graph.containsVertex(dst)) {
+            throw new IllegalArgumentException("Error: Destination node '" + dst + "' does not exist.");
+        }
+
+        stats.endPhase("resolve", resolve);
+        return search(java.util.Collections.singletonList(src), java.util.Collections.singleton(dst), algo, stats);
+    }
+
+    /**
+     * Finds a path between nodes chosen by attribute value, e.g. from the node with
+     * label "Node A" to any node with color=red. The search starts from every
+     * matching source at once and stops at the first matching destination reached;
+     * with BFS this is a shortest path between the two sets.
+     *
+     * @param attribute the attribute used to pick the endpoints
+     * @param srcValue  the attribute value of the source nodes
+     * @param dstValue  the attribute value of the destination nodes
+     * @param algo      the algorithm to use (BFS or DFS)
+     * @return a Path object representing the path if found, null otherwise
+     * @throws IllegalArgumentException if no node matches either value
+     */
+    public Path graphSearch(String attribute, String srcValue, String dstValue, Algorithm algo) {
+        if (searchProfiler != null) {
+            return explainSearch(attribute, srcValue, dstValue, algo).getPath();
+        }
+        return graphSearch(attribute, srcValue, dstValue, algo, new SearchStats());
+    }
+
+    /**
+     * Finds a path between nodes chosen by attribute value like
+     * {@link #graphSearch(String, String, String, Algorithm)} and reports how the
+     * search went; see {@link #explainSearch(String, String, Algorithm)}.
+     *
+     * @param attribute the attribute used to pick the endpoints
+     * @param srcValue  the attribute value of the source nodes
+     * @param dstValue  the attribute value of the destination nodes
+     * @param algo      the algorithm to use (BFS or DFS)
+     * @return the statistics, including the path found
+     * @throws IllegalArgumentException if no node matches either value
+     */
+    public SearchStats explainSearch(String attribute, String srcValue, String dstValue, Algorithm algo) {
+        SearchStats stats = new SearchStats(algo, true);
+        long allocated = SearchStats.threadAllocatedBytes();
+        stats.setPath(graphSearch(attribute, srcValue, dstValue, algo, stats));
+        finishExplain(stats, allocated);
+        return stats;
+    }
+
+    private Path graphSearch(String attribute, String srcValue, String dstValue, Algorithm algo,
+                             SearchStats stats) {
+        long resolve = stats.startPhase();
+        Set<String> sources = findNodes(attribute, srcValue);
+        if (sources.isEmpty()) {
+            throw new IllegalArgumentException("Error: No node with " + attribute + "=" + srcValue + " exists.");
+        }
+
+        Set<String> targets = findNodes(attribute, dstValue);
+        if (targets.isEmpty()) {
+            throw new IllegalArgumentException("Error: No node with " + attribute + "=" + dstValue + " exists.");
+        }
+
+        stats.endPhase("resolve", resolve);
+        return search(sources, targets, algo, stats);
+    }
+
+    /**
+     * Record the allocation of an explained search and hand it to the profiler
+     */
+    private void finishExplain(SearchStats stats, long allocatedBefore) {
+        long allocatedAfter = SearchStats.threadAllocatedBytes();
+        if (allocatedBefore >= 0 && allocatedAfter >= 0) {
+            stats.setAllocatedBytes(allocatedAfter - allocatedBefore);
+        }
+        SearchProfiler profiler = searchProfiler;
+        if (profiler != null) {
+            profiler.record(stats);
+        }
+    }
+
+    /**
+     * Finds breadth-first paths from one source to several destinations with a
+     * single traversal. Each path is the one graphSearch(src, dst, BFS) would
+     * return, because a BFS that keeps going after reaching one destination visits
+     * nodes in the same order as one that stops there.
+     *
+     * @param src  the source node label
+     * @param dsts the destination node labels
+     * @return destination -> path for every reachable destination
+     * @throws IllegalArgumentException if any node doesn't exist
+     */
+    public Map<String, Path> graphSearchAll(String src, Collection<String> dsts) {
+        if (!graph.containsVertex(src)) {
+            throw new IllegalArgumentException("Error: Source node '" + src + "' does not exist.");
+        }
+        for (String dst : dsts) {
+            if (!graph.containsVertex(dst)) {
+                throw new IllegalArgumentException("Error: Destination node '" + dst + "' does not exist.");
+            }
+        }
+
+        long start = Metrics.start();
+        Set<String> remaining = new HashSet<>(dsts);
+        Map<String, Path> paths = new HashMap<>();
+        if (remaining.remove(src)) {
+            paths.put(src, new Path(src));
+        }
+
+        java.util.Queue<String> queue = new java.util.ArrayDeque<>();
+        Set<String> visited = new HashSet<>();
+        Map<String, String> parentMap = new HashMap<>();
+        queue.add(src);
+        visited.add(src);
+
+        // Stop as soon as every destination has been reached
+        while (!queue.isEmpty() && !remaining.isEmpty()) {
+            String current = queue.poll();
+            for (DefaultEdge edge : graph.outgoingEdgesOf(current)) {
+                String neighbor = graph.getEdgeTarget(edge);
+                if (visited.add(neighbor)) {
+                    parentMap.put(neighbor, current);
+                    if (remaining.remove(neighbor)) {
+                        paths.put(neighbor, reconstructPath(parentMap, neighbor));
+                    }
+                    queue.add(neighbor);
+                }
+            }
+        }
+
+        Metrics.record("graphSearchAll", start);
+        return paths;
+    }
+
+    /**
+     * Runs the chosen algorithm from a set of sources to a set of targets
+     *
+     * @param sources the nodes to start from
+     * @param targets the nodes to stop at
+     * @param algo    the algorithm to use (BFS or DFS)
+     * @param stats   receives traversal counters
+     * @return a Path object representing the path if found, null otherwise
+     */
+    private Path search(Collection<String> sources, Set<String> targets, Algorithm algo, SearchStats stats) {
+        if (algo != Algorithm.BFS && algo != Algorithm.DFS) {
+            throw new IllegalArgumentException("Invalid algorithm specified");
+        }
+        long start = Metrics.start();
+        GraphEvents.Search event = new GraphEvents.Search();
+        event.begin();
+
+        // A source that is also a target is a path of its own
+        Path path = null;
+        for (String src : sources) {
+            if (targets.contains(src)) {
+                stats.visitedVertices = 1;
+                stats.reachedAtLevel(0);
+                path = new Path(src);
+                break;
+            }
+        }
+
+        // Choose the appropriate algorithm
+        if (path == null) {
+            long traverse = stats.startPhase();
+            path = algo == Algorithm.BFS ? bfsSearch(sources, targets, stats) : dfsSearch(sources, targets, stats);
+            // BFS times its own reconstruct phase, which is left out of the traversal time
+            long reconstructed = stats.getPhaseNanos().getOrDefault("reconstruct", 0L);
+            stats.endPhase("traverse", traverse + reconstructed);
+        }
+        Metrics.record(SEARCH_METRICS[algo.ordinal()], start);
+
+        stats.pathLength = path == null ? 0 : path.getNodes().size();
+        if (event.shouldCommit()) {
+            event.algorithm = algo.name();
+            event.sourceCount = sources.size();
+            event.visitedVertices = stats.visitedVertices;
+            event.examinedEdges = stats.examinedEdges;
+            event.frontierPeak = stats.frontierPeak;
+            event.pathLength = stats.pathLength;
+            event.commit();
+        }
+        return path;
+    }
+
+    /**
+     * Performs a breadth-first search from the sources to the nearest target
+     *
+     * @param sources the source node labels
+     * @param targets the destination node labels
+     * @param stats   receives traversal counters
+     * @return a Path object representing the path if found, null otherwise
+     */
+    private Path bfsSearch(Collection<String> sources, Set<String> targets, SearchStats stats) {
+        // Queue for BFS traversal
+        java.util.Queue<String> queue = new java.util.LinkedList<>();
+
+        // Keep track of visited nodes
+        java.util.Set<String> visited = new java.util.HashSet<>();
+
+        // Keep track of parent nodes to reconstruct the path
+        java.util.Map<String, String> parentMap = new java.util.HashMap<>();
+
+        // Start BFS from all source nodes
+        queue.addAll(sources);
+        visited.addAll(sources);
+        stats.visitedVertices = visited.size();
+        stats.frontierPeak = queue.size();
+        for (int i = 0; i < visited.size(); i++) {
+            stats.reachedAtLevel(0);
+        }
+
+        // Nodes still to poll at the current level, and the level's depth
+        int levelRemaining = queue.size();
+        int level = 0;
+
+        while (!queue.isEmpty()) {
+            if (levelRemaining == 0) {
+                levelRemaining = queue.size();
+                level++;
+            }
+            String current = queue.poll();
+            levelRemaining--;
+            stats.expand(current);
+
+            // Get all neighbors (outgoing edges from current node)
+            for (DefaultEdge edge : graph.outgoingEdgesOf(current)) {
+                String neighbor = graph.getEdgeTarget(edge);
+                stats.examinedEdges++;
+
+                // If we haven't visited this neighbor yet
+                if (!visited.contains(neighbor)) {
+                    // Record the parent
+                    parentMap.put(neighbor, current);
+                    stats.visitedVertices++;
+                    stats.reachedAtLevel(level + 1);
+
+                    // Check if we've reached the destination
+                    if (targets.contains(neighbor)) {
+                        // Reconstruct the path
+                        long reconstruct = stats.startPhase();
+                        Path path = reconstructPath(parentMap, neighbor);
+                        stats.endPhase("reconstruct", reconstruct);
+                        return path;
+                    }
+
+                    // Add to queue and mark as visited
+                    visited.add(neighbor);
+                    queue.add(neighbor);
+                    stats.frontierPeak = Math.max(stats.frontierPeak, queue.size());
+                }
+            }
+        }
+
+        // If we get here, no path was found
+        return null;
+    }
+
+    /**
+     * Performs a depth-first search from each source in turn until a target is found
+     *
+     * @param sources the source node labels
+     * @param targets the destination node labels
+     * @param stats   receives traversal counters
+     * @return a Path object representing the path if found, null otherwise
+     */
+    private Path dfsSearch(Collection<String> sources, Set<String> targets, SearchStats stats) {
+        // Set to keep track of visited nodes during DFS, shared across sources
+        java.util.Set<String> visited = new java.util.HashSet<>();
+
+        for (String src : sources) {
+            if (!visited.contains(src)) {
+                // Call the recursive DFS helper function
+                Path result = dfsHelper(src, targets, visited, new Path(src), 1, stats);
+                if (result != null) {
+                    return result;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Helper method for DFS traversal
+     *
+     * @param current current node being examined
+     * @param targets destination nodes we're looking for
+     * @param visited set of nodes already visited
+     * @param currentPath the path taken so far
+     * @param depth the number of nodes on currentPath
+     * @param stats receives traversal counters
+     * @return path to destination if found, null otherwise
+     */
+    private Path dfsHelper(String current, Set<String> targets, java.util.Set<String> visited, Path currentPath,
+                           int depth, SearchStats stats) {
+        // Mark the current node as visited
+        visited.add(current);
+        stats.visitedVertices++;
+        stats.frontierPeak = Math.max(stats.frontierPeak, depth);
+        stats.reachedAtLevel(depth - 1);
+
+        // If we've reached the destination, return the current path
+        if (targets.contains(current)) {
+            return currentPath;
+        }
+        stats.expand(current);
+
+        // Explore all neighbors (outgoing edges from current node)
+        for (DefaultEdge edge : graph.outgoingEdgesOf(current)) {
+            String neighbor = graph.getEdgeTarget(edge);
+            stats.examinedEdges++;
+
+            // If we haven't visited this neighbor yet
+            if (!visited.contains(neighbor)) {
+                // Extend the path by this neighbor, sharing the prefix with currentPath
+                Path newPath = currentPath.append(neighbor);
+
+                // Recursively search from this neighbor
+                Path result = dfsHelper(neighbor, targets, visited, newPath, depth + 1, stats);
+
+                // If a path is found, return it immediately
+                if (result != null) {
+                    return result;
+                }
+            }
+        }
+
+        // If we get here, no path was found from the current node
+        return null;
+    }
+
+    /**
+     * Helper method to reconstruct the path from the parent map
+     *
+     * @param parentMap a map of child -> parent relationships
+     * @param dst the destination node
+     * @return a Path object representing the path
+     */
+    private Path reconstructPath(java.util.Map<String, String> parentMap, String dst) {
+        // Create a list to store the path in reverse order
+        java.util.List<String> pathNodes = new java.util.ArrayList<>();
+
+        // Start from the destination
+        String current = dst;
+
+        // Work backwards to the source
+        while (current != null) {
+            pathNodes.add(current);
+            current = parentMap.get(current);
+        }
+
+        // Reverse the path to get the correct order
+        java.util.Collections.reverse(pathNodes);
+
+        // Create and return the path
+        return new Path(pathNodes);
+    }
+}
+
@@ -0,0 +1,179 @@
+package org.example;
+
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultEdge;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+
+/**
+ * Writes a {@link DOTGraph} in DOT format straight to a {@link Writer}, one vertex
+ * or edge at a time. Nothing is rendered into an intermediate String and no
+ * per-vertex attribute objects are created: names and values are copied from the
+ * graph's attribute maps into the writer's buffer, with double quotes escaped in
+ * place. Memory use does not depend on the size of the graph.
+ *
+ * The output matches what JGraphT's DOTExporter produces for the same graph, except
+ * that vertex ids which are not valid DOT identifiers are quoted instead of rejected.
+ */
+public class DOTWriter {
+    private static final String INDENT = "  ";
+    private static final String NEWLINE = System.lineSeparator();
+
+    private final Writer out;
+
+    /**
+     * Create a writer; the caller should pass a buffered writer and close it afterwards
+     *
+     * @param out the destination
+     */
+    public DOTWriter(Writer out) {
+        this.out = out;
+    }
+
+    /**
+     * Write the whole graph, including vertex and edge attributes
+     *
+     * @param dotGraph the graph to write
+     * @throws IOException if writing fails
+     */
+    public void write(DOTGraph dotGraph) throws IOException {
+        Graph<String, DefaultEdge> graph = dotGraph.getGraph();
+        boolean directed = graph.getType().isDirected();
+        String connector = directed ? " -> " : " -- ";
+
+        if (!graph.getType().isAllowingMultipleEdges()) {
+            out.write("strict ");
+        }
+        out.write(directed ? "digraph" : "graph");
+        out.write(" G {");
+        out.write(NEWLINE);
+
+        for (String vertex : graph.vertexSet()) {
+            out.write(INDENT);
+            writeId(vertex);
+            writeVertexAttributes(vertex, dotGraph.nodeAttributes(vertex));
+            out.write(";");
+            out.write(NEWLINE);
+        }
+
+        for (DefaultEdge edge : graph.edgeSet()) {
+            out.write(INDENT);
+            writeId(graph.getEdgeSource(edge));
+            out.write(connector);
+            writeId(graph.getEdgeTarget(edge));
+            Map<String, String> attributes = dotGraph.edgeAttributes(edge);
+            if (attributes != null && !attributes.isEmpty()) {
+                out.write(" [ ");
+                for (Map.Entry<String, String> entry : attributes.entrySet()) {
+                    writeAttribute(entry.getKey(), entry.getValue());
+                }
+                out.write("]");
+            }
+            out.write(";");
+            out.write(NEWLINE);
+        }
+
+        out.write("}");
+        out.write(NEWLINE);
+    }
+
+    /**
+     * Write the attribute list of a vertex, adding a label if it has none
+     */
+    private void writeVertexAttributes(String vertex, Map<String, String> attributes) throws IOException {
+        out.write(" [ ");
+        boolean hasLabel = false;
+        if (attributes != null) {
+            for (Map.Entry<String, String> entry : attributes.entrySet()) {
+                writeAttribute(entry.getKey(), entry.getValue());
+                hasLabel |= entry.getKey().equals("label");
+            }
+        }
+
+        // Ensure there's at least a label attribute
+        if (!hasLabel) {
+            out.write("label=\"\\\"");
+            writeEscaped(vertex);
+            out.write("\\\"\" ");
+        }
+        out.write("]");
+    }
+
+    private void writeAttribute(String name, String value) throws IOException {
+        out.write(name);
+        out.write("=\"");
+        writeEscaped(value);
+        out.write("\" ");
+    }
+
+    /**
+     * Write a vertex id, quoting it only if it is not a plain DOT identifier
+     */
+    private void writeId(String id) throws IOException {
+        if (isIdentifier(id)) {
+            out.write(id);
+        } else {
+            out.write('"');
+            writeEscaped(id);
+            out.write('"');
+        }
+    }
+
+    /**
+     * Copy a string to the output with every double quote escaped, writing the
+     * unescaped runs between quotes directly from the source string
+     */
+    private void writeEscaped(String value) throws IOException {
+        int start = 0;
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            if (value.charAt(i) == '"') {
+                out.write(value, start, i - start);
+                out.write("\\\"");
+                start = i + 1;
+            }
+        }
+        out.write(value, start, length - start);
+    }
+
+    /**
+     * Check whether a string is an alphanumeric DOT identifier or a numeral
+     *
+     * @param id the string to check
+     * @return true if it can be written without quotes
+     */
+    static boolean isIdentifier(String id) {
+        if (id.isEmpty()) {
+            return false;
+        }
+
+        char first = id.charAt(0);
+        if (Character.isLetter(first) || first == '_') {
+            for (int i = 1; i < id.length(); i++) {
+                char c = id.charAt(i);
+                if (!Character.isLetterOrDigit(c) && c != '_') {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // Numerals: optional minus, digits with at most one decimal point
+        int i = first == '-' ? 1 : 0;
+        boolean digits = false;
+        boolean dot = false;
+        for (; i < id.length(); i++) {
+            char c = id.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits = true;
+            } else if (c == '.' && !dot) {
+                dot = true;
+            } else {
+                return false;
+            }
+        }
+        return digits;
+    }
+}
@@ -0,0 +1,10 @@
+package org.example;
+
+/**
+ * Enum representing which edges to follow when walking away from a node
+ */
+public enum Direction {
+    OUT,  // Follow outgoing edges only
+    IN,   // Follow incoming edges only
+    BOTH  // Follow edges in either direction
+}
@@ -0,0 +1,47 @@
+package org.example;
+
+/**
+ * Colors and sizes shared by every way of drawing a graph. Kept free of AWT types
+ * so that SVG output, which is part of the core, does not load the desktop
+ * classes used by the raster renderers.
+ */
+final class DrawingStyle {
+    // Above this many vertices labels would just overlap
+    static final int LABEL_LIMIT = 500;
+
+    static final int EDGE_RGB = 0x787878;
+    static final int NODE_RGB = 0x466EC8;
+
+    private DrawingStyle() {
+    }
+
+    /**
+     * Check whether labels are drawn for a graph of this size
+     *
+     * @param vertexCount the number of vertices
+     * @return true if labels are drawn
+     */
+    static boolean drawLabels(int vertexCount) {
+        return vertexCount <= LABEL_LIMIT;
+    }
+
+    /**
+     * Get the radius in pixels used to draw vertices for a graph of this size
+     *
+     * @param vertexCount the number of vertices
+     * @return the radius
+     */
+    static int nodeRadius(int vertexCount) {
+        return drawLabels(vertexCount) ? 6 : 2;
+    }
+
+    /**
+     * Format an RGB value as a CSS hex color
+     *
+     * @param rgb the color as 0xRRGGBB
+     * @return the color as #rrggbb
+     */
+    static String toHex(int rgb) {
+        return String.format("#%06x", rgb & 0xFFFFFF);
+    }
+}
@@ -0,0 +1,138 @@
+package org.example;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * An on-disk cache of exported files keyed by graph content hash and output
+ * options. Entries are plain files in the cache directory. When the total size
+ * exceeds the limit the least recently used entries are deleted; recency survives
+ * restarts because a hit also updates the file's modification time.
+ */
+public class ExportCache {
+    private final File directory;
+    private final long maxBytes;
+
+    // Key -> file size, in access order (eldest first)
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    /**
+     * Open a cache directory, creating it if needed. Existing entries are kept.
+     *
+     * @param directory the cache directory
+     * @param maxBytes the maximum total size of all entries
+     */
+    public ExportCache(String directory, long maxBytes) {
+        this.directory = new File(directory);
+        this.maxBytes = maxBytes;
+        this.directory.mkdirs();
+
+        File[] files = this.directory.listFiles(File::isFile);
+        if (files != null) {
+            Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+            for (File file : files) {
+                entries.put(file.getName(), file.length());
+                totalBytes += file.length();
+            }
+        }
+        evict();
+    }
+
+    /**
+     * Build a cache key from a content hash and the options that affect the output
+     *
+     * @param contentHash the graph content hash
+     * @param kind the kind of export, e.g. "dot" or "graphics"
+     * @param extension the file extension of the output
+     * @return the key, usable as a file name
+     */
+    public static String key(long contentHash, String kind, String extension) {
+        return String.format("%016x-%s.%s", contentHash, kind, extension.toLowerCase());
+    }
+
+    /**
+     * Copy a cached entry to a destination
+     *
+     * @param key the cache key
+     * @param destination where to copy the entry
+     * @return true if the entry existed and was copied
+     */
+    public synchronized boolean fetch(String key, String destination) {
+        // get() rather than containsKey() so the hit counts as an access
+        if (entries.get(key) == null) {
+            return false;
+        }
+        File file = new File(directory, key);
+        try {
+            Files.copy(file.toPath(), new File(destination).toPath(), StandardCopyOption.REPLACE_EXISTING);
+            file.setLastModified(System.currentTimeMillis());
+            return true;
+        } catch (IOException e) {
+            // Deleted or unreadable behind our back: forget it and regenerate
+            totalBytes -= entries.remove(key);
+            return false;
+        }
+    }
+
+    /**
+     * Store a copy of a file under a key, evicting old entries if needed
+     *
+     * @param key the cache key
+     * @param source the file to copy into the cache
+     * @return true if the file was stored
+     */
+    public synchronized boolean store(String key, String source) {
+        File file = new File(directory, key);
+        try {
+            Files.copy(new File(source).toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            System.err.println("Error storing export in cache: " + e.getMessage());
+            return false;
+        }
+
+        Long previous = entries.put(key, file.length());
+        if (previous != null) {
+            totalBytes -= previous;
+        }
+        totalBytes += file.length();
+        evict();
+        return entries.containsKey(key);
+    }
+
+    /**
+     * Check whether a key is cached
+     *
+     * @param key the cache key
+     * @return true if an entry exists
+     */
+    public synchronized boolean contains(String key) {
+        return entries.containsKey(key);
+    }
+
+    /**
+     * Get the total size of all entries
+     *
+     * @return the size in bytes
+     */
+    public synchronized long size() {
+        return totalBytes;
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<String, Long>> it = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && it.hasNext()) {
+            Map.Entry<String, Long> eldest = it.next();
+            new File(directory, eldest.getKey()).delete();
+            totalBytes -= eldest.getValue();
+            it.remove();
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package org.example;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Fruchterman-Reingold style force-directed layout that works on primitive
+ * coordinate arrays. Repulsion between all pairs of vertices is approximated with a
+ * Barnes-Hut quadtree (O(n log n) per iteration instead of O(n^2)), and the force on
+ * each vertex is computed in parallel on a fork-join pool. The number of iterations
+ * is the time budget: more iterations give a more settled layout.
+ */
+public class ForceDirectedLayout {
+    // Ideal distance between connected vertices, in layout units
+    private static final double EDGE_LENGTH = 1.0;
+
+    // Leaves stop splitting below this many points or beyond this depth
+    private static final int LEAF_SIZE = 8;
+    private static final int MAX_DEPTH = 32;
+
+    private final int iterations;
+    private double theta = 0.8;
+    private long seed = 1L;
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    /**
+     * Create a layout engine with the given iteration budget
+     *
+     * @param iterations the number of force iterations to run
+     */
+    public ForceDirectedLayout(int iterations) {
+        if (iterations < 0) {
+            throw new IllegalArgumentException("Error: Number of iterations must not be negative.");
+        }
+        this.iterations = iterations;
+    }
+
+    /**
+     * Set the Barnes-Hut opening angle. Larger values are faster but less accurate;
+     * 0 computes exact pairwise repulsion.
+     *
+     * @param theta the opening angle, usually between 0.5 and 1.2
+     */
+    public void setTheta(double theta) {
+        this.theta = theta;
+    }
+
+    /**
+     * Set the seed for the random initial placement
+     *
+     * @param seed the seed
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Set the pool the force computation runs on
+     *
+     * @param pool the pool
+     */
+    public void setPool(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Get the iteration budget
+     *
+     * @return the number of iterations
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Lay out a graph from a random initial placement
+     *
+     * @param snapshot the graph structure
+     * @return the computed positions
+     */
+    public GraphLayout compute(GraphSnapshot snapshot) {
+        int n = snapshot.vertexCount();
+        double[] x = new double[n];
+        double[] y = new double[n];
+
+        // Scatter vertices over a square whose area grows with the vertex count
+        double side = Math.sqrt(Math.max(n, 1)) * EDGE_LENGTH;
+        Random random = new Random(seed);
+        for (int v = 0; v < n; v++) {
+            x[v] = random.nextDouble() * side;
+            y[v] = random.nextDouble() * side;
+        }
+
+        run(snapshot, x, y, null, iterations, side / 10);
+        return new GraphLayout(snapshot, x, y);
+    }
+
+    /**
+     * Run force iterations in place over the coordinate arrays
+     *
+     * @param snapshot the graph structure
+     * @param x the x coordinates, updated in place
+     * @param y the y coordinates, updated in place
+     * @param movable which vertices may move, or null to move all of them
+     * @param steps the number of iterations
+     * @param startTemperature the largest step a vertex may take in the first iteration
+     */
+    void run(GraphSnapshot snapshot, double[] x, double[] y, boolean[] movable, int steps, double startTemperature) {
+        int n = snapshot.vertexCount();
+        if (n < 2 || steps == 0) {
+            return;
+        }
+
+        int[] outOffsets = snapshot.outOffsets();
+        int[] outTargets = snapshot.outTargets();
+        int[] inOffsets = snapshot.inOffsets();
+        int[] inSources = snapshot.inSources();
+        double k = EDGE_LENGTH;
+        double k2 = k * k;
+        double[] dx = new double[n];
+        double[] dy = new double[n];
+
+        for (int step = 0; step < steps; step++) {
+            double temperature = startTemperature * (1 - (double) step / steps);
+            QuadTree tree = new QuadTree(x, y);
+
+            pool.submit(() -> IntStream.range(0, n).parallel().forEach(v -> {
+                if (movable != null && !movable[v]) {
+                    dx[v] = 0;
+                    dy[v] = 0;
+                    return;
+                }
+
+                // Repulsion from every other vertex, approximated by the quadtree
+                tree.repulsion(v, k2, theta, dx, dy);
+                double fx = dx[v];
+                double fy = dy[v];
+
+                // Attraction along edges in both directions
+                for (int i = outOffsets[v]; i < outOffsets[v + 1]; i++) {
+                    int u = outTargets[i];
+                    double ddx = x[u] - x[v];
+                    double ddy = y[u] - y[v];
+                    double d = Math.sqrt(ddx * ddx + ddy * ddy);
+                    fx += ddx * d / k;
+                    fy += ddy * d / k;
+                }
+                for (int i = inOffsets[v]; i < inOffsets[v + 1]; i++) {
+                    int u = inSources[i];
+                    double ddx = x[u] - x[v];
+                    double ddy = y[u] - y[v];
+                    double d = Math.sqrt(ddx * ddx + ddy * ddy);
+                    fx += ddx * d / k;
+                    fy += ddy * d / k;
+                }
+
+                // Limit the step to the current temperature
+                double length = Math.sqrt(fx * fx + fy * fy);
+                if (length > temperature && length > 0) {
+                    fx = fx / length * temperature;
+                    fy = fy / length * temperature;
+                }
+                dx[v] = fx;
+                dy[v] = fy;
+            })).join();
+
+            for (int v = 0; v < n; v++) {
+                x[v] += dx[v];
+                y[v] += dy[v];
+            }
+        }
+    }
+
+    /**
+     * Array-based quadtree over the current positions. Each node stores its bounding
+     * square, total mass and center of mass; leaves refer to a range of the permuted
+     * point index array.
+     */
+    private static final class QuadTree {
+        private final double[] x;
+        private final double[] y;
+        private final int[] points;
+
+        private int size;
+        private double[] centerX = new double[64];
+        private double[] centerY = new double[64];
+        private double[] mass = new double[64];
+        private double[] width = new double[64];
+        private int[] children = new int[4 * 64];
+        private int[] start = new int[64];
+        private int[] end = new int[64];
+
+        QuadTree(double[] x, double[] y) {
+            this.x = x;
+            this.y = y;
+            int n = x.length;
+            points = new int[n];
+            double minX = Double.POSITIVE_INFINITY;
+            double minY = Double.POSITIVE_INFINITY;
+            double maxX = Double.NEGATIVE_INFINITY;
+            double maxY = Double.NEGATIVE_INFINITY;
+            for (int v = 0; v < n; v++) {
+                points[v] = v;
+                minX = Math.min(minX, x[v]);
+                minY = Math.min(minY, y[v]);
+                maxX = Math.max(maxX, x[v]);
+                maxY = Math.max(maxY, y[v]);
+            }
+            double side = Math.max(maxX - minX, maxY - minY) + 1e-9;
+            build(0, n, minX, minY, side, 0);
+        }
+
+        /**
+         * Build the subtree over points[from, to) inside the given square
+         *
+         * @return the index of the new node
+         */
+        private int build(int from, int to, double minX, double minY, double side, int depth) {
+            int node = allocate();
+            width[node] = side;
+            start[node] = from;
+            end[node] = to;
+            children[4 * node] = -1;
+
+            if (to - from > LEAF_SIZE && depth < MAX_DEPTH) {
+                double midX = minX + side / 2;
+                double midY = minY + side / 2;
+
+                // Partition into quadrants: split by y, then each half by x
+                int splitY = partition(from, to, y, midY);
+                int splitLow = partition(from, splitY, x, midX);
+                int splitHigh = partition(splitY, to, x, midX);
+
+                // Children may reallocate the arrays, so store each index after its build returns
+                int c0 = build(from, splitLow, minX, minY, side / 2, depth + 1);
+                children[4 * node] = c0;
+                int c1 = build(splitLow, splitY, midX, minY, side / 2, depth + 1);
+                children[4 * node + 1] = c1;
+                int c2 = build(splitY, splitHigh, minX, midY, side / 2, depth + 1);
+                children[4 * node + 2] = c2;
+                int c3 = build(splitHigh, to, midX, midY, side / 2, depth + 1);
+                children[4 * node + 3] = c3;
+            }
+
+            // Aggregate mass and center of mass over the node's points
+            double sx = 0;
+            double sy = 0;
+            for (int i = from; i < to; i++) {
+                sx += x[points[i]];
+                sy += y[points[i]];
+            }
+            int count = to - from;
+            mass[node] = count;
+            centerX[node] = count > 0 ? sx / count : 0;
+            centerY[node] = count > 0 ? sy / count : 0;
+            return node;
+        }
+
+        /**
+         * Move points with coordinate below the pivot to the front of the range
+         *
+         * @return the first index whose point is at or above the pivot
+         */
+        private int partition(int from, int to, double[] coordinate, double pivot) {
+            int i = from;
+            int j = to - 1;
+            while (i <= j) {
+                if (coordinate[points[i]] < pivot) {
+                    i++;
+                } else {
+                    int tmp = points[i];
+                    points[i] = points[j];
+                    points[j] = tmp;
+                    j--;
+                }
+            }
+            return i;
+        }
+
+        private int allocate() {
+            if (size == mass.length) {
+                int capacity = size * 2;
+                centerX = Arrays.copyOf(centerX, capacity);
+                centerY = Arrays.copyOf(centerY, capacity);
+                mass = Arrays.copyOf(mass, capacity);
+                width = Arrays.copyOf(width, capacity);
+                children = Arrays.copyOf(children, 4 * capacity);
+                start = Arrays.copyOf(start, capacity);
+                end = Arrays.copyOf(end, capacity);
+            }
+            return size++;
+        }
+
+        /**
+         * Compute the repulsive force on one vertex and store it in fxOut[v], fyOut[v]
+         */
+        void repulsion(int v, double k2, double theta, double[] fxOut, double[] fyOut) {
+            double fx = 0;
+            double fy = 0;
+            int[] stack = new int[4 * MAX_DEPTH + 4];
+            int top = 0;
+            stack[top++] = 0;
+
+            while (top > 0) {
+                int node = stack[--top];
+                if (mass[node] == 0) {
+                    continue;
+                }
+
+                double ddx = x[v] - centerX[node];
+                double ddy = y[v] - centerY[node];
+                double d2 = ddx * ddx + ddy * ddy;
+
+                if (children[4 * node] < 0) {
+                    // Leaf: exact repulsion from each point in it
+                    for (int i = start[node]; i < end[node]; i++) {
+                        int u = points[i];
+                        if (u != v) {
+                            double px = x[v] - x[u];
+                            double py = y[v] - y[u];
+                            double p2 = px * px + py * py;
+                            if (p2 < 1e-12) {
+                                // Coincident points: push apart in a fixed direction
+                                px = (v < u ? -1e-3 : 1e-3);
+                                py = px;
+                                p2 = 2e-6;
+                            }
+                            fx += px * k2 / p2;
+                            fy += py * k2 / p2;
+                        }
+                    }
+                } else if (width[node] * width[node] < theta * theta * d2) {
+                    // Far enough away: treat the whole cell as one heavy point
+                    fx += ddx * k2 * mass[node] / d2;
+                    fy += ddy * k2 * mass[node] / d2;
+                } else {
+                    for (int c = 0; c < 4; c++) {
+                        stack[top++] = children[4 * node + c];
+                    }
+                }
+            }
+            fxOut[v] = fx;
+            fyOut[v] = fy;
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package org.example;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.IntStream;
+
+/**
+ * Node ranking and centrality measures computed over a {@link GraphSnapshot}.
+ * Work is split across a fork-join pool; all per-vertex results are returned as
+ * arrays indexed by snapshot vertex id.
+ */
+public class GraphAnalytics {
+    /** Attribute name used when writing PageRank scores back to the graph */
+    public static final String PAGERANK = "pagerank";
+    /** Attribute name used when writing in-degree centrality back to the graph */
+    public static final String IN_DEGREE = "indegree";
+    /** Attribute name used when writing out-degree centrality back to the graph */
+    public static final String OUT_DEGREE = "outdegree";
+    /** Attribute name used when writing betweenness scores back to the graph */
+    public static final String BETWEENNESS = "betweenness";
+
+    // Number of Brandes sources handled by one fork-join task before splitting stops
+    private static final int SOURCES_PER_TASK = 4;
+
+    private final GraphSnapshot snapshot;
+    private final ForkJoinPool pool;
+
+    /**
+     * Create an analytics engine that runs on the common fork-join pool
+     *
+     * @param snapshot the graph structure to analyse
+     */
+    public GraphAnalytics(GraphSnapshot snapshot) {
+        this(snapshot, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create an analytics engine that runs on the given pool
+     *
+     * @param snapshot the graph structure to analyse
+     * @param pool the pool to run parallel work on
+     */
+    public GraphAnalytics(GraphSnapshot snapshot, ForkJoinPool pool) {
+        this.snapshot = snapshot;
+        this.pool = pool;
+    }
+
+    /**
+     * Compute PageRank by power iteration. Rank held by vertices without outgoing
+     * edges is spread evenly over all vertices.
+     *
+     * @param damping the damping factor, usually 0.85
+     * @param maxIterations the maximum number of iterations
+     * @param tolerance stop once the L1 change between iterations drops below this
+     * @return the PageRank of every vertex, summing to 1
+     * @throws IllegalArgumentException if damping is not in [0, 1]
+     */
+    public double[] pageRank(double damping, int maxIterations, double tolerance) {
+        if (damping < 0 || damping > 1) {
+            throw new IllegalArgumentException("Error: Damping factor must be between 0 and 1.");
+        }
+
+        int n = snapshot.vertexCount();
+        if (n == 0) {
+            return new double[0];
+        }
+
+        int[] inOffsets = snapshot.inOffsets();
+        int[] inSources = snapshot.inSources();
+        int[] outDegree = new int[n];
+        for (int v = 0; v < n; v++) {
+            outDegree[v] = snapshot.outDegree(v);
+        }
+
+        double[] rank = new double[n];
+        double[] next = new double[n];
+        Arrays.fill(rank, 1.0 / n);
+
+        for (int iteration = 0; iteration < maxIterations; iteration++) {
+            final double[] current = rank;
+            final double[] updated = next;
+
+            // Rank of dangling vertices is redistributed uniformly
+            double dangling = pool.submit(() -> IntStream.range(0, n).parallel()
+                    .filter(v -> outDegree[v] == 0)
+                    .mapToDouble(v -> current[v])
+                    .sum()).join();
+            double base = (1 - damping) / n + damping * dangling / n;
+
+            // Pull-based update: each vertex only writes its own slot, so no locking is needed
+            double delta = pool.submit(() -> IntStream.range(0, n).parallel()
+                    .mapToDouble(v -> {
+                        double sum = 0;
+                        for (int i = inOffsets[v]; i < inOffsets[v + 1]; i++) {
+                            int u = inSources[i];
+                            sum += current[u] / outDegree[u];
+                        }
+                        updated[v] = base + damping * sum;
+                        return Math.abs(updated[v] - current[v]);
+                    })
+                    .sum()).join();
+
+            rank = updated;
+            next = current;
+            if (delta < tolerance) {
+                break;
+            }
+        }
+
+        return rank;
+    }
+
+    /**
+     * Compute normalized in-degree centrality (in-degree divided by n - 1)
+     *
+     * @return the in-degree centrality of every vertex
+     */
+    public double[] inDegreeCentrality() {
+        int n = snapshot.vertexCount();
+        double scale = n > 1 ? 1.0 / (n - 1) : 0;
+        double[] result = new double[n];
+        for (int v = 0; v < n; v++) {
+            result[v] = snapshot.inDegree(v) * scale;
+        }
+        return result;
+    }
+
+    /**
+     * Compute normalized out-degree centrality (out-degree divided by n - 1)
+     *
+     * @return the out-degree centrality of every vertex
+     */
+    public double[] outDegreeCentrality() {
+        int n = snapshot.vertexCount();
+        double scale = n > 1 ? 1.0 / (n - 1) : 0;
+        double[] result = new double[n];
+        for (int v = 0; v < n; v++) {
+            result[v] = snapshot.outDegree(v) * scale;
+        }
+        return result;
+    }
+
+    /**
+     * Approximate betweenness centrality with Brandes' algorithm run from a random
+     * sample of source vertices. Scores are scaled by n / samples so they estimate
+     * the exact (unnormalized) values; if samples >= n every vertex is used as a
+     * source and the result is exact.
+     *
+     * @param samples the number of source vertices to sample
+     * @param seed the random seed used to pick sources
+     * @return the estimated betweenness of every vertex
+     */
+    public double[] betweenness(int samples, long seed) {
+        int n = snapshot.vertexCount();
+        if (n == 0 || samples <= 0) {
+            return new double[n];
+        }
+
+        int[] sources;
+        if (samples >= n) {
+            sources = IntStream.range(0, n).toArray();
+        } else {
+            // Partial Fisher-Yates shuffle picks distinct sources
+            int[] all = IntStream.range(0, n).toArray();
+            Random random = new Random(seed);
+            for (int i = 0; i < samples; i++) {
+                int j = i + random.nextInt(n - i);
+                int tmp = all[i];
+                all[i] = all[j];
+                all[j] = tmp;
+            }
+            sources = Arrays.copyOf(all, samples);
+        }
+
+        double[] scores = pool.invoke(new BrandesTask(sources, 0, sources.length));
+        double scale = (double) n / sources.length;
+        for (int v = 0; v < n; v++) {
+            scores[v] *= scale;
+        }
+        return scores;
+    }
+
+    /**
+     * Compute PageRank, degree centrality and sampled betweenness, and store them as
+     * vertex attributes on the graph so that they are included in DOT exports.
+     *
+     * @param dotGraph the graph the snapshot was taken from
+     * @param betweennessSamples the number of sources to sample for betweenness
+     */
+    public void writeAttributes(DOTGraph dotGraph, int betweennessSamples) {
+        double[] pageRank = pageRank(0.85, 100, 1e-9);
+        double[] in = inDegreeCentrality();
+        double[] out = outDegreeCentrality();
+        double[] between = betweenness(betweennessSamples, 42L);
+
+        for (int v = 0; v < snapshot.vertexCount(); v++) {
+            String vertex = snapshot.vertex(v);
+            dotGraph.setNodeAttribute(vertex, PAGERANK, format(pageRank[v]));
+            dotGraph.setNodeAttribute(vertex, IN_DEGREE, format(in[v]));
+            dotGraph.setNodeAttribute(vertex, OUT_DEGREE, format(out[v]));
+            dotGraph.setNodeAttribute(vertex, BETWEENNESS, format(between[v]));
+        }
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.6g", value);
+    }
+
+    /**
+     * Runs Brandes' single-source dependency accumulation for a range of sources.
+     * Large ranges are split in half; each leaf reuses one set of work arrays for
+     * all of its sources and returns its own score array, which are summed on join.
+     */
+    private class BrandesTask extends RecursiveTask<double[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] sources;
+        private final int from;
+        private final int to;
+
+        BrandesTask(int[] sources, int from, int to) {
+            this.sources = sources;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected double[] compute() {
+            if (to - from > SOURCES_PER_TASK) {
+                int mid = (from + to) >>> 1;
+                BrandesTask left = new BrandesTask(sources, from, mid);
+                left.fork();
+                double[] right = new BrandesTask(sources, mid, to).compute();
+                double[] result = left.join();
+                for (int v = 0; v < result.length; v++) {
+                    result[v] += right[v];
+                }
+                return result;
+            }
+
+            int n = snapshot.vertexCount();
+            int[] outOffsets = snapshot.outOffsets();
+            int[] outTargets = snapshot.outTargets();
+
+            double[] scores = new double[n];
+            int[] distance = new int[n];
+            // Path counts grow exponentially on grids and layered DAGs, beyond any long
+            double[] pathCount = new double[n];
+            double[] dependency = new double[n];
+            int[] order = new int[n];
+            Arrays.fill(distance, -1);
+
+            for (int s = from; s < to; s++) {
+                int source = sources[s];
+                int head = 0;
+                int tail = 0;
+                order[tail++] = source;
+                distance[source] = 0;
+                pathCount[source] = 1;
+
+                // BFS; the order array doubles as the queue and the stack of finished vertices
+                while (head < tail) {
+                    int v = order[head++];
+                    for (int i = outOffsets[v]; i < outOffsets[v + 1]; i++) {
+                        int w = outTargets[i];
+                        if (distance[w] < 0) {
+                            distance[w] = distance[v] + 1;
+                            order[tail++] = w;
+                        }
+                        if (distance[w] == distance[v] + 1) {
+                            pathCount[w] += pathCount[v];
+                        }
+                    }
+                }
+
+                // Accumulate dependencies in reverse BFS order
+                for (int k = tail - 1; k >= 0; k--) {
+                    int w = order[k];
+                    for (int i = outOffsets[w]; i < outOffsets[w + 1]; i++) {
+                        int x = outTargets[i];
+                        if (distance[x] == distance[w] + 1) {
+                            dependency[w] += pathCount[w] / pathCount[x] * (1 + dependency[x]);
+                        }
+                    }
+                    if (w != source) {
+                        scores[w] += dependency[w];
+                    }
+                }
+
+                // Reset only the vertices this source touched
+                for (int k = 0; k < tail; k++) {
+                    int w = order[k];
+                    distance[w] = -1;
+                    pathCount[w] = 0;
+                    dependency[w] = 0;
+                }
+            }
+            return scores;
+        }
+    }
+}
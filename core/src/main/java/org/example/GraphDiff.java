@@ -0,0 +1,430 @@
+package org.example;
+
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultEdge;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * The structural difference between two graphs: the nodes and edges added and
+ * removed, and every node or edge attribute that was added, changed or dropped on
+ * what remains. A diff is order-independent, and applying it to the first graph
+ * with {@link DOTGraph#applyPatch} turns it into the second.
+ *
+ * Comparing starts with the graphs' content hashes, so identical graphs cost
+ * nothing. Otherwise every node and edge is looked up in the other graph's hash
+ * tables once, with the node and edge sets split across the common fork-join pool,
+ * so the work grows linearly with the size of the two graphs. The first graph is
+ * only scanned for removals when the counts show that something was removed. Attributes of removed
+ * nodes and edges are not listed; they disappear with their owner.
+ */
+public class GraphDiff {
+    /**
+     * A directed edge, identified by its endpoints
+     */
+    public static final class Edge {
+        private final String source;
+        private final String target;
+
+        Edge(String source, String target) {
+            this.source = source;
+            this.target = target;
+        }
+
+        /**
+         * Get the source node
+         *
+         * @return the source label
+         */
+        public String getSource() {
+            return source;
+        }
+
+        /**
+         * Get the target node
+         *
+         * @return the target label
+         */
+        public String getTarget() {
+            return target;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Edge)) {
+                return false;
+            }
+            Edge other = (Edge) o;
+            return source.equals(other.source) && target.equals(other.target);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * source.hashCode() + target.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return source + " -> " + target;
+        }
+    }
+
+    /**
+     * One attribute of a node or edge that was added, changed or dropped
+     */
+    public static final class AttributeChange {
+        private final String source;
+        private final String target;
+        private final String name;
+        private final String oldValue;
+        private final String newValue;
+
+        AttributeChange(String source, String target, String name, String oldValue, String newValue) {
+            this.source = source;
+            this.target = target;
+            this.name = name;
+            this.oldValue = oldValue;
+            this.newValue = newValue;
+        }
+
+        /**
+         * Check whether the attribute belongs to an edge rather than a node
+         *
+         * @return true for an edge attribute
+         */
+        public boolean isEdgeAttribute() {
+            return target != null;
+        }
+
+        /**
+         * Get the node, or the edge source for an edge attribute
+         *
+         * @return the node label
+         */
+        public String getSource() {
+            return source;
+        }
+
+        /**
+         * Get the edge target
+         *
+         * @return the target label, or null for a node attribute
+         */
+        public String getTarget() {
+            return target;
+        }
+
+        /**
+         * Get the attribute name
+         *
+         * @return the name
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Get the value in the first graph
+         *
+         * @return the old value, or null if the attribute was added
+         */
+        public String getOldValue() {
+            return oldValue;
+        }
+
+        /**
+         * Get the value in the second graph
+         *
+         * @return the new value, or null if the attribute was dropped
+         */
+        public String getNewValue() {
+            return newValue;
+        }
+
+        @Override
+        public String toString() {
+            return (target == null ? source : source + " -> " + target) + " " + name + ": "
+                    + (oldValue == null ? "(none)" : oldValue) + " => " + (newValue == null ? "(none)" : newValue);
+        }
+    }
+
+    private final List<String> addedNodes;
+    private final List<String> removedNodes;
+    private final List<Edge> addedEdges;
+    private final List<Edge> removedEdges;
+    private final List<AttributeChange> attributeChanges;
+
+    GraphDiff(List<String> addedNodes, List<String> removedNodes, List<Edge> addedEdges,
+              List<Edge> removedEdges, List<AttributeChange> attributeChanges) {
+        this.addedNodes = Collections.unmodifiableList(addedNodes);
+        this.removedNodes = Collections.unmodifiableList(removedNodes);
+        this.addedEdges = Collections.unmodifiableList(addedEdges);
+        this.removedEdges = Collections.unmodifiableList(removedEdges);
+        this.attributeChanges = Collections.unmodifiableList(attributeChanges);
+    }
+
+    /**
+     * Compare two graphs. Neither graph may be modified while they are compared.
+     *
+     * @param before the first graph
+     * @param after the second graph
+     * @return the changes that turn the first graph into the second
+     */
+    public static GraphDiff compare(DOTGraph before, DOTGraph after) {
+        if (before == null || after == null) {
+            throw new IllegalArgumentException("Error: Graphs to compare must not be null.");
+        }
+
+        // Equal hashes mean equal content, barring a 64-bit collision
+        if (before.contentHash() == after.contentHash()) {
+            return new GraphDiff(new ArrayList<>(), new ArrayList<>(), new ArrayList<>(),
+                    new ArrayList<>(), new ArrayList<>());
+        }
+
+        Graph<String, DefaultEdge> b = before.getGraph();
+        Graph<String, DefaultEdge> a = after.getGraph();
+
+        // Arrays split evenly across worker threads, unlike the graphs' linked sets
+        String[] beforeVertices = b.vertexSet().toArray(new String[0]);
+        String[] afterVertices = a.vertexSet().toArray(new String[0]);
+        DefaultEdge[] beforeEdges = b.edgeSet().toArray(new DefaultEdge[0]);
+        DefaultEdge[] afterEdges = a.edgeSet().toArray(new DefaultEdge[0]);
+
+        // One lookup per node and edge in the other graph; the matches are reused
+        // for the attribute comparison
+        boolean[] kept = new boolean[afterVertices.length];
+        DefaultEdge[] matches = new DefaultEdge[afterEdges.length];
+        IntStream.range(0, afterVertices.length).parallel()
+                .forEach(i -> kept[i] = b.containsVertex(afterVertices[i]));
+        IntStream.range(0, afterEdges.length).parallel()
+                .forEach(i -> matches[i] = b.getEdge(a.getEdgeSource(afterEdges[i]), a.getEdgeTarget(afterEdges[i])));
+
+        List<String> addedNodes = IntStream.range(0, afterVertices.length).parallel()
+                .filter(i -> !kept[i])
+                .mapToObj(i -> afterVertices[i])
+                .collect(Collectors.toList());
+        List<Edge> addedEdges = IntStream.range(0, afterEdges.length).parallel()
+                .filter(i -> matches[i] == null)
+                .mapToObj(i -> new Edge(a.getEdgeSource(afterEdges[i]), a.getEdgeTarget(afterEdges[i])))
+                .collect(Collectors.toList());
+
+        // If every node or edge of the first graph was matched, nothing was removed
+        List<String> removedNodes = afterVertices.length - addedNodes.size() == beforeVertices.length
+                ? new ArrayList<>()
+                : Arrays.stream(beforeVertices).parallel()
+                        .filter(v -> !a.containsVertex(v))
+                        .collect(Collectors.toList());
+        List<Edge> removedEdges = afterEdges.length - addedEdges.size() == beforeEdges.length
+                ? new ArrayList<>()
+                : Arrays.stream(beforeEdges).parallel()
+                        .filter(e -> a.getEdge(b.getEdgeSource(e), b.getEdgeTarget(e)) == null)
+                        .map(e -> new Edge(b.getEdgeSource(e), b.getEdgeTarget(e)))
+                        .collect(Collectors.toList());
+
+        // Attributes of every node and edge in the second graph, new ones included
+        List<AttributeChange> changes = new ArrayList<>();
+        changes.addAll(IntStream.range(0, afterVertices.length).parallel()
+                .mapToObj(i -> changes(afterVertices[i], null,
+                        kept[i] ? before.nodeAttributes(afterVertices[i]) : null,
+                        after.nodeAttributes(afterVertices[i])))
+                .filter(list -> !list.isEmpty())
+                .flatMap(List::stream)
+                .collect(Collectors.toList()));
+        changes.addAll(IntStream.range(0, afterEdges.length).parallel()
+                .mapToObj(i -> changes(a.getEdgeSource(afterEdges[i]), a.getEdgeTarget(afterEdges[i]),
+                        matches[i] == null ? null : before.edgeAttributes(matches[i]),
+                        after.edgeAttributes(afterEdges[i])))
+                .filter(list -> !list.isEmpty())
+                .flatMap(List::stream)
+                .collect(Collectors.toList()));
+
+        return new GraphDiff(addedNodes, removedNodes, addedEdges, removedEdges, changes);
+    }
+
+    /**
+     * Parse two DOT files at the same time, each on a virtual thread, and compare them
+     *
+     * @param beforePath the path of the first file
+     * @param afterPath the path of the second file
+     * @return the changes that turn the first graph into the second, or null if
+     *         either file cannot be parsed
+     */
+    public static GraphDiff compareFiles(String beforePath, String afterPath) {
+        try (ExecutorService ioExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            return compareFiles(beforePath, afterPath, ioExecutor);
+        }
+    }
+
+    /**
+     * Parse two DOT files at the same time on the given executor and compare them.
+     * Parsing blocks on file reads, so the executor should not be the common
+     * fork-join pool that the comparison itself runs on.
+     *
+     * @param beforePath the path of the first file
+     * @param afterPath the path of the second file
+     * @param ioExecutor runs the two parses
+     * @return the changes that turn the first graph into the second, or null if
+     *         either file cannot be parsed
+     */
+    public static GraphDiff compareFiles(String beforePath, String afterPath, Executor ioExecutor) {
+        if (ioExecutor == null) {
+            throw new IllegalArgumentException("Error: Executor must not be null.");
+        }
+        CompletableFuture<DOTGraph> before = CompletableFuture.supplyAsync(() -> parse(beforePath), ioExecutor);
+        CompletableFuture<DOTGraph> after = CompletableFuture.supplyAsync(() -> parse(afterPath), ioExecutor);
+        DOTGraph first = before.join();
+        DOTGraph second = after.join();
+        if (first == null || second == null) {
+            return null;
+        }
+        return compare(first, second);
+    }
+
+    private static DOTGraph parse(String path) {
+        DOTGraph graph = new DOTGraph();
+        return graph.parseGraph(path) ? graph : null;
+    }
+
+    /**
+     * List the attribute differences of one node or edge
+     *
+     * @param target the edge target, or null for a node
+     * @param before the attributes in the first graph, may be null
+     * @param after the attributes in the second graph, may be null
+     */
+    private static List<AttributeChange> changes(String source, String target,
+                                                 Map<String, String> before, Map<String, String> after) {
+        // Most nodes and edges have no attributes on either side
+        if (before == after) {
+            return Collections.emptyList();
+        }
+        Map<String, String> old = before == null ? Collections.emptyMap() : before;
+        Map<String, String> now = after == null ? Collections.emptyMap() : after;
+        if (old.equals(now)) {
+            return Collections.emptyList();
+        }
+
+        List<AttributeChange> changes = new ArrayList<>();
+        for (Map.Entry<String, String> entry : now.entrySet()) {
+            String oldValue = old.get(entry.getKey());
+            if (!entry.getValue().equals(oldValue)) {
+                changes.add(new AttributeChange(source, target, entry.getKey(), oldValue, entry.getValue()));
+            }
+        }
+        for (Map.Entry<String, String> entry : old.entrySet()) {
+            if (!now.containsKey(entry.getKey())) {
+                changes.add(new AttributeChange(source, target, entry.getKey(), entry.getValue(), null));
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * Get the nodes only in the second graph
+     *
+     * @return the added nodes
+     */
+    public List<String> getAddedNodes() {
+        return addedNodes;
+    }
+
+    /**
+     * Get the nodes only in the first graph
+     *
+     * @return the removed nodes
+     */
+    public List<String> getRemovedNodes() {
+        return removedNodes;
+    }
+
+    /**
+     * Get the edges only in the second graph
+     *
+     * @return the added edges
+     */
+    public List<Edge> getAddedEdges() {
+        return addedEdges;
+    }
+
+    /**
+     * Get the edges only in the first graph
+     *
+     * @return the removed edges
+     */
+    public List<Edge> getRemovedEdges() {
+        return removedEdges;
+    }
+
+    /**
+     * Get the attribute changes on nodes and edges present in the second graph
+     *
+     * @return the attribute changes
+     */
+    public List<AttributeChange> getAttributeChanges() {
+        return attributeChanges;
+    }
+
+    /**
+     * Check whether the graphs were equal
+     *
+     * @return true if there are no changes
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Get the total number of changes
+     *
+     * @return the change count
+     */
+    public int size() {
+        return addedNodes.size() + removedNodes.size() + addedEdges.size() + removedEdges.size()
+                + attributeChanges.size();
+    }
+
+    /**
+     * Write the changes one per line: "- node", "+ node", "- edge", "+ edge" and
+     * "~ attribute" lines, in the order a patch applies them
+     *
+     * @param out where to write
+     * @throws IOException if writing fails
+     */
+    public void write(Writer out) throws IOException {
+        for (Edge edge : removedEdges) {
+            out.write("- edge " + edge + "\n");
+        }
+        for (String node : removedNodes) {
+            out.write("- node " + node + "\n");
+        }
+        for (String node : addedNodes) {
+            out.write("+ node " + node + "\n");
+        }
+        for (Edge edge : addedEdges) {
+            out.write("+ edge " + edge + "\n");
+        }
+        for (AttributeChange change : attributeChanges) {
+            out.write("~ " + (change.isEdgeAttribute() ? "edge " : "node ") + change + "\n");
+        }
+        out.flush();
+    }
+
+    @Override
+    public String toString() {
+        return "Graph diff: +" + addedNodes.size() + " nodes, -" + removedNodes.size() + " nodes, +"
+                + addedEdges.size() + " edges, -" + removedEdges.size() + " edges, "
+                + attributeChanges.size() + " attribute changes";
+    }
+}
@@ -0,0 +1,117 @@
+package org.example;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Java Flight Recorder events emitted by DOTGraph. Each operation produces one
+ * event spanning the whole call, plus one Phase event per stage inside it, so a
+ * recording shows both which calls were slow and where the time went. All events
+ * are in the DOTGraph category and can be enabled in a .jfc file or with
+ * jcmd JFR.configure; when they are disabled, begin() and commit() do nothing and
+ * the event objects are removed by escape analysis.
+ */
+final class GraphEvents {
+    private GraphEvents() {
+    }
+
+    @Name("org.example.Parse")
+    @Label("Parse Graph")
+    @Category("DOTGraph")
+    @Description("A parseGraph call")
+    static final class Parse extends Event {
+        @Label("Path")
+        String path;
+
+        @Label("File Size")
+        @DataAmount
+        long bytes;
+
+        @Label("Vertices")
+        int vertexCount;
+
+        @Label("Edges")
+        int edgeCount;
+
+        @Label("Succeeded")
+        boolean success;
+    }
+
+    @Name("org.example.Search")
+    @Label("Graph Search")
+    @Category("DOTGraph")
+    @Description("A graphSearch call")
+    static final class Search extends Event {
+        @Label("Algorithm")
+        String algorithm;
+
+        @Label("Sources")
+        int sourceCount;
+
+        @Label("Vertices Visited")
+        int visitedVertices;
+
+        @Label("Edges Examined")
+        long examinedEdges;
+
+        @Label("Frontier Peak")
+        @Description("Largest queue size (BFS) or recursion depth (DFS)")
+        int frontierPeak;
+
+        @Label("Path Length")
+        @Description("Number of nodes on the path found, 0 if none")
+        int pathLength;
+    }
+
+    @Name("org.example.Render")
+    @Label("Render Graph")
+    @Category("DOTGraph")
+    @Description("An outputGraphics call")
+    static final class Render extends Event {
+        @Label("Path")
+        String path;
+
+        @Label("Format")
+        String format;
+
+        @Label("Engine")
+        String engine;
+
+        @Label("Vertices")
+        int vertexCount;
+
+        @Label("Success")
+        boolean success;
+    }
+
+    @Name("org.example.Phase")
+    @Label("Operation Phase")
+    @Category("DOTGraph")
+    @Description("One stage of a parse or render")
+    static final class Phase extends Event {
+        @Label("Operation")
+        String operation;
+
+        @Label("Phase")
+        String phase;
+
+        /**
+         * Start timing a phase
+         *
+         * @param operation the enclosing operation
+         * @param phase the phase name
+         * @return the started event; call commit() when the phase ends
+         */
+        static Phase start(String operation, String phase) {
+            Phase event = new Phase();
+            event.operation = operation;
+            event.phase = phase;
+            event.begin();
+            return event;
+        }
+    }
+}
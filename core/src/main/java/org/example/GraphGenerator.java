@@ -0,0 +1,317 @@
+package org.example;
+
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultEdge;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.SplittableRandom;
+
+/**
+ * Seeded synthetic graphs for load tests and fixtures. A generator emits nodes and
+ * edges one at a time, so the same graph can be built in memory as a
+ * {@link DOTGraph} or streamed straight to a DOT file without ever being held in
+ * memory. The same parameters and seed always give the same graph. Nodes are named
+ * n0 .. n(N-1).
+ */
+public final class GraphGenerator {
+    // Graph500 R-MAT quadrant probabilities (the fourth is 1 - A - B - C)
+    private static final double RMAT_A = 0.57;
+    private static final double RMAT_B = 0.19;
+    private static final double RMAT_C = 0.19;
+    private static final String NEWLINE = System.lineSeparator();
+
+    /**
+     * Receives the generated graph
+     */
+    private interface Sink {
+        void edge(int source, int target) throws IOException;
+    }
+
+    /**
+     * Produces the edges of one kind of graph
+     */
+    private interface EdgeSource {
+        void emit(Sink sink) throws IOException;
+    }
+
+    private final int vertexCount;
+    private final EdgeSource edges;
+
+    private GraphGenerator(int vertexCount, EdgeSource edges) {
+        this.vertexCount = vertexCount;
+        this.edges = edges;
+    }
+
+    /**
+     * Get the name of a generated node
+     *
+     * @param i the node number
+     * @return the node name
+     */
+    public static String node(int i) {
+        return "n" + i;
+    }
+
+    /**
+     * A single path n0 -> n1 -> ... -> n(length-1)
+     *
+     * @param length the number of nodes
+     * @return the generator
+     */
+    public static GraphGenerator chain(int length) {
+        checkPositive(length);
+        return new GraphGenerator(length, sink -> {
+            for (int i = 1; i < length; i++) {
+                sink.edge(i - 1, i);
+            }
+        });
+    }
+
+    /**
+     * A rows x columns grid with edges pointing right and down
+     *
+     * @param rows the number of rows
+     * @param columns the number of columns
+     * @return the generator
+     */
+    public static GraphGenerator grid(int rows, int columns) {
+        checkPositive(rows);
+        checkPositive(columns);
+        return new GraphGenerator(Math.multiplyExact(rows, columns), sink -> {
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < columns; c++) {
+                    int v = r * columns + c;
+                    if (c + 1 < columns) {
+                        sink.edge(v, v + 1);
+                    }
+                    if (r + 1 < rows) {
+                        sink.edge(v, v + columns);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * A layered DAG: every node except those in the first layer gets edges from
+     * randomly chosen nodes of the previous layer
+     *
+     * @param layers the number of layers
+     * @param width the number of nodes per layer
+     * @param inDegree the number of incoming edges per node (capped at width)
+     * @param seed the random seed
+     * @return the generator
+     */
+    public static GraphGenerator layeredDag(int layers, int width, int inDegree, long seed) {
+        checkPositive(layers);
+        checkPositive(width);
+        int degree = Math.min(inDegree, width);
+        return new GraphGenerator(Math.multiplyExact(layers, width), sink -> {
+            SplittableRandom random = new SplittableRandom(seed);
+            int[] chosen = new int[degree];
+            for (int layer = 1; layer < layers; layer++) {
+                int previous = (layer - 1) * width;
+                for (int i = 0; i < width; i++) {
+                    int target = layer * width + i;
+                    int count = 0;
+                    while (count < degree) {
+                        int source = previous + random.nextInt(width);
+                        if (!contains(chosen, count, source)) {
+                            chosen[count++] = source;
+                            sink.edge(source, target);
+                        }
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * A Barabási–Albert preferential attachment graph. Each new node links to
+     * edgesPerNode distinct existing nodes chosen with probability proportional to
+     * their degree, which gives a power-law degree distribution. Edges point from
+     * the new node to the existing one. Needs one int per edge endpoint for the
+     * sampling array, but no per-node objects.
+     *
+     * @param nodes the number of nodes
+     * @param edgesPerNode the number of edges each new node adds
+     * @param seed the random seed
+     * @return the generator
+     */
+    public static GraphGenerator barabasiAlbert(int nodes, int edgesPerNode, long seed) {
+        checkPositive(nodes);
+        checkPositive(edgesPerNode);
+        return new GraphGenerator(nodes, sink -> {
+            SplittableRandom random = new SplittableRandom(seed);
+            int m = edgesPerNode;
+            int seedNodes = Math.min(nodes, m + 1);
+
+            // Every edge endpoint appears once, so sampling an entry is degree-proportional
+            int[] endpoints = new int[Math.multiplyExact(2, Math.multiplyExact(nodes, m))];
+            int size = 0;
+
+            // Start from a small fully connected core
+            for (int v = 1; v < seedNodes; v++) {
+                for (int u = 0; u < v; u++) {
+                    sink.edge(v, u);
+                    endpoints[size++] = v;
+                    endpoints[size++] = u;
+                }
+            }
+
+            int[] chosen = new int[m];
+            for (int v = seedNodes; v < nodes; v++) {
+                int count = 0;
+                while (count < m) {
+                    int target = endpoints[random.nextInt(size)];
+                    if (!contains(chosen, count, target)) {
+                        chosen[count++] = target;
+                    }
+                }
+                for (int i = 0; i < m; i++) {
+                    sink.edge(v, chosen[i]);
+                    endpoints[size++] = v;
+                    endpoints[size++] = chosen[i];
+                }
+            }
+        });
+    }
+
+    /**
+     * An R-MAT (recursive matrix, the Kronecker-style generator used by Graph500)
+     * graph with 2^scale nodes. Each edge picks a quadrant of the adjacency matrix
+     * scale times with skewed probabilities, which gives a heavy-tailed degree
+     * distribution and community structure. Self-loops are skipped; duplicate edges
+     * are emitted and collapse when the graph is built or parsed.
+     *
+     * @param scale log2 of the number of nodes, at most 30
+     * @param edgeFactor the number of edges to draw per node
+     * @param seed the random seed
+     * @return the generator
+     */
+    public static GraphGenerator rmat(int scale, int edgeFactor, long seed) {
+        if (scale < 0 || scale > 30) {
+            throw new IllegalArgumentException("Error: R-MAT scale must be between 0 and 30.");
+        }
+        checkPositive(edgeFactor);
+        int nodes = 1 << scale;
+        long edgeCount = (long) nodes * edgeFactor;
+        return new GraphGenerator(nodes, sink -> {
+            SplittableRandom random = new SplittableRandom(seed);
+            for (long e = 0; e < edgeCount; e++) {
+                int source = 0;
+                int target = 0;
+                for (int bit = scale - 1; bit >= 0; bit--) {
+                    double p = random.nextDouble();
+                    if (p < RMAT_A) {
+                        continue;
+                    }
+                    if (p < RMAT_A + RMAT_B) {
+                        target |= 1 << bit;
+                    } else if (p < RMAT_A + RMAT_B + RMAT_C) {
+                        source |= 1 << bit;
+                    } else {
+                        source |= 1 << bit;
+                        target |= 1 << bit;
+                    }
+                }
+                if (source != target) {
+                    sink.edge(source, target);
+                }
+            }
+        });
+    }
+
+    /**
+     * Get the number of nodes the generator produces
+     *
+     * @return the node count
+     */
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    /**
+     * Build the graph in memory. Nodes and edges are added through the underlying
+     * graph, so no per-node console output or label attributes are produced.
+     *
+     * @return the generated graph
+     */
+    public DOTGraph toDOTGraph() {
+        DOTGraph dotGraph = new DOTGraph();
+        Graph<String, DefaultEdge> graph = dotGraph.getGraph();
+        String[] names = new String[vertexCount];
+        for (int i = 0; i < vertexCount; i++) {
+            names[i] = node(i);
+            graph.addVertex(names[i]);
+        }
+        try {
+            edges.emit((source, target) -> graph.addEdge(names[source], names[target]));
+        } catch (IOException e) {
+            // The in-memory sink does not throw
+            throw new IllegalStateException(e);
+        }
+        return dotGraph;
+    }
+
+    /**
+     * Stream the graph to a DOT file. Only the generator's own state is held in
+     * memory, so files far larger than the heap can be written.
+     *
+     * @param path the path of the DOT file
+     * @throws IOException if the file cannot be written
+     */
+    public void writeDOT(String path) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(Paths.get(path), StandardCharsets.UTF_8)) {
+            write(out);
+        }
+    }
+
+    /**
+     * Stream the graph in DOT format; every node is listed first so that isolated
+     * nodes survive a round trip
+     *
+     * @param out the destination, which the caller should buffer and close
+     * @throws IOException if writing fails
+     */
+    public void write(Writer out) throws IOException {
+        out.write("strict digraph G {");
+        out.write(NEWLINE);
+        for (int i = 0; i < vertexCount; i++) {
+            out.write("  n");
+            out.write(Integer.toString(i));
+            out.write(";");
+            out.write(NEWLINE);
+        }
+        edges.emit((source, target) -> {
+            out.write("  n");
+            out.write(Integer.toString(source));
+            out.write(" -> n");
+            out.write(Integer.toString(target));
+            out.write(";");
+            out.write(NEWLINE);
+        });
+        out.write("}");
+        out.write(NEWLINE);
+    }
+
+    private static boolean contains(int[] values, int count, int value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void checkPositive(int value) {
+        if (value <= 0) {
+            throw new IllegalArgumentException("Error: Generator sizes must be positive.");
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package org.example;
+
+/**
+ * Vertex positions for a {@link GraphSnapshot}, stored as two primitive coordinate
+ * arrays indexed by snapshot vertex id. Produced by {@link ForceDirectedLayout} and
+ * consumed by the renderers, which draw straight from the arrays.
+ */
+public class GraphLayout {
+    private final GraphSnapshot snapshot;
+    private final double[] x;
+    private final double[] y;
+
+    /**
+     * Wrap existing coordinate arrays
+     *
+     * @param snapshot the graph the positions belong to
+     * @param x the x coordinate of every vertex
+     * @param y the y coordinate of every vertex
+     */
+    public GraphLayout(GraphSnapshot snapshot, double[] x, double[] y) {
+        if (x.length != snapshot.vertexCount() || y.length != snapshot.vertexCount()) {
+            throw new IllegalArgumentException("Error: Coordinate arrays must have one entry per vertex.");
+        }
+        this.snapshot = snapshot;
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     * Get the graph structure the layout was computed for
+     *
+     * @return the snapshot
+     */
+    public GraphSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Get the x coordinates, indexed by vertex id
+     *
+     * @return the x array (shared, do not modify)
+     */
+    public double[] x() {
+        return x;
+    }
+
+    /**
+     * Get the y coordinates, indexed by vertex id
+     *
+     * @return the y array (shared, do not modify)
+     */
+    public double[] y() {
+        return y;
+    }
+
+    /**
+     * Compute the bounding box of all vertices
+     *
+     * @return {minX, minY, maxX, maxY}, or all zeros for an empty layout
+     */
+    public double[] bounds() {
+        if (x.length == 0) {
+            return new double[4];
+        }
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (int v = 0; v < x.length; v++) {
+            minX = Math.min(minX, x[v]);
+            minY = Math.min(minY, y[v]);
+            maxX = Math.max(maxX, x[v]);
+            maxY = Math.max(maxY, y[v]);
+        }
+        return new double[]{minX, minY, maxX, maxY};
+    }
+}
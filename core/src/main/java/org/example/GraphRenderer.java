@@ -0,0 +1,107 @@
+package org.example;
+
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultEdge;
+
+import java.io.IOException;
+
+/**
+ * Draws graphs into image files. DOTGraph itself only computes layouts and writes
+ * DOT and SVG; everything that needs AWT, ImageIO or JGraphX lives behind this
+ * interface, in the DOTGraph-render module, and is found with
+ * {@link java.util.ServiceLoader} the first time an image is requested. Processes
+ * that only parse, search and export DOT therefore never load the desktop or
+ * JGraphX classes, and can run without those jars.
+ *
+ * Implementations are listed in META-INF/services/org.example.GraphRenderer and
+ * need a public no-argument constructor.
+ */
+public interface GraphRenderer {
+
+    /**
+     * An image drawn from a layout and held in memory until it is encoded
+     */
+    interface Raster {
+
+        /**
+         * Encode the image into a file
+         *
+         * @param path the path of the image file
+         * @param format the image format, e.g. "png"
+         * @throws IOException if the image cannot be written
+         */
+        void write(String path, String format) throws IOException;
+    }
+
+    /**
+     * Get the name of the renderer, used to choose between installed renderers
+     *
+     * @return the name
+     */
+    String getName();
+
+    /**
+     * Check whether the renderer can lay out graphs itself. Callers check this
+     * before {@link #renderGraph} and otherwise compute a layout and call
+     * {@link #renderLayout}.
+     *
+     * @return true if renderGraph can be called
+     */
+    default boolean supportsOwnLayout() {
+        return false;
+    }
+
+    /**
+     * Lay out and draw a small graph with the renderer's own layout. Only called
+     * when {@link #supportsOwnLayout} returns true.
+     *
+     * @param graph the graph to draw
+     * @param path the path of the image file
+     * @param format the image format, e.g. "png"
+     * @throws IOException if the image cannot be written
+     * @throws UnsupportedOperationException if the renderer has no layout of its own
+     */
+    default void renderGraph(Graph<String, DefaultEdge> graph, String path, String format) throws IOException {
+        throw new UnsupportedOperationException("Renderer " + getName() + " has no layout of its own");
+    }
+
+    /**
+     * Draw precomputed positions into an image without encoding it, so that
+     * drawing and writing can run on different threads
+     *
+     * @param layout the positions to draw
+     * @return the image
+     */
+    Raster rasterize(GraphLayout layout);
+
+    /**
+     * Draw precomputed positions into one image file
+     *
+     * @param layout the positions to draw
+     * @param path the path of the image file
+     * @param format the image format, e.g. "png"
+     * @throws IOException if the image cannot be written
+     */
+    default void renderLayout(GraphLayout layout, String path, String format) throws IOException {
+        GraphEvents.Phase phase = GraphEvents.Phase.start("outputGraphics", "rasterize");
+        Raster raster = rasterize(layout);
+        phase.commit();
+
+        // Save the image
+        phase = GraphEvents.Phase.start("outputGraphics", "encode");
+        raster.write(path, format);
+        phase.commit();
+    }
+
+    /**
+     * Draw precomputed positions as PNG tiles
+     *
+     * @param layout the positions to draw
+     * @param directory the directory to write the tiles into
+     * @param tileSize the width and height of each tile in pixels
+     * @param levels 1 for a single grid, or the number of zoom levels for a pyramid
+     * @return the number of tiles written
+     * @throws IOException if a tile cannot be written
+     */
+    int renderTiles(GraphLayout layout, String directory, int tileSize, int levels) throws IOException;
+}
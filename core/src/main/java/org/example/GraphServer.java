@@ -0,0 +1,498 @@
+package org.example;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Serves one in-memory {@link DOTGraph} to many local clients over a loopback TCP
+ * port or a Unix domain socket. Each connection gets its own virtual thread.
+ *
+ * The protocol is line based and UTF-8: one request per line, tokens separated by
+ * single spaces (so node names cannot contain whitespace), and exactly one reply
+ * line per request, starting with OK or ERR.
+ *
+ * <pre>
+ *     SEARCH BFS|DFS src dst   OK n1 n2 n3 | OK NONE
+ *     ADDNODE label            OK | ERR ...
+ *     ADDEDGE src dst          OK | ERR ...
+ *     REMOVENODE label         OK | ERR ...
+ *     REMOVEEDGE src dst       OK | ERR ...
+ *     EXPORT name              OK | ERR ...   (writes a DOT file in the export directory)
+ *     STATS                    OK vertices edges
+ *     QUIT                     OK, then the server closes the connection
+ * </pre>
+ *
+ * Searches are not run on the connection threads. They are queued for a single
+ * batcher thread, which takes everything queued so far, holds the read lock once
+ * for the whole batch, answers identical searches once and answers all BFS
+ * searches from the same source with one traversal. The distinct searches of a
+ * batch run in parallel on a pool with one thread per processor while the batcher
+ * holds the lock. Under load batches grow on their own, with no added delay when
+ * the server is idle. A search that fails, e.g. a DFS too deep for the stack, gets
+ * an ERR reply and does not affect the others. Mutations and exports run on the
+ * connection thread under the write and read lock respectively.
+ *
+ * EXPORT only writes inside a directory chosen when the server is created; names
+ * that are absolute or contain ".." are refused, and without a directory the
+ * command is disabled.
+ */
+public class GraphServer implements AutoCloseable {
+    private static final String NO_PATH = "NONE";
+
+    /**
+     * One queued search and the future its reply completes
+     */
+    private static final class SearchRequest {
+        private final Algorithm algorithm;
+        private final String src;
+        private final String dst;
+        private final CompletableFuture<String> reply = new CompletableFuture<>();
+
+        private SearchRequest(Algorithm algorithm, String src, String dst) {
+            this.algorithm = algorithm;
+            this.src = src;
+            this.dst = dst;
+        }
+
+        private String key() {
+            return algorithm + " " + src + " " + dst;
+        }
+    }
+
+    private final DOTGraph graph;
+    private final java.nio.file.Path exportDirectory;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LinkedBlockingQueue<SearchRequest> searches = new LinkedBlockingQueue<>();
+    private final Set<SocketChannel> connections = ConcurrentHashMap.newKeySet();
+    private ServerSocketChannel server;
+    private Thread batcher;
+    private ExecutorService workers;
+    private volatile boolean running;
+
+    // Largest batch handled so far, for tests and monitoring
+    private volatile int largestBatch;
+
+    /**
+     * Create a server for a graph with EXPORT disabled; call start() to begin
+     * accepting connections
+     *
+     * @param graph the graph to serve, which clients share
+     */
+    public GraphServer(DOTGraph graph) {
+        this(graph, null);
+    }
+
+    /**
+     * Create a server for a graph; call start() to begin accepting connections
+     *
+     * @param graph the graph to serve, which clients share
+     * @param exportDirectory the only directory EXPORT may write to, or null to
+     *        disable EXPORT
+     */
+    public GraphServer(DOTGraph graph, java.nio.file.Path exportDirectory) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Error: Graph must not be null.");
+        }
+        this.graph = graph;
+        this.exportDirectory = exportDirectory == null ? null : exportDirectory.toAbsolutePath().normalize();
+    }
+
+    /**
+     * Start listening on a loopback TCP port
+     *
+     * @param port the port, or 0 to pick a free one
+     * @throws IOException if the port cannot be bound
+     */
+    public void startTcp(int port) throws IOException {
+        ServerSocketChannel channel = ServerSocketChannel.open(StandardProtocolFamily.INET);
+        channel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        start(channel);
+    }
+
+    /**
+     * Start listening on a Unix domain socket, replacing any stale socket file
+     *
+     * @param socketPath the path of the socket file
+     * @throws IOException if the socket cannot be bound
+     */
+    public void startUnix(java.nio.file.Path socketPath) throws IOException {
+        Files.deleteIfExists(socketPath);
+        ServerSocketChannel channel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        channel.bind(UnixDomainSocketAddress.of(socketPath));
+        start(channel);
+    }
+
+    private void start(ServerSocketChannel channel) {
+        if (running) {
+            throw new IllegalStateException("Error: Server is already running.");
+        }
+        server = channel;
+        running = true;
+        workers = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+                Thread.ofPlatform().name("graph-server-search-", 0).daemon().factory());
+        batcher = Thread.ofPlatform().name("graph-server-batcher").daemon().start(this::runBatches);
+        Thread.ofVirtual().name("graph-server-acceptor").start(this::acceptConnections);
+    }
+
+    /**
+     * Get the address the server listens on
+     *
+     * @return the bound address
+     * @throws IOException if the server is not running
+     */
+    public SocketAddress getLocalAddress() throws IOException {
+        if (server == null) {
+            throw new IOException("Server is not running");
+        }
+        return server.getLocalAddress();
+    }
+
+    /**
+     * Get the largest number of searches answered as one batch so far
+     *
+     * @return the batch size
+     */
+    public int getLargestBatch() {
+        return largestBatch;
+    }
+
+    private void acceptConnections() {
+        while (running) {
+            try {
+                SocketChannel client = server.accept();
+                connections.add(client);
+                Thread.ofVirtual().name("graph-server-connection").start(() -> serve(client));
+            } catch (IOException e) {
+                if (running) {
+                    System.err.println("Error accepting connection: " + e.getMessage());
+                }
+                return;
+            }
+        }
+    }
+
+    private void serve(SocketChannel client) {
+        try (client;
+             BufferedReader in = new BufferedReader(
+                     new InputStreamReader(Channels.newInputStream(client), StandardCharsets.UTF_8));
+             BufferedWriter out = new BufferedWriter(
+                     new OutputStreamWriter(Channels.newOutputStream(client), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                String reply = handle(line);
+                out.write(reply);
+                out.write('\n');
+                // Only flush once the client has no more pipelined requests waiting
+                if (!in.ready()) {
+                    out.flush();
+                }
+                if (line.equals("QUIT")) {
+                    break;
+                }
+            }
+            out.flush();
+        } catch (IOException e) {
+            if (running) {
+                System.err.println("Error serving connection: " + e.getMessage());
+            }
+        } finally {
+            connections.remove(client);
+        }
+    }
+
+    /**
+     * Answer one request line
+     *
+     * @param line the request
+     * @return the reply line, without the newline
+     */
+    String handle(String line) {
+        String[] tokens = line.trim().split(" ");
+        try {
+            switch (tokens[0]) {
+                case "SEARCH":
+                    expectTokens(tokens, 4);
+                    return search(new SearchRequest(algorithm(tokens[1]), tokens[2], tokens[3]));
+                case "ADDNODE":
+                    expectTokens(tokens, 2);
+                    return mutate(() -> graph.addNode(tokens[1]), "Node already exists: " + tokens[1]);
+                case "ADDEDGE":
+                    expectTokens(tokens, 3);
+                    return mutate(() -> graph.addEdge(tokens[1], tokens[2]),
+                            "Cannot add edge: " + tokens[1] + " -> " + tokens[2]);
+                case "REMOVENODE":
+                    expectTokens(tokens, 2);
+                    return mutate(() -> graph.removeNode(tokens[1]), "No such node: " + tokens[1]);
+                case "REMOVEEDGE":
+                    expectTokens(tokens, 3);
+                    return mutate(() -> graph.removeEdge(tokens[1], tokens[2]),
+                            "No such edge: " + tokens[1] + " -> " + tokens[2]);
+                case "EXPORT":
+                    expectTokens(tokens, 2);
+                    String target = exportPath(tokens[1]);
+                    lock.readLock().lock();
+                    try {
+                        return graph.outputDOTGraph(target) ? "OK" : "ERR Export failed: " + tokens[1];
+                    } finally {
+                        lock.readLock().unlock();
+                    }
+                case "STATS":
+                    lock.readLock().lock();
+                    try {
+                        return "OK " + graph.getVertexCount() + " " + graph.getEdgeCount();
+                    } finally {
+                        lock.readLock().unlock();
+                    }
+                case "QUIT":
+                    return "OK";
+                default:
+                    return "ERR Unknown command: " + tokens[0];
+            }
+        } catch (IllegalArgumentException e) {
+            return error(e);
+        }
+    }
+
+    /**
+     * Queue a search for the batcher and wait for its reply
+     */
+    private String search(SearchRequest request) {
+        if (!running) {
+            return "ERR Server is not running";
+        }
+        searches.add(request);
+        // close() may have drained the queue between the check and the add
+        if (!running) {
+            failPending();
+        }
+        try {
+            return request.reply.join();
+        } catch (CompletionException e) {
+            return error(e.getCause());
+        }
+    }
+
+    /**
+     * Resolve an export name inside the export directory
+     *
+     * @throws IllegalArgumentException if exports are disabled or the name leaves the directory
+     */
+    private String exportPath(String name) {
+        if (exportDirectory == null) {
+            throw new IllegalArgumentException("Error: EXPORT is disabled.");
+        }
+        java.nio.file.Path relative = java.nio.file.Paths.get(name);
+        for (java.nio.file.Path part : relative) {
+            if (part.toString().equals("..")) {
+                throw new IllegalArgumentException("Error: Export path must not contain '..': " + name);
+            }
+        }
+        java.nio.file.Path resolved = exportDirectory.resolve(relative).normalize();
+        if (relative.isAbsolute() || !resolved.startsWith(exportDirectory)) {
+            throw new IllegalArgumentException("Error: Export path must be relative: " + name);
+        }
+        return resolved.toString();
+    }
+
+    private static Algorithm algorithm(String name) {
+        for (Algorithm algorithm : Algorithm.values()) {
+            if (algorithm.name().equals(name)) {
+                return algorithm;
+            }
+        }
+        throw new IllegalArgumentException("Error: Unknown algorithm: " + name);
+    }
+
+    private static String error(Throwable e) {
+        if (!(e instanceof IllegalArgumentException) || e.getMessage() == null) {
+            return "ERR Search failed: " + e;
+        }
+        String message = e.getMessage();
+        return "ERR " + (message.startsWith("Error: ") ? message.substring("Error: ".length()) : message);
+    }
+
+    private static void expectTokens(String[] tokens, int count) {
+        if (tokens.length != count) {
+            throw new IllegalArgumentException("Error: " + tokens[0] + " takes " + (count - 1) + " arguments.");
+        }
+    }
+
+    /**
+     * Apply a change under the write lock
+     */
+    private String mutate(java.util.function.BooleanSupplier change, String failure) {
+        lock.writeLock().lock();
+        try {
+            return change.getAsBoolean() ? "OK" : "ERR " + failure;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void runBatches() {
+        List<SearchRequest> batch = new ArrayList<>();
+        while (running) {
+            try {
+                batch.add(searches.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            searches.drainTo(batch);
+            largestBatch = Math.max(largestBatch, batch.size());
+
+            lock.readLock().lock();
+            try {
+                answer(batch);
+            } catch (Throwable e) {
+                // Never leave a client waiting, whatever went wrong
+                for (SearchRequest request : batch) {
+                    request.reply.completeExceptionally(e);
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * Answer a batch of searches: identical searches share one reply, and BFS
+     * searches from the same source share one traversal. The distinct searches run
+     * on the worker pool; the caller holds the read lock until all have finished,
+     * so the workers read the graph without taking it themselves.
+     */
+    private void answer(List<SearchRequest> batch) {
+        Map<String, List<SearchRequest>> byKey = new HashMap<>();
+        for (SearchRequest request : batch) {
+            byKey.computeIfAbsent(request.key(), k -> new ArrayList<>()).add(request);
+        }
+
+        Map<String, Set<String>> bfsTargets = new HashMap<>();
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        for (List<SearchRequest> same : byKey.values()) {
+            SearchRequest request = same.get(0);
+            if (request.algorithm == Algorithm.BFS) {
+                // Check the endpoints now so one bad request cannot fail the group
+                if (!graph.getGraph().containsVertex(request.src)) {
+                    fail(same, new IllegalArgumentException("Error: Source node '" + request.src + "' does not exist."));
+                } else if (!graph.getGraph().containsVertex(request.dst)) {
+                    fail(same, new IllegalArgumentException(
+                            "Error: Destination node '" + request.dst + "' does not exist."));
+                } else {
+                    bfsTargets.computeIfAbsent(request.src, k -> new LinkedHashSet<>()).add(request.dst);
+                }
+            } else {
+                tasks.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        reply(same, format(graph.graphSearch(request.src, request.dst, request.algorithm)));
+                    } catch (Throwable e) {
+                        fail(same, e);
+                    }
+                }, workers));
+            }
+        }
+
+        for (Map.Entry<String, Set<String>> group : bfsTargets.entrySet()) {
+            tasks.add(CompletableFuture.runAsync(() -> {
+                try {
+                    Map<String, Path> paths = graph.graphSearchAll(group.getKey(), group.getValue());
+                    for (String dst : group.getValue()) {
+                        reply(byKey.get(Algorithm.BFS + " " + group.getKey() + " " + dst), format(paths.get(dst)));
+                    }
+                } catch (Throwable e) {
+                    for (String dst : group.getValue()) {
+                        fail(byKey.get(Algorithm.BFS + " " + group.getKey() + " " + dst), e);
+                    }
+                }
+            }, workers));
+        }
+
+        // Keep the read lock until every search of the batch is done
+        CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0])).join();
+    }
+
+    private static void reply(List<SearchRequest> requests, String reply) {
+        for (SearchRequest request : requests) {
+            request.reply.complete(reply);
+        }
+    }
+
+    private static void fail(List<SearchRequest> requests, Throwable e) {
+        for (SearchRequest request : requests) {
+            request.reply.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Fail searches that will never be answered
+     */
+    private void failPending() {
+        SearchRequest pending;
+        while ((pending = searches.poll()) != null) {
+            pending.reply.complete("ERR Server is shutting down");
+        }
+    }
+
+    private static String format(Path path) {
+        return path == null ? "OK " + NO_PATH : "OK " + String.join(" ", path.getNodes());
+    }
+
+    /**
+     * Stop accepting connections, close the open ones and stop the batcher
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            if (server != null) {
+                SocketAddress address = server.getLocalAddress();
+                server.close();
+                if (address instanceof UnixDomainSocketAddress) {
+                    Files.deleteIfExists(((UnixDomainSocketAddress) address).getPath());
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error closing server: " + e.getMessage());
+        }
+        for (SocketChannel connection : connections) {
+            try {
+                connection.close();
+            } catch (IOException e) {
+                // Already closing
+            }
+        }
+        if (batcher != null) {
+            batcher.interrupt();
+        }
+        if (workers != null) {
+            workers.shutdown();
+        }
+        failPending();
+    }
+}
@@ -0,0 +1,172 @@
+package org.example;
+
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultEdge;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An immutable, array-based copy of a graph's structure. Vertices are numbered
+ * 0..n-1 and both outgoing and incoming adjacency lists are stored in compressed
+ * sparse row form (one offsets array and one targets array per direction), so
+ * analytics can run over plain int arrays without touching the object graph.
+ */
+public class GraphSnapshot {
+    private final String[] vertices;
+    private final Map<String, Integer> ids;
+    private final int[] outOffsets;
+    private final int[] outTargets;
+    private final int[] inOffsets;
+    private final int[] inSources;
+
+    /**
+     * Build a snapshot of the given graph
+     *
+     * @param graph the graph to copy
+     */
+    public GraphSnapshot(Graph<String, DefaultEdge> graph) {
+        int n = graph.vertexSet().size();
+        vertices = new String[n];
+        ids = new HashMap<>(n * 2);
+
+        int next = 0;
+        for (String vertex : graph.vertexSet()) {
+            vertices[next] = vertex;
+            ids.put(vertex, next);
+            next++;
+        }
+
+        int m = graph.edgeSet().size();
+        int[] edgeSources = new int[m];
+        int[] edgeTargets = new int[m];
+        outOffsets = new int[n + 1];
+        inOffsets = new int[n + 1];
+
+        // First pass: count degrees and remember the endpoints of every edge
+        int e = 0;
+        for (DefaultEdge edge : graph.edgeSet()) {
+            int s = ids.get(graph.getEdgeSource(edge));
+            int t = ids.get(graph.getEdgeTarget(edge));
+            edgeSources[e] = s;
+            edgeTargets[e] = t;
+            outOffsets[s + 1]++;
+            inOffsets[t + 1]++;
+            e++;
+        }
+
+        // Prefix sums turn the degree counts into row offsets
+        for (int v = 0; v < n; v++) {
+            outOffsets[v + 1] += outOffsets[v];
+            inOffsets[v + 1] += inOffsets[v];
+        }
+
+        // Second pass: scatter edges into their rows
+        outTargets = new int[m];
+        inSources = new int[m];
+        int[] outFill = new int[n];
+        int[] inFill = new int[n];
+        for (int i = 0; i < m; i++) {
+            int s = edgeSources[i];
+            int t = edgeTargets[i];
+            outTargets[outOffsets[s] + outFill[s]++] = t;
+            inSources[inOffsets[t] + inFill[t]++] = s;
+        }
+    }
+
+    /**
+     * Get the number of vertices in the snapshot
+     *
+     * @return the vertex count
+     */
+    public int vertexCount() {
+        return vertices.length;
+    }
+
+    /**
+     * Get the number of edges in the snapshot
+     *
+     * @return the edge count
+     */
+    public int edgeCount() {
+        return outTargets.length;
+    }
+
+    /**
+     * Get the label of a vertex id
+     *
+     * @param id the vertex id
+     * @return the vertex label
+     */
+    public String vertex(int id) {
+        return vertices[id];
+    }
+
+    /**
+     * Get the id of a vertex label
+     *
+     * @param vertex the vertex label
+     * @return the vertex id, or -1 if the vertex is not in the snapshot
+     */
+    public int idOf(String vertex) {
+        Integer id = ids.get(vertex);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Get the out-degree of a vertex
+     *
+     * @param id the vertex id
+     * @return the number of outgoing edges
+     */
+    public int outDegree(int id) {
+        return outOffsets[id + 1] - outOffsets[id];
+    }
+
+    /**
+     * Get the in-degree of a vertex
+     *
+     * @param id the vertex id
+     * @return the number of incoming edges
+     */
+    public int inDegree(int id) {
+        return inOffsets[id + 1] - inOffsets[id];
+    }
+
+    /**
+     * Get the offsets into {@link #outTargets()}; the successors of v are at
+     * indices outOffsets[v] (inclusive) to outOffsets[v + 1] (exclusive)
+     *
+     * @return the outgoing row offsets (shared, do not modify)
+     */
+    public int[] outOffsets() {
+        return outOffsets;
+    }
+
+    /**
+     * Get the successor ids of all vertices, grouped by source vertex
+     *
+     * @return the outgoing adjacency array (shared, do not modify)
+     */
+    public int[] outTargets() {
+        return outTargets;
+    }
+
+    /**
+     * Get the offsets into {@link #inSources()}
+     *
+     * @return the incoming row offsets (shared, do not modify)
+     */
+    public int[] inOffsets() {
+        return inOffsets;
+    }
+
+    /**
+     * Get the predecessor ids of all vertices, grouped by target vertex
+     *
+     * @return the incoming adjacency array (shared, do not modify)
+     */
+    public int[] inSources() {
+        return inSources;
+    }
+}
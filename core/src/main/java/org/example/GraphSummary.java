@@ -0,0 +1,328 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * A level-of-detail view of a graph in which groups of nodes are collapsed into
+ * single super-nodes. Groups are either strongly connected components or
+ * communities found by label propagation. The collapsed graph has one node per
+ * group and one edge per pair of connected groups, annotated with how many original
+ * edges it stands for, so it can be exported and rendered at a cost that depends on
+ * the number of groups rather than the number of nodes. Individual groups can be
+ * expanded again with {@link #drillDown(int)}.
+ */
+public class GraphSummary {
+    private final DOTGraph source;
+    private final GraphSnapshot snapshot;
+    private final int[] clusterOf;
+    private final int clusterCount;
+
+    private GraphSummary(DOTGraph source, GraphSnapshot snapshot, int[] clusterOf) {
+        this.source = source;
+        this.snapshot = snapshot;
+
+        // Renumber cluster ids densely in order of first appearance
+        Map<Integer, Integer> dense = new HashMap<>();
+        this.clusterOf = new int[clusterOf.length];
+        for (int v = 0; v < clusterOf.length; v++) {
+            Integer id = dense.get(clusterOf[v]);
+            if (id == null) {
+                id = dense.size();
+                dense.put(clusterOf[v], id);
+            }
+            this.clusterOf[v] = id;
+        }
+        this.clusterCount = dense.size();
+    }
+
+    /**
+     * Group nodes by strongly connected component (Tarjan's algorithm, iterative)
+     *
+     * @param source the graph to summarize
+     * @return the summary
+     */
+    public static GraphSummary byStronglyConnectedComponents(DOTGraph source) {
+        GraphSnapshot snapshot = source.snapshot();
+        int n = snapshot.vertexCount();
+        int[] outOffsets = snapshot.outOffsets();
+        int[] outTargets = snapshot.outTargets();
+
+        int[] index = new int[n];
+        int[] lowLink = new int[n];
+        int[] component = new int[n];
+        boolean[] onStack = new boolean[n];
+        Arrays.fill(index, -1);
+
+        int[] stack = new int[n];
+        int stackTop = 0;
+        int[] callVertex = new int[n];
+        int[] callEdge = new int[n];
+        int nextIndex = 0;
+        int components = 0;
+
+        for (int root = 0; root < n; root++) {
+            if (index[root] >= 0) {
+                continue;
+            }
+
+            // Simulated recursion: each frame is a vertex plus the next edge to try
+            int depth = 0;
+            callVertex[0] = root;
+            callEdge[0] = outOffsets[root];
+            index[root] = lowLink[root] = nextIndex++;
+            stack[stackTop++] = root;
+            onStack[root] = true;
+
+            while (depth >= 0) {
+                int v = callVertex[depth];
+                if (callEdge[depth] < outOffsets[v + 1]) {
+                    int w = outTargets[callEdge[depth]++];
+                    if (index[w] < 0) {
+                        index[w] = lowLink[w] = nextIndex++;
+                        stack[stackTop++] = w;
+                        onStack[w] = true;
+                        depth++;
+                        callVertex[depth] = w;
+                        callEdge[depth] = outOffsets[w];
+                    } else if (onStack[w]) {
+                        lowLink[v] = Math.min(lowLink[v], index[w]);
+                    }
+                } else {
+                    // All edges done: v closes a component if it is its root
+                    if (lowLink[v] == index[v]) {
+                        int w;
+                        do {
+                            w = stack[--stackTop];
+                            onStack[w] = false;
+                            component[w] = components;
+                        } while (w != v);
+                        components++;
+                    }
+                    depth--;
+                    if (depth >= 0) {
+                        int parent = callVertex[depth];
+                        lowLink[parent] = Math.min(lowLink[parent], lowLink[v]);
+                    }
+                }
+            }
+        }
+
+        return new GraphSummary(source, snapshot, component);
+    }
+
+    /**
+     * Group nodes into communities with label propagation, ignoring edge direction.
+     * Every node starts in its own community and repeatedly adopts the most common
+     * community among its neighbours; all nodes are updated in parallel each round.
+     *
+     * @param source the graph to summarize
+     * @param maxIterations the maximum number of rounds
+     * @return the summary
+     */
+    public static GraphSummary byLabelPropagation(DOTGraph source, int maxIterations) {
+        GraphSnapshot snapshot = source.snapshot();
+        int n = snapshot.vertexCount();
+        int[] outOffsets = snapshot.outOffsets();
+        int[] outTargets = snapshot.outTargets();
+        int[] inOffsets = snapshot.inOffsets();
+        int[] inSources = snapshot.inSources();
+
+        int[] labels = IntStream.range(0, n).toArray();
+        int[] next = new int[n];
+
+        for (int iteration = 0; iteration < maxIterations; iteration++) {
+            final int[] current = labels;
+            final int[] updated = next;
+            final int round = iteration;
+
+            long changed = ForkJoinPool.commonPool().submit(() -> IntStream.range(0, n).parallel().filter(v -> {
+                int degree = outOffsets[v + 1] - outOffsets[v] + inOffsets[v + 1] - inOffsets[v];
+                if (degree == 0) {
+                    updated[v] = current[v];
+                    return false;
+                }
+
+                // Gather neighbour labels and pick the most frequent one
+                int[] neighbourLabels = new int[degree];
+                int k = 0;
+                for (int i = outOffsets[v]; i < outOffsets[v + 1]; i++) {
+                    neighbourLabels[k++] = current[outTargets[i]];
+                }
+                for (int i = inOffsets[v]; i < inOffsets[v + 1]; i++) {
+                    neighbourLabels[k++] = current[inSources[i]];
+                }
+                Arrays.sort(neighbourLabels);
+
+                int best = current[v];
+                int bestCount = 0;
+                int bestTie = 0;
+                for (int i = 0; i < degree; ) {
+                    int j = i;
+                    while (j < degree && neighbourLabels[j] == neighbourLabels[i]) {
+                        j++;
+                    }
+                    int count = j - i;
+                    // Ties are broken by a hash so that synchronous updates don't oscillate
+                    int tie = mix(neighbourLabels[i], v, round);
+                    if (count > bestCount || (count == bestCount && tie > bestTie)) {
+                        best = neighbourLabels[i];
+                        bestCount = count;
+                        bestTie = tie;
+                    }
+                    i = j;
+                }
+
+                updated[v] = best;
+                return best != current[v];
+            }).count()).join();
+
+            labels = updated;
+            next = current;
+            if (changed == 0) {
+                break;
+            }
+        }
+
+        return new GraphSummary(source, snapshot, labels);
+    }
+
+    private static int mix(int label, int vertex, int round) {
+        int h = label * 0x9E3779B1 ^ vertex * 0x85EBCA6B ^ round * 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h * 0x27D4EB2D;
+    }
+
+    /**
+     * Get the number of groups
+     *
+     * @return the cluster count
+     */
+    public int getClusterCount() {
+        return clusterCount;
+    }
+
+    /**
+     * Get the group a node belongs to
+     *
+     * @param vertex the node label
+     * @return the cluster id, or -1 if the node was not in the graph
+     */
+    public int clusterOf(String vertex) {
+        int id = snapshot.idOf(vertex);
+        return id < 0 ? -1 : clusterOf[id];
+    }
+
+    /**
+     * Get the super-node name used for a cluster in the collapsed graph
+     *
+     * @param cluster the cluster id
+     * @return the node name
+     */
+    public static String clusterName(int cluster) {
+        return "cluster_" + cluster;
+    }
+
+    /**
+     * Get the nodes in a group
+     *
+     * @param cluster the cluster id
+     * @return the node labels
+     */
+    public List<String> members(int cluster) {
+        List<String> members = new ArrayList<>();
+        for (int v = 0; v < clusterOf.length; v++) {
+            if (clusterOf[v] == cluster) {
+                members.add(snapshot.vertex(v));
+            }
+        }
+        return members;
+    }
+
+    /**
+     * Build the collapsed graph. Each super-node carries size (number of members)
+     * and internalEdges attributes; each edge between super-nodes carries a count
+     * attribute with the number of original edges it represents.
+     *
+     * @return the collapsed graph
+     */
+    public DOTGraph toDOTGraph() {
+        int[] sizes = new int[clusterCount];
+        int[] internal = new int[clusterCount];
+        for (int c : clusterOf) {
+            sizes[c]++;
+        }
+
+        // Count edges per ordered cluster pair
+        Map<Long, Integer> counts = new HashMap<>();
+        int[] outOffsets = snapshot.outOffsets();
+        int[] outTargets = snapshot.outTargets();
+        for (int v = 0; v < clusterOf.length; v++) {
+            for (int i = outOffsets[v]; i < outOffsets[v + 1]; i++) {
+                int from = clusterOf[v];
+                int to = clusterOf[outTargets[i]];
+                if (from == to) {
+                    internal[from]++;
+                } else {
+                    counts.merge(((long) from << 32) | to, 1, Integer::sum);
+                }
+            }
+        }
+
+        DOTGraph summary = new DOTGraph();
+        for (int c = 0; c < clusterCount; c++) {
+            String name = clusterName(c);
+            summary.getGraph().addVertex(name);
+            summary.setNodeAttribute(name, "label", name + " (" + sizes[c] + ")");
+            summary.setNodeAttribute(name, "size", Integer.toString(sizes[c]));
+            summary.setNodeAttribute(name, "internalEdges", Integer.toString(internal[c]));
+        }
+        for (Map.Entry<Long, Integer> entry : counts.entrySet()) {
+            String from = clusterName((int) (entry.getKey() >>> 32));
+            String to = clusterName((int) (long) entry.getKey());
+            summary.getGraph().addEdge(from, to);
+            summary.setEdgeAttribute(from, to, "count", Integer.toString(entry.getValue()));
+        }
+        return summary;
+    }
+
+    /**
+     * Expand one group back into its original nodes and the edges between them
+     *
+     * @param cluster the cluster id
+     * @return the group as its own graph, with the original attributes
+     * @throws IllegalArgumentException if the cluster id is out of range
+     */
+    public DOTGraph drillDown(int cluster) {
+        if (cluster < 0 || cluster >= clusterCount) {
+            throw new IllegalArgumentException("Error: Cluster " + cluster + " does not exist.");
+        }
+        return source.inducedSubgraph(members(cluster));
+    }
+
+    /**
+     * Export the collapsed graph in DOT format
+     *
+     * @param path the path where to save the DOT file
+     * @return true if successful, false otherwise
+     */
+    public boolean outputDOTGraph(String path) {
+        return toDOTGraph().outputDOTGraph(path);
+    }
+
+    /**
+     * Render the collapsed graph as an image
+     *
+     * @param path the path where to save the graphics file
+     * @param format the format of the graphics file (e.g., "png")
+     * @return true if successful, false otherwise
+     */
+    public boolean outputGraphics(String path, String format) {
+        return toDOTGraph().outputGraphics(path, format);
+    }
+}
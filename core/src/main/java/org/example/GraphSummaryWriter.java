@@ -0,0 +1,229 @@
+package org.example;
+
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultEdge;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Writes the human-readable graph summary (the format of {@link DOTGraph#toString()})
+ * to a {@link Writer} without assembling it in memory first. Lines are collected in
+ * a fixed-size chunk buffer that is handed to the writer whenever it fills up, so
+ * memory stays flat however large the graph is.
+ */
+public class GraphSummaryWriter {
+    // Characters buffered before a chunk is passed on to the writer
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private final Writer out;
+    private final StringBuilder chunk = new StringBuilder(CHUNK_SIZE + 256);
+
+    /**
+     * Create a summary writer
+     *
+     * @param out the destination
+     */
+    public GraphSummaryWriter(Writer out) {
+        this.out = out;
+    }
+
+    /**
+     * Write the full summary
+     *
+     * @param dotGraph the graph to describe
+     * @throws IOException if writing fails
+     */
+    public void write(DOTGraph dotGraph) throws IOException {
+        write(dotGraph, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Write the summary, listing at most maxEntries nodes and maxEntries edges
+     *
+     * @param dotGraph the graph to describe
+     * @param maxEntries the maximum number of nodes and of edges to list
+     * @throws IOException if writing fails
+     */
+    public void write(DOTGraph dotGraph, int maxEntries) throws IOException {
+        Graph<String, DefaultEdge> graph = dotGraph.getGraph();
+        writeHeader(dotGraph);
+
+        chunk.append("Nodes:\n");
+        int listed = 0;
+        for (String vertex : graph.vertexSet()) {
+            if (listed++ == maxEntries) {
+                chunk.append("  ... (").append(graph.vertexSet().size() - maxEntries).append(" more nodes)\n");
+                break;
+            }
+            appendNode(dotGraph, vertex);
+        }
+
+        chunk.append("\nEdges:\n");
+        listed = 0;
+        for (DefaultEdge edge : graph.edgeSet()) {
+            if (listed++ == maxEntries) {
+                chunk.append("  ... (").append(graph.edgeSet().size() - maxEntries).append(" more edges)\n");
+                break;
+            }
+            appendEdge(graph, edge);
+        }
+
+        flush();
+    }
+
+    /**
+     * Write the counts at the top of the summary
+     */
+    private void writeHeader(DOTGraph dotGraph) throws IOException {
+        chunk.append("Graph Summary:\n");
+        chunk.append("Number of nodes: ").append(dotGraph.getVertexCount()).append("\n");
+        chunk.append("Number of edges: ").append(dotGraph.getEdgeCount()).append("\n\n");
+    }
+
+    private void appendNode(DOTGraph dotGraph, String vertex) throws IOException {
+        chunk.append("  ").append(vertex);
+
+        // Add label if available, without surrounding quotes
+        Map<String, String> attributes = dotGraph.nodeAttributes(vertex);
+        String label = attributes == null ? null : attributes.get("label");
+        if (label != null) {
+            if (label.startsWith("\"") && label.endsWith("\"")) {
+                chunk.append(" [label=").append(label, 1, label.length() - 1).append("]");
+            } else {
+                chunk.append(" [label=").append(label).append("]");
+            }
+        }
+
+        chunk.append("\n");
+        flushIfFull();
+    }
+
+    private void appendEdge(Graph<String, DefaultEdge> graph, DefaultEdge edge) throws IOException {
+        chunk.append("  ").append(graph.getEdgeSource(edge))
+                .append(" -> ").append(graph.getEdgeTarget(edge)).append("\n");
+        flushIfFull();
+    }
+
+    private void flushIfFull() throws IOException {
+        if (chunk.length() >= CHUNK_SIZE) {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException {
+        out.append(chunk);
+        chunk.setLength(0);
+    }
+
+    /**
+     * Write the summary split across several files, written in parallel. The nodes
+     * and edges are divided into contiguous slices; part 0 also carries the header
+     * counts. Files are named basePath.part0, basePath.part1, ... Each part walks the
+     * node and edge sets from the start up to its slice instead of copying them, so
+     * memory stays flat; skipping only follows links and costs little next to
+     * formatting.
+     *
+     * @param dotGraph the graph to describe
+     * @param basePath the path prefix of the part files
+     * @param partitions the number of part files
+     * @return the paths of the written files
+     * @throws IOException if any part fails to write
+     */
+    public static List<String> writePartitioned(DOTGraph dotGraph, String basePath, int partitions)
+            throws IOException {
+        if (partitions < 1) {
+            throw new IllegalArgumentException("Error: Number of partitions must be positive.");
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(
+                Math.min(partitions, Runtime.getRuntime().availableProcessors()));
+        try {
+            List<String> paths = new ArrayList<>();
+            List<Future<?>> parts = new ArrayList<>();
+            for (int p = 0; p < partitions; p++) {
+                final int part = p;
+                String path = basePath + ".part" + p;
+                paths.add(path);
+                parts.add(pool.submit(() -> {
+                    try (BufferedWriter writer = Files.newBufferedWriter(Paths.get(path), StandardCharsets.UTF_8)) {
+                        new GraphSummaryWriter(writer).writePart(dotGraph, part, partitions);
+                    }
+                    return null;
+                }));
+            }
+
+            for (Future<?> part : parts) {
+                part.get();
+            }
+            return paths;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while writing summary", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Write one slice of the nodes and edges
+     */
+    private void writePart(DOTGraph dotGraph, int part, int partitions) throws IOException {
+        if (part == 0) {
+            writeHeader(dotGraph);
+        }
+        Graph<String, DefaultEdge> graph = dotGraph.getGraph();
+
+        chunk.append("Nodes:\n");
+        Set<String> vertices = graph.vertexSet();
+        int from = sliceStart(vertices.size(), part, partitions);
+        int to = sliceStart(vertices.size(), part + 1, partitions);
+        Iterator<String> vertexIterator = skip(vertices.iterator(), from);
+        for (int i = from; i < to; i++) {
+            appendNode(dotGraph, vertexIterator.next());
+        }
+
+        chunk.append("\nEdges:\n");
+        Set<DefaultEdge> edges = graph.edgeSet();
+        from = sliceStart(edges.size(), part, partitions);
+        to = sliceStart(edges.size(), part + 1, partitions);
+        Iterator<DefaultEdge> edgeIterator = skip(edges.iterator(), from);
+        for (int i = from; i < to; i++) {
+            appendEdge(graph, edgeIterator.next());
+        }
+
+        flush();
+    }
+
+    /**
+     * Advance an iterator past the given number of elements
+     */
+    private static <T> Iterator<T> skip(Iterator<T> iterator, int count) {
+        for (int i = 0; i < count; i++) {
+            iterator.next();
+        }
+        return iterator;
+    }
+
+    private static int sliceStart(int total, int part, int partitions) {
+        return (int) ((long) total * part / partitions);
+    }
+}
@@ -0,0 +1,215 @@
+package org.example;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Remembers vertex positions between renders so that a graph does not have to be
+ * laid out from scratch after every change. Mutations mark the touched vertices as
+ * dirty; the next {@link #update} keeps every other vertex where it was and runs a
+ * short force relaxation over the dirty vertices and their direct neighbours only.
+ */
+public class LayoutCache {
+    // Relaxation budget after small changes
+    private static final int RELAX_ITERATIONS = 30;
+    // Above this share of dirty vertices a full layout is cheaper and looks better
+    private static final double FULL_LAYOUT_FRACTION = 0.5;
+
+    private final Map<String, double[]> positions = new HashMap<>();
+    private final Set<String> dirty = new HashSet<>();
+
+    /**
+     * Record that a vertex was added or had edges added or removed
+     *
+     * @param vertex the vertex
+     */
+    public void markDirty(String vertex) {
+        if (!positions.isEmpty()) {
+            dirty.add(vertex);
+        }
+    }
+
+    /**
+     * Forget the position of a removed vertex
+     *
+     * @param vertex the vertex
+     */
+    public void remove(String vertex) {
+        positions.remove(vertex);
+        dirty.remove(vertex);
+    }
+
+    /**
+     * Forget all positions, forcing a full layout next time
+     */
+    public void clear() {
+        positions.clear();
+        dirty.clear();
+    }
+
+    /**
+     * Get the cached position of a vertex
+     *
+     * @param vertex the vertex
+     * @return {x, y}, or null if the vertex has no position yet
+     */
+    public double[] positionOf(String vertex) {
+        double[] position = positions.get(vertex);
+        return position == null ? null : position.clone();
+    }
+
+    /**
+     * Produce a layout for the current graph, reusing cached positions where possible
+     *
+     * @param snapshot the current graph structure
+     * @param engine the engine used for full layouts and relaxation
+     * @return the layout
+     */
+    public GraphLayout update(GraphSnapshot snapshot, ForceDirectedLayout engine) {
+        int n = snapshot.vertexCount();
+
+        // Vertices that need to move: dirty ones and ones never laid out
+        boolean[] movable = new boolean[n];
+        int changed = 0;
+        for (int v = 0; v < n; v++) {
+            String vertex = snapshot.vertex(v);
+            if (dirty.contains(vertex) || !positions.containsKey(vertex)) {
+                movable[v] = true;
+                changed++;
+            }
+        }
+
+        if (positions.isEmpty() || changed > n * FULL_LAYOUT_FRACTION) {
+            GraphLayout layout = engine.compute(snapshot);
+            store(layout);
+            return layout;
+        }
+
+        double[] x = new double[n];
+        double[] y = new double[n];
+        boolean[] placed = new boolean[n];
+        for (int v = 0; v < n; v++) {
+            double[] position = positions.get(snapshot.vertex(v));
+            if (position != null) {
+                x[v] = position[0];
+                y[v] = position[1];
+                placed[v] = true;
+            }
+        }
+
+        if (changed > 0) {
+            placeNewVertices(snapshot, x, y, placed);
+
+            // Let direct neighbours of changed vertices adjust as well
+            boolean[] relax = movable.clone();
+            int[] outOffsets = snapshot.outOffsets();
+            int[] outTargets = snapshot.outTargets();
+            int[] inOffsets = snapshot.inOffsets();
+            int[] inSources = snapshot.inSources();
+            for (int v = 0; v < n; v++) {
+                if (movable[v]) {
+                    for (int i = outOffsets[v]; i < outOffsets[v + 1]; i++) {
+                        relax[outTargets[i]] = true;
+                    }
+                    for (int i = inOffsets[v]; i < inOffsets[v + 1]; i++) {
+                        relax[inSources[i]] = true;
+                    }
+                }
+            }
+
+            engine.run(snapshot, x, y, relax, RELAX_ITERATIONS, 1.0);
+        }
+
+        GraphLayout layout = new GraphLayout(snapshot, x, y);
+        store(layout);
+        return layout;
+    }
+
+    /**
+     * Put vertices without a position next to their already placed neighbours, or at
+     * a random spot inside the current layout if they have none
+     */
+    private void placeNewVertices(GraphSnapshot snapshot, double[] x, double[] y, boolean[] placed) {
+        int n = snapshot.vertexCount();
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (int v = 0; v < n; v++) {
+            if (placed[v]) {
+                minX = Math.min(minX, x[v]);
+                minY = Math.min(minY, y[v]);
+                maxX = Math.max(maxX, x[v]);
+                maxY = Math.max(maxY, y[v]);
+            }
+        }
+
+        Random random = new Random(n);
+        int[] outOffsets = snapshot.outOffsets();
+        int[] outTargets = snapshot.outTargets();
+        int[] inOffsets = snapshot.inOffsets();
+        int[] inSources = snapshot.inSources();
+        for (int v = 0; v < n; v++) {
+            if (placed[v]) {
+                continue;
+            }
+
+            double sx = 0;
+            double sy = 0;
+            int count = 0;
+            for (int i = outOffsets[v]; i < outOffsets[v + 1]; i++) {
+                if (placed[outTargets[i]]) {
+                    sx += x[outTargets[i]];
+                    sy += y[outTargets[i]];
+                    count++;
+                }
+            }
+            for (int i = inOffsets[v]; i < inOffsets[v + 1]; i++) {
+                if (placed[inSources[i]]) {
+                    sx += x[inSources[i]];
+                    sy += y[inSources[i]];
+                    count++;
+                }
+            }
+
+            if (count > 0) {
+                x[v] = sx / count + random.nextDouble() - 0.5;
+                y[v] = sy / count + random.nextDouble() - 0.5;
+            } else {
+                x[v] = minX + random.nextDouble() * (maxX - minX);
+                y[v] = minY + random.nextDouble() * (maxY - minY);
+            }
+            placed[v] = true;
+        }
+    }
+
+    private void store(GraphLayout layout) {
+        GraphSnapshot snapshot = layout.getSnapshot();
+        double[] x = layout.x();
+        double[] y = layout.y();
+        for (int v = 0; v < snapshot.vertexCount(); v++) {
+            double[] position = positions.get(snapshot.vertex(v));
+            if (position == null) {
+                positions.put(snapshot.vertex(v), new double[]{x[v], y[v]});
+            } else {
+                position[0] = x[v];
+                position[1] = y[v];
+            }
+        }
+        dirty.clear();
+    }
+
+    /**
+     * Estimate the heap used by the cached positions
+     *
+     * @return the size in bytes
+     */
+    long estimatedBytes() {
+        return MemoryReport.object(2, 0)
+                + MemoryReport.hashMap(positions.size()) + positions.size() * MemoryReport.array(2, 8)
+                + MemoryReport.HASH_SET + MemoryReport.hashMap(dirty.size());
+    }
+}
@@ -0,0 +1,187 @@
+package org.example;
+
+//TIP To <b>Run</b> code, press <shortcut actionId="Run"/> or
+// click the <icon src="AllIcons.Actions.Execute"/> icon in the gutter.
+/**
+ * Main class to test the DOTGraph implementation
+ */
+public class Main {
+    /**
+     * Main method for testing the DOTGraph class. With the arguments
+     * "serve &lt;file.dot&gt; &lt;port | socket-path&gt; [export-dir]" it instead loads the
+     * graph once and serves it with {@link GraphServer} until the process is stopped.
+     * With
+     * "batch [script]" it runs a command script, or standard input, with
+     * {@link ScriptRunner}. With "diff &lt;before.dot&gt; &lt;after.dot&gt;" it prints the
+     * {@link GraphDiff} between two files.
+     *
+     * @param args command-line arguments
+     */
+    public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("serve")) {
+            serve(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("batch")) {
+            batch(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("diff")) {
+            diff(args);
+            return;
+        }
+
+        // Test file path - replace with an actual path to test
+        String testFilePath = "test.dot";
+        String outputFilePath = "output.txt";
+
+        // Create a new DOTGraph instance
+        DOTGraph dotGraph = new DOTGraph();
+
+        // Parse the graph
+        System.out.println("Parsing graph from: " + testFilePath);
+        boolean success = dotGraph.parseGraph(testFilePath);
+
+        if (success) {
+            // Print graph information
+            System.out.println("\nGraph parsed successfully!");
+            System.out.println(dotGraph);
+
+            // Test Feature 2: Adding nodes
+            System.out.println("\n==== Testing Feature 2: Adding Nodes ====");
+
+            // Test adding a single node
+            System.out.println("\nAdding a single node:");
+            dotGraph.addNode("NewNode1");
+
+            // Test adding a duplicate node (should fail)
+            System.out.println("\nAttempting to add a duplicate node:");
+            dotGraph.addNode("NewNode1");
+
+            // Test adding multiple nodes
+            System.out.println("\nAdding multiple nodes:");
+            String[] nodesToAdd = {"NewNode2", "NewNode3", "NewNode4"};
+            int nodesAdded = dotGraph.addNodes(nodesToAdd);
+            System.out.println("Successfully added " + nodesAdded + " nodes out of " + nodesToAdd.length);
+
+            // Test adding a mix of new and duplicate nodes
+            System.out.println("\nAdding a mix of new and duplicate nodes:");
+            String[] mixedNodes = {"NewNode1", "NewNode5", "NewNode3", "NewNode6"};
+            nodesAdded = dotGraph.addNodes(mixedNodes);
+            System.out.println("Successfully added " + nodesAdded + " nodes out of " + mixedNodes.length);
+
+            // Test Feature 3: Adding edges
+            System.out.println("\n==== Testing Feature 3: Adding Edges ====");
+
+            // Test adding an edge between existing nodes
+            System.out.println("\nAdding edge between existing nodes:");
+            dotGraph.addEdge("NewNode1", "NewNode2");
+
+            // Test adding another edge
+            System.out.println("\nAdding another edge:");
+            dotGraph.addEdge("NewNode2", "NewNode3");
+
+            // Test adding a duplicate edge (should fail)
+            System.out.println("\nAttempting to add a duplicate edge:");
+            dotGraph.addEdge("NewNode1", "NewNode2");
+
+            // Test adding an edge with non-existent source node
+            System.out.println("\nAttempting to add an edge with non-existent source:");
+            dotGraph.addEdge("NonExistentNode", "NewNode3");
+
+            // Test adding an edge with non-existent destination node
+            System.out.println("\nAttempting to add an edge with non-existent destination:");
+            dotGraph.addEdge("NewNode1", "NonExistentNode");
+
+            // Print updated graph information
+            System.out.println("\nUpdated graph information:");
+            System.out.println(dotGraph);
+
+            // Output to a file
+            System.out.println("Writing graph information to: " + outputFilePath);
+            dotGraph.outputGraph(outputFilePath);
+
+            System.out.println("Done!");
+        } else {
+            System.out.println("Failed to parse the graph.");
+        }
+    }
+
+    /**
+     * Run the graph server: a numeric address is a loopback TCP port, anything
+     * else is the path of a Unix domain socket. EXPORT is only enabled when an
+     * export directory is given.
+     *
+     * @param args "serve", the DOT file, the address and optionally the export directory
+     */
+    private static void serve(String[] args) {
+        if (args.length != 3 && args.length != 4) {
+            System.err.println("Usage: serve <file.dot> <port | socket-path> [export-dir]");
+            return;
+        }
+
+        DOTGraph dotGraph = new DOTGraph();
+        if (!dotGraph.parseGraph(args[1])) {
+            System.err.println("Failed to parse the graph.");
+            return;
+        }
+
+        GraphServer server = new GraphServer(dotGraph,
+                args.length == 4 ? java.nio.file.Paths.get(args[3]) : null);
+        try {
+            if (args[2].matches("\\d+")) {
+                server.startTcp(Integer.parseInt(args[2]));
+            } else {
+                server.startUnix(java.nio.file.Paths.get(args[2]));
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+            System.out.println("Serving " + dotGraph.getVertexCount() + " nodes on " + server.getLocalAddress());
+            Thread.currentThread().join();
+        } catch (java.io.IOException e) {
+            System.err.println("Error starting server: " + e.getMessage());
+        } catch (InterruptedException e) {
+            server.close();
+        }
+    }
+
+    /**
+     * Run a command script against one graph and report throughput
+     *
+     * @param args "batch" and optionally the script path; standard input otherwise
+     */
+    private static void batch(String[] args) {
+        try (ScriptRunner runner = new ScriptRunner(new DOTGraph(), System.out)) {
+            ScriptRunner.Summary summary = args.length > 1
+                    ? runner.run(args[1])
+                    : runner.run(new java.io.InputStreamReader(System.in, java.nio.charset.StandardCharsets.UTF_8));
+            System.out.println(summary);
+        } catch (java.io.IOException e) {
+            System.err.println("Error reading script: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Print the changes between two DOT files, one per line, then a summary
+     *
+     * @param args "diff", the first file and the second file
+     */
+    private static void diff(String[] args) {
+        if (args.length != 3) {
+            System.err.println("Usage: diff <before.dot> <after.dot>");
+            return;
+        }
+
+        GraphDiff diff = GraphDiff.compareFiles(args[1], args[2]);
+        if (diff == null) {
+            System.err.println("Failed to parse the graphs.");
+            return;
+        }
+        try {
+            java.io.Writer out = new java.io.OutputStreamWriter(System.out, java.nio.charset.StandardCharsets.UTF_8);
+            diff.write(out);
+        } catch (java.io.IOException e) {
+            System.err.println("Error writing diff: " + e.getMessage());
+        }
+        System.out.println(diff);
+    }
+}
@@ -0,0 +1,219 @@
+package org.example;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+
+/**
+ * An estimate of the heap used by one {@link DOTGraph}, broken down by structure.
+ * Sizes come from a model of the HotSpot object layout (object headers, reference
+ * width, 8-byte alignment, and the internals of HashMap, ArrayList and TreeMap)
+ * applied to the element counts of each structure, so building a report walks the
+ * graph once without reflection or a heap dump. Figures are estimates: spare
+ * capacity left behind by removals and strings shared with other objects are not
+ * seen, and strings reached from several structures are counted in each.
+ *
+ * Structures:
+ * <ul>
+ *     <li>vertices: the vertex map, per-vertex edge containers and vertex names</li>
+ *     <li>adjacency: edge objects, the edge map, incoming and outgoing edge lists,
+ *     and JGraphT's vertex-pair lookup map</li>
+ *     <li>vertexAttributes, edgeAttributes: the attribute maps</li>
+ *     <li>attributeStrings: attribute names and values</li>
+ *     <li>attributeIndexes, topologicalOrder, layoutCache: optional indexes and caches</li>
+ * </ul>
+ */
+public class MemoryReport {
+    // Object layout of the running JVM
+    static final boolean COMPRESSED_OOPS = compressedOops();
+    static final int REFERENCE = COMPRESSED_OOPS ? 4 : 8;
+    static final int HEADER = COMPRESSED_OOPS ? 12 : 16;
+    static final int ARRAY_HEADER = 16;
+
+    // Shallow sizes of the JDK collection classes in use
+    static final long HASH_MAP = object(4, 16);
+    static final long LINKED_HASH_MAP = object(6, 17);
+    static final long HASH_MAP_NODE = object(3, 4);
+    static final long LINKED_HASH_MAP_ENTRY = object(5, 4);
+    static final long TREE_MAP_ENTRY = object(5, 1);
+    static final long HASH_SET = object(1, 0);
+    static final long ARRAY_LIST = object(1, 8);
+    static final long INTEGER = object(0, 4);
+
+    private final int vertexCount;
+    private final int edgeCount;
+    private final Map<String, Long> bytes;
+
+    MemoryReport(int vertexCount, int edgeCount, Map<String, Long> bytes) {
+        this.vertexCount = vertexCount;
+        this.edgeCount = edgeCount;
+        this.bytes = Collections.unmodifiableMap(new LinkedHashMap<>(bytes));
+    }
+
+    private static boolean compressedOops() {
+        try {
+            HotSpotDiagnosticMXBean bean = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+            return Boolean.parseBoolean(bean.getVMOption("UseCompressedOops").getValue());
+        } catch (RuntimeException | LinkageError e) {
+            // Not HotSpot; compressed references are the common case below 32 GB
+            return true;
+        }
+    }
+
+    /**
+     * Round a size up to the 8-byte object alignment
+     */
+    static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+
+    /**
+     * Get the shallow size of an object
+     *
+     * @param references the number of reference fields
+     * @param primitiveBytes the total size of the primitive fields
+     */
+    static long object(int references, int primitiveBytes) {
+        return align(HEADER + (long) references * REFERENCE + primitiveBytes);
+    }
+
+    /**
+     * Get the size of an array
+     *
+     * @param length the array length
+     * @param elementBytes the size of one element
+     */
+    static long array(long length, int elementBytes) {
+        return align(ARRAY_HEADER + length * elementBytes);
+    }
+
+    /**
+     * Get the size of a string and its backing array, assuming compact strings
+     */
+    static long string(String s) {
+        boolean latin1 = true;
+        for (int i = 0; i < s.length() && latin1; i++) {
+            latin1 = s.charAt(i) < 256;
+        }
+        return object(1, 6) + array(latin1 ? s.length() : 2L * s.length(), 1);
+    }
+
+    /**
+     * Get the size of a HashMap's bucket table; empty maps have none
+     */
+    static long hashTable(int size) {
+        if (size == 0) {
+            return 0;
+        }
+        int capacity = 16;
+        while (size > capacity * 3L / 4) {
+            capacity <<= 1;
+        }
+        return array(capacity, REFERENCE);
+    }
+
+    /**
+     * Get the size of a HashMap with its table and entry nodes, but not its keys or values
+     */
+    static long hashMap(int size) {
+        return HASH_MAP + hashTable(size) + size * HASH_MAP_NODE;
+    }
+
+    /**
+     * Get the size of an ArrayList-backed collection that started with capacity 1
+     * and grew by half each time it filled up
+     */
+    static long growableList(int size) {
+        int capacity = 1;
+        while (capacity < size) {
+            capacity += Math.max(1, capacity >> 1);
+        }
+        return ARRAY_LIST + array(capacity, REFERENCE);
+    }
+
+    /**
+     * Get the estimated size of each structure
+     *
+     * @return structure name -> bytes, in the order listed in the class comment
+     */
+    public Map<String, Long> getBytesByStructure() {
+        return bytes;
+    }
+
+    /**
+     * Get the estimated size of one structure
+     *
+     * @param structure the structure name
+     * @return the size in bytes, or 0 for an unknown structure
+     */
+    public long getBytes(String structure) {
+        return bytes.getOrDefault(structure, 0L);
+    }
+
+    /**
+     * Get the estimated size of the whole graph
+     *
+     * @return the size in bytes
+     */
+    public long getTotalBytes() {
+        long total = 0;
+        for (long size : bytes.values()) {
+            total += size;
+        }
+        return total;
+    }
+
+    /**
+     * Get the number of vertices when the report was taken
+     *
+     * @return the vertex count
+     */
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    /**
+     * Get the number of edges when the report was taken
+     *
+     * @return the edge count
+     */
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Get the cost of one vertex: the vertex structure plus its attributes
+     *
+     * @return bytes per vertex, or 0 for an empty graph
+     */
+    public double getBytesPerVertex() {
+        long perVertex = getBytes("vertices") + getBytes("vertexAttributes");
+        return vertexCount == 0 ? 0 : (double) perVertex / vertexCount;
+    }
+
+    /**
+     * Get the cost of one edge: the adjacency structures plus edge attributes
+     *
+     * @return bytes per edge, or 0 for a graph without edges
+     */
+    public double getBytesPerEdge() {
+        long perEdge = getBytes("adjacency") + getBytes("edgeAttributes");
+        return edgeCount == 0 ? 0 : (double) perEdge / edgeCount;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Graph memory (estimated): %d vertices, %d edges, %,d bytes%n",
+                vertexCount, edgeCount, getTotalBytes()));
+        for (Map.Entry<String, Long> entry : bytes.entrySet()) {
+            sb.append(String.format("  %-18s %,14d bytes%n", entry.getKey(), entry.getValue()));
+        }
+        sb.append(String.format("  %.1f bytes per vertex, %.1f bytes per edge",
+                getBytesPerVertex(), getBytesPerEdge()));
+        return sb.toString();
+    }
+}
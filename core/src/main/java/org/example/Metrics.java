@@ -0,0 +1,172 @@
+package org.example;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Process-wide latency metrics for DOTGraph operations. Each operation name gets a
+ * {@link LatencyHistogram}, created on first use and registered over JMX under
+ * org.example:type=Metrics. Timing a call looks like
+ *
+ * <pre>
+ *     long start = Metrics.start();
+ *     ...
+ *     Metrics.record("parseGraph", start);
+ * </pre>
+ *
+ * When metrics are disabled (setEnabled(false), or -Ddotgraph.metrics=false at
+ * startup) start() returns 0 without reading the clock and record() returns
+ * immediately, so the cost is one volatile read per call.
+ */
+public final class Metrics {
+    private static final String DOMAIN = "org.example:type=Metrics,name=";
+
+    private static volatile boolean enabled =
+            Boolean.parseBoolean(System.getProperty("dotgraph.metrics", "true"));
+
+    private static final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    private Metrics() {
+    }
+
+    /**
+     * Check whether metrics are being recorded
+     *
+     * @return true if enabled
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Turn recording on or off. Recorded values are kept while disabled.
+     *
+     * @param on true to record
+     */
+    public static void setEnabled(boolean on) {
+        enabled = on;
+    }
+
+    /**
+     * Start timing an operation
+     *
+     * @return the start time to pass to record(), or 0 if metrics are disabled
+     */
+    public static long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Finish timing an operation
+     *
+     * @param operation the operation name
+     * @param start the value returned by start()
+     */
+    public static void record(String operation, long start) {
+        if (start != 0) {
+            histogram(operation).record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Get the histogram of an operation, creating and registering it if needed
+     *
+     * @param operation the operation name
+     * @return the histogram
+     */
+    public static LatencyHistogram histogram(String operation) {
+        LatencyHistogram histogram = histograms.get(operation);
+        if (histogram != null) {
+            return histogram;
+        }
+        return histograms.computeIfAbsent(operation, name -> {
+            LatencyHistogram created = new LatencyHistogram();
+            register(name, created);
+            return created;
+        });
+    }
+
+    /**
+     * Get the names of all operations recorded so far
+     *
+     * @return the operation names, sorted
+     */
+    public static Set<String> operations() {
+        return new TreeSet<>(histograms.keySet());
+    }
+
+    /**
+     * Discard all recorded values; histograms stay registered
+     */
+    public static void reset() {
+        for (LatencyHistogram histogram : histograms.values()) {
+            histogram.reset();
+        }
+    }
+
+    private static void register(String operation, LatencyHistogram histogram) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(DOMAIN + ObjectName.quote(operation));
+            if (!server.isRegistered(name)) {
+                server.registerMBean(new OperationMetrics(histogram), name);
+            }
+        } catch (JMException | SecurityException e) {
+            // Metrics still work without JMX
+            System.err.println("Error registering metrics for " + operation + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Adapts a histogram to its JMX interface
+     */
+    private static final class OperationMetrics implements OperationMetricsMXBean {
+        private final LatencyHistogram histogram;
+
+        OperationMetrics(LatencyHistogram histogram) {
+            this.histogram = histogram;
+        }
+
+        @Override
+        public long getCount() {
+            return histogram.getCount();
+        }
+
+        @Override
+        public double getMeanMicros() {
+            return histogram.getMean() / 1000.0;
+        }
+
+        @Override
+        public double getP50Micros() {
+            return histogram.getValueAtPercentile(50) / 1000.0;
+        }
+
+        @Override
+        public double getP99Micros() {
+            return histogram.getValueAtPercentile(99) / 1000.0;
+        }
+
+        @Override
+        public double getP999Micros() {
+            return histogram.getValueAtPercentile(99.9) / 1000.0;
+        }
+
+        @Override
+        public double getMaxMicros() {
+            return histogram.getMax() / 1000.0;
+        }
+
+        @Override
+        public void reset() {
+            histogram.reset();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package org.example;
+
+/**
+ * JMX view of the latency statistics of one operation, registered by
+ * {@link Metrics} as org.example:type=Metrics,name=&lt;operation&gt;
+ */
+public interface OperationMetricsMXBean {
+    /**
+     * @return the number of timed calls
+     */
+    long getCount();
+
+    /**
+     * @return the mean latency in microseconds
+     */
+    double getMeanMicros();
+
+    /**
+     * @return the median latency in microseconds
+     */
+    double getP50Micros();
+
+    /**
+     * @return the 99th percentile latency in microseconds
+     */
+    double getP99Micros();
+
+    /**
+     * @return the 99.9th percentile latency in microseconds
+     */
+    double getP999Micros();
+
+    /**
+     * @return the largest latency in microseconds
+     */
+    double getMaxMicros();
+
+    /**
+     * Discard the recorded values
+     */
+    void reset();
+}
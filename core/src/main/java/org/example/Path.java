@@ -0,0 +1,241 @@
+package org.example;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+
+/**
+ * A path through the graph, stored as a chain of immutable links that point back
+ * to their predecessor. Paths that extend a common prefix share that prefix instead
+ * of copying it, so extending or copying a path is O(1).
+ */
+public class Path {
+    /**
+     * One node of the path plus a pointer to the rest of the path before it.
+     * Links are never modified after construction, so they can be shared freely.
+     */
+    private static final class Link {
+        private final Link prev;
+        private final String node;
+        private final int length;
+
+        private Link(Link prev, String node) {
+            this.prev = prev;
+            this.node = node;
+            this.length = prev == null ? 1 : prev.length + 1;
+        }
+    }
+
+    private Link tail;
+
+    // Lazily computed views, reset whenever the path is extended in place. The array
+    // is filled after it is allocated, so it is volatile to keep another thread reading
+    // a shared path from seeing it half filled. Strings and ints are safe to publish
+    // racily, like String.hashCode: a thread at worst computes them again.
+    private volatile String[] nodeArray;
+    private String cachedString;
+    private int cachedHash;
+
+    public Path() {
+        tail = null;
+    }
+
+    /**
+     * Creates a path with a single node
+     *
+     * @param startNode the initial node in the path
+     */
+    public Path(String startNode) {
+        tail = new Link(null, startNode);
+    }
+
+    /**
+     * Creates a path from a list of nodes
+     *
+     * @param nodes the list of nodes in the path
+     */
+    public Path(List<String> nodes) {
+        Link link = null;
+        for (String node : nodes) {
+            link = new Link(link, node);
+        }
+        tail = link;
+    }
+
+    /**
+     * Create a copy of an existing path. The copy shares the nodes of the
+     * original, so this does not depend on the path length.
+     *
+     * @param other the path to copy
+     */
+    public Path(Path other) {
+        this.tail = other.tail;
+        this.nodeArray = other.nodeArray;
+        this.cachedString = other.cachedString;
+        this.cachedHash = other.cachedHash;
+    }
+
+    private Path(Link tail) {
+        this.tail = tail;
+    }
+
+    /**
+     * Adds a node to the end of the path
+     *
+     * @param node the node to add
+     */
+    public void addNode(String node) {
+        tail = new Link(tail, node);
+        nodeArray = null;
+        cachedString = null;
+        cachedHash = 0;
+    }
+
+    /**
+     * Returns a new path that extends this one by a single node. This path is
+     * left unchanged and both paths share the common prefix.
+     *
+     * @param node the node to append
+     * @return the extended path
+     */
+    public Path append(String node) {
+        return new Path(new Link(tail, node));
+    }
+
+    /**
+     * Gets all nodes in the path
+     *
+     * @return an unmodifiable list of nodes in order
+     */
+    public List<String> getNodes() {
+        return new NodeList(toArray());
+    }
+
+    /**
+     * Gets the last node in the path
+     *
+     * @return the last node
+     */
+    public String getLastNode() {
+        if (tail == null) {
+            return null;
+        }
+        return tail.node;
+    }
+
+    /**
+     * Gets the number of nodes in the path
+     *
+     * @return the path length
+     */
+    public int length() {
+        return tail == null ? 0 : tail.length;
+    }
+
+    /**
+     * Checks if the path is empty
+     *
+     * @return true if the path has no nodes
+     */
+    public boolean isEmpty() {
+        return tail == null;
+    }
+
+    /**
+     * Walk the link chain once and cache the nodes in path order
+     *
+     * @return the nodes of the path, first to last
+     */
+    private String[] toArray() {
+        String[] array = nodeArray;
+        if (array == null) {
+            array = new String[length()];
+            for (Link link = tail; link != null; link = link.prev) {
+                array[link.length - 1] = link.node;
+            }
+            nodeArray = array;
+        }
+        return array;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Path)) {
+            return false;
+        }
+        Link a = tail;
+        Link b = ((Path) o).tail;
+        if (length() != ((Path) o).length()) {
+            return false;
+        }
+        // Stop early as soon as both paths reach a shared prefix
+        while (a != b) {
+            if (!a.node.equals(b.node)) {
+                return false;
+            }
+            a = a.prev;
+            b = b.prev;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int h = cachedHash;
+        if (h == 0 && tail != null) {
+            h = 1;
+            for (String node : toArray()) {
+                h = 31 * h + node.hashCode();
+            }
+            cachedHash = h;
+        }
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        if (tail == null) {
+            return "Empty path";
+        }
+
+        String result = cachedString;
+        if (result == null) {
+            String[] array = toArray();
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < array.length; i++) {
+                sb.append(array[i]);
+                if (i < array.length - 1) {
+                    sb.append(" -> ");
+                }
+            }
+            result = sb.toString();
+            cachedString = result;
+        }
+        return result;
+    }
+
+    /**
+     * Read-only list view over the cached node array, handed out without copying
+     */
+    private static final class NodeList extends AbstractList<String> implements RandomAccess {
+        private final String[] nodes;
+
+        private NodeList(String[] nodes) {
+            this.nodes = nodes;
+        }
+
+        @Override
+        public String get(int index) {
+            return nodes[index];
+        }
+
+        @Override
+        public int size() {
+            return nodes.length;
+        }
+    }
+}
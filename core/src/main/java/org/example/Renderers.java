@@ -0,0 +1,43 @@
+package org.example;
+
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * Finds the {@link GraphRenderer} on first use. The holder class is only
+ * initialized when an image is requested, so the service lookup and the classes
+ * it loads cost nothing for processes that never render. When several renderers
+ * are installed, -Ddotgraph.renderer=name picks one; otherwise the first is used.
+ */
+final class Renderers {
+    private Renderers() {
+    }
+
+    private static final class Holder {
+        private static final GraphRenderer RENDERER = load();
+    }
+
+    private static GraphRenderer load() {
+        String wanted = System.getProperty("dotgraph.renderer");
+        try {
+            for (GraphRenderer renderer : ServiceLoader.load(GraphRenderer.class, Renderers.class.getClassLoader())) {
+                if (wanted == null || wanted.equals(renderer.getName())) {
+                    return renderer;
+                }
+            }
+        } catch (ServiceConfigurationError | LinkageError e) {
+            // The provider is listed but its libraries are missing
+            System.err.println("Error loading graph renderer: " + e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Get the renderer
+     *
+     * @return the first renderer found, or null if none is available
+     */
+    static GraphRenderer get() {
+        return Holder.RENDERER;
+    }
+}
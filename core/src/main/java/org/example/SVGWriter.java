@@ -0,0 +1,327 @@
+package org.example;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Writes a {@link GraphLayout} as SVG straight to a {@link Writer}, one element per
+ * line, without building a document tree. Only content inside the viewport is
+ * written, and content that would not be visible at the output scale is dropped:
+ * nodes that land on a pixel already holding a node, edges shorter than a pixel,
+ * and edges whose endpoints fall into the same bundling cells as an edge already
+ * written. The size of the file therefore depends on what can actually be seen, not
+ * on the size of the graph. Without a {@link SpatialGrid} every node and edge is
+ * still checked against the viewport, so writing takes time linear in the graph;
+ * given a grid of the layout only the cells overlapping the viewport are visited.
+ */
+public class SVGWriter {
+    // Pixels between the viewport border and the canvas border
+    private static final int MARGIN = 20;
+    private static final String NEWLINE = System.lineSeparator();
+    private static final String EDGE_COLOR = DrawingStyle.toHex(DrawingStyle.EDGE_RGB);
+    private static final String NODE_COLOR = DrawingStyle.toHex(DrawingStyle.NODE_RGB);
+
+    private final Writer out;
+    private final int maxSize;
+    private final double pixelsPerUnit;
+
+    private double[] viewport;
+    private double nodeResolution = 1;
+    private double edgeBundling = 2;
+
+    /**
+     * Create a writer; the caller should pass a buffered writer and close it afterwards
+     *
+     * @param out the destination
+     * @param maxSize the largest width or height of the canvas in pixels
+     * @param pixelsPerUnit how many pixels one layout unit spans at most
+     */
+    public SVGWriter(Writer out, int maxSize, double pixelsPerUnit) {
+        this.out = out;
+        this.maxSize = maxSize;
+        this.pixelsPerUnit = pixelsPerUnit;
+    }
+
+    /**
+     * Restrict the output to a region of the layout. The canvas is scaled to the
+     * viewport, so a smaller viewport shows more detail.
+     *
+     * @param minX the left edge in layout units
+     * @param minY the top edge in layout units
+     * @param maxX the right edge in layout units
+     * @param maxY the bottom edge in layout units
+     */
+    public void setViewport(double minX, double minY, double maxX, double maxY) {
+        if (maxX < minX || maxY < minY) {
+            throw new IllegalArgumentException("Error: Viewport must not have negative size.");
+        }
+        this.viewport = new double[]{minX, minY, maxX, maxY};
+    }
+
+    /**
+     * Set the size of the pixel cell in which at most one node is drawn
+     *
+     * @param pixels the cell size; 0 draws every node
+     */
+    public void setNodeResolution(double pixels) {
+        this.nodeResolution = pixels;
+    }
+
+    /**
+     * Set the size of the cells edge endpoints are snapped to; of all edges joining
+     * the same two cells only the first is drawn
+     *
+     * @param pixels the cell size, at least 1; 0 draws every edge
+     */
+    public void setEdgeBundling(double pixels) {
+        if (pixels != 0 && pixels < 1) {
+            throw new IllegalArgumentException("Error: Edge bundling cells must be at least one pixel.");
+        }
+        this.edgeBundling = pixels;
+    }
+
+    /**
+     * Write the layout, checking every node and edge against the viewport
+     *
+     * @param layout the positions to draw
+     * @return the number of nodes and edges written
+     * @throws IOException if writing fails
+     */
+    public int write(GraphLayout layout) throws IOException {
+        return write(layout, null);
+    }
+
+    /**
+     * Write the layout, looking up the nodes and edges near the viewport in a spatial
+     * index instead of checking all of them. The index covers the whole layout and can
+     * be reused for any number of viewports.
+     *
+     * @param layout the positions to draw
+     * @param grid an index of the same layout, or null to check every node and edge
+     * @return the number of nodes and edges written
+     * @throws IOException if writing fails
+     */
+    public int write(GraphLayout layout, SpatialGrid grid) throws IOException {
+        if (grid != null && grid.getLayout() != layout) {
+            throw new IllegalArgumentException("Error: Spatial index was built for a different layout.");
+        }
+        GraphSnapshot snapshot = layout.getSnapshot();
+        int n = snapshot.vertexCount();
+
+        double[] view = viewport != null ? viewport : layout.bounds();
+        double extent = Math.max(view[2] - view[0], view[3] - view[1]);
+        double scale = extent <= 0 ? pixelsPerUnit : Math.min(pixelsPerUnit, (maxSize - 2.0 * MARGIN) / extent);
+        int width = (int) Math.ceil((view[2] - view[0]) * scale) + 2 * MARGIN;
+        int height = (int) Math.ceil((view[3] - view[1]) * scale) + 2 * MARGIN;
+        Frame frame = new Frame(layout.x(), layout.y(), view[0] - MARGIN / scale, view[1] - MARGIN / scale,
+                scale, width, height);
+
+        int radius = DrawingStyle.nodeRadius(n);
+        boolean labels = DrawingStyle.drawLabels(n);
+        int written = 0;
+
+        out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>");
+        out.write(NEWLINE);
+        out.write("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"" + width + "\" height=\"" + height
+                + "\" viewBox=\"0 0 " + width + " " + height + "\">");
+        out.write(NEWLINE);
+        out.write("<rect width=\"100%\" height=\"100%\" fill=\"white\"/>");
+        out.write(NEWLINE);
+
+        // Edges first so nodes are drawn on top
+        out.write("<g stroke=\"" + EDGE_COLOR + "\" stroke-width=\"1\">");
+        out.write(NEWLINE);
+        Set<Long> bundles = new HashSet<>();
+        if (grid == null) {
+            int[] outOffsets = snapshot.outOffsets();
+            int[] outTargets = snapshot.outTargets();
+            for (int v = 0; v < n; v++) {
+                for (int i = outOffsets[v]; i < outOffsets[v + 1]; i++) {
+                    written += writeEdge(frame, v, outTargets[i], bundles);
+                }
+            }
+        } else {
+            // An edge is listed in every cell it crosses; keep the first occurrence
+            IntStream.Builder near = IntStream.builder();
+            grid.forEachEdgeIn(frame.left(), frame.top(), frame.right(), frame.bottom(), near);
+            for (int e : near.build().distinct().toArray()) {
+                written += writeEdge(frame, grid.edgeSource(e), grid.edgeTarget(e), bundles);
+            }
+        }
+        out.write("</g>");
+        out.write(NEWLINE);
+
+        out.write("<g fill=\"" + NODE_COLOR + "\" font-family=\"sans-serif\" font-size=\"12\">");
+        out.write(NEWLINE);
+        int[] nodes;
+        if (grid == null) {
+            nodes = IntStream.range(0, n).toArray();
+        } else {
+            IntStream.Builder near = IntStream.builder();
+            grid.forEachVertexIn(frame.left(), frame.top(), frame.right(), frame.bottom(), near);
+            nodes = near.build().toArray();
+        }
+        Set<Long> occupied = new HashSet<>();
+        for (int v : nodes) {
+            double[] x = frame.x();
+            double[] y = frame.y();
+            if (x[v] < frame.left() || x[v] > frame.right() || y[v] < frame.top() || y[v] > frame.bottom()) {
+                continue;
+            }
+
+            double px = frame.pixelX(x[v]);
+            double py = frame.pixelY(y[v]);
+            if (nodeResolution > 0) {
+                long cell = ((long) Math.floor(px / nodeResolution) << 32)
+                        | ((long) Math.floor(py / nodeResolution) & 0xFFFFFFFFL);
+                if (!occupied.add(cell)) {
+                    continue;
+                }
+            }
+
+            out.write("<circle cx=\"");
+            writeNumber(px);
+            out.write("\" cy=\"");
+            writeNumber(py);
+            out.write("\" r=\"" + radius + "\"/>");
+            out.write(NEWLINE);
+            if (labels) {
+                out.write("<text x=\"");
+                writeNumber(px + radius + 2);
+                out.write("\" y=\"");
+                writeNumber(py - radius);
+                out.write("\" fill=\"black\">");
+                writeEscaped(snapshot.vertex(v));
+                out.write("</text>");
+                out.write(NEWLINE);
+            }
+            written++;
+        }
+        out.write("</g>");
+        out.write(NEWLINE);
+        out.write("</svg>");
+        out.write(NEWLINE);
+        return written;
+    }
+
+    /**
+     * Placement of the layout on the canvas for one write
+     */
+    private record Frame(double[] x, double[] y, double originX, double originY, double scale,
+                         int width, int height) {
+        // Visible region in layout units, including the margin
+        double left() {
+            return originX;
+        }
+
+        double top() {
+            return originY;
+        }
+
+        double right() {
+            return originX + width / scale;
+        }
+
+        double bottom() {
+            return originY + height / scale;
+        }
+
+        double pixelX(double layoutX) {
+            return (layoutX - originX) * scale;
+        }
+
+        double pixelY(double layoutY) {
+            return (layoutY - originY) * scale;
+        }
+    }
+
+    /**
+     * Write one edge unless it is off-screen, shorter than a pixel or bundled with an
+     * edge already written
+     *
+     * @return 1 if the edge was written, otherwise 0
+     */
+    private int writeEdge(Frame frame, int v, int u, Set<Long> bundles) throws IOException {
+        double[] x = frame.x();
+        double[] y = frame.y();
+        // Cull edges whose bounding box misses the visible region
+        if (Math.max(x[v], x[u]) < frame.left() || Math.min(x[v], x[u]) > frame.right()
+                || Math.max(y[v], y[u]) < frame.top() || Math.min(y[v], y[u]) > frame.bottom()) {
+            return 0;
+        }
+
+        double x1 = frame.pixelX(x[v]);
+        double y1 = frame.pixelY(y[v]);
+        double x2 = frame.pixelX(x[u]);
+        double y2 = frame.pixelY(y[u]);
+        if (Math.abs(x2 - x1) < 1 && Math.abs(y2 - y1) < 1) {
+            return 0;
+        }
+        if (edgeBundling > 0 && !bundles.add(bundleKey(x1, y1, x2, y2, frame.width(), frame.height()))) {
+            return 0;
+        }
+
+        out.write("<line x1=\"");
+        writeNumber(x1);
+        out.write("\" y1=\"");
+        writeNumber(y1);
+        out.write("\" x2=\"");
+        writeNumber(x2);
+        out.write("\" y2=\"");
+        writeNumber(y2);
+        out.write("\"/>");
+        out.write(NEWLINE);
+        return 1;
+    }
+
+    /**
+     * Pack the bundling cells of both endpoints into one key. Endpoints are clamped to
+     * just outside the canvas so the four cell indices always fit in 16 bits each;
+     * edges that leave the canvas may then share a key, which only merges lines
+     * whose visible parts run between the same cells anyway.
+     */
+    private long bundleKey(double x1, double y1, double x2, double y2, int width, int height) {
+        return (cellIndex(x1, width) << 48) | (cellIndex(y1, height) << 32)
+                | (cellIndex(x2, width) << 16) | cellIndex(y2, height);
+    }
+
+    private long cellIndex(double pixel, int size) {
+        double clamped = Math.max(-1, Math.min(size + 1, pixel));
+        return ((long) Math.floor((clamped + 1) / edgeBundling)) & 0xFFFF;
+    }
+
+    /**
+     * Write a coordinate with one decimal place, without going through String.format
+     */
+    private void writeNumber(double value) throws IOException {
+        long tenths = Math.round(value * 10);
+        if (tenths < 0) {
+            out.write('-');
+            tenths = -tenths;
+        }
+        out.write(Long.toString(tenths / 10));
+        if (tenths % 10 != 0) {
+            out.write('.');
+            out.write((char) ('0' + tenths % 10));
+        }
+    }
+
+    /**
+     * Write text content with XML special characters escaped
+     */
+    private void writeEscaped(String text) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<' -> out.write("&lt;");
+                case '>' -> out.write("&gt;");
+                case '&' -> out.write("&amp;");
+                case '"' -> out.write("&quot;");
+                default -> out.write(c);
+            }
+        }
+    }
+}
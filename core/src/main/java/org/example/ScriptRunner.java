@@ -0,0 +1,394 @@
+package org.example;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs a script of graph commands in one process, one command per line:
+ *
+ * <pre>
+ *     parse file.dot
+ *     addNode label
+ *     addEdge src dst
+ *     removeNode label
+ *     removeEdge src dst
+ *     search BFS|DFS src dst
+ *     export out.dot
+ *     export out.png png        (or svg)
+ * </pre>
+ *
+ * Blank lines and lines starting with # are skipped. Each command prints one
+ * result line, in script order, prefixed with its line number.
+ *
+ * Work is overlapped where the result cannot change. A reader thread parses the
+ * script while earlier commands run and starts reading the file of a parse
+ * command as soon as it sees it, unless an earlier export writes that file; such
+ * files are read when the parse command runs. Searches and DOT exports only read the graph, so
+ * consecutive ones run in parallel: searches on a CPU pool and exports on virtual
+ * threads. Parses, mutations and image exports (which update the layout cache)
+ * wait for the reads before them and then run alone, in order.
+ */
+public class ScriptRunner implements AutoCloseable {
+    // How far the reader may run ahead of execution
+    private static final int LOOKAHEAD = 1024;
+
+    /**
+     * One parsed script line
+     */
+    private static final class Command {
+        private final int line;
+        private final String text;
+        private final String[] tokens;
+        // File content being read ahead for parse commands, null to read when run
+        private CompletableFuture<byte[]> prefetch;
+
+        private Command(int line, String text) {
+            this.line = line;
+            this.text = text;
+            this.tokens = text.split("\\s+");
+        }
+    }
+
+    // Marks the end of the script
+    private static final Command END = new Command(0, "");
+
+    /**
+     * The outcome of one command
+     */
+    private static final class Result {
+        private final String line;
+        private final boolean ok;
+
+        private Result(Command command, boolean ok, String detail) {
+            this.line = command.line + ": " + command.text + " -> " + (ok ? "ok" : "error")
+                    + (detail.isEmpty() ? "" : " " + detail);
+            this.ok = ok;
+        }
+    }
+
+    /**
+     * Counts and timing of one script run
+     */
+    public static final class Summary {
+        private final int commands;
+        private final int failed;
+        private final long elapsedNanos;
+
+        private Summary(int commands, int failed, long elapsedNanos) {
+            this.commands = commands;
+            this.failed = failed;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * Get the number of commands run
+         *
+         * @return the command count
+         */
+        public int getCommands() {
+            return commands;
+        }
+
+        /**
+         * Get the number of commands that failed
+         *
+         * @return the failure count
+         */
+        public int getFailed() {
+            return failed;
+        }
+
+        /**
+         * Get the wall-clock time of the run
+         *
+         * @return the time in nanoseconds
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * Get the number of commands run per second
+         *
+         * @return the throughput
+         */
+        public double getThroughput() {
+            return elapsedNanos == 0 ? 0 : commands * 1e9 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Ran %d commands (%d failed) in %.1f ms: %.0f commands/s",
+                    commands, failed, elapsedNanos / 1e6, getThroughput());
+        }
+    }
+
+    private final DOTGraph graph;
+    private final PrintStream out;
+    private final ExecutorService ioExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ExecutorService cpuExecutor =
+            Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+
+    /**
+     * Create a runner for a graph
+     *
+     * @param graph the graph the commands act on
+     * @param out where to print command results
+     */
+    public ScriptRunner(DOTGraph graph, PrintStream out) {
+        this.graph = graph;
+        this.out = out;
+    }
+
+    /**
+     * Run a script file
+     *
+     * @param scriptPath the path of the script
+     * @return the summary of the run
+     * @throws IOException if the script cannot be read
+     */
+    public Summary run(String scriptPath) throws IOException {
+        try (Reader reader = Files.newBufferedReader(Paths.get(scriptPath), StandardCharsets.UTF_8)) {
+            return run(reader);
+        }
+    }
+
+    /**
+     * Run a script read from a stream, e.g. standard input. Commands start running
+     * before the whole stream has been read.
+     *
+     * @param script the script
+     * @return the summary of the run
+     * @throws IOException if the script cannot be read
+     */
+    public Summary run(Reader script) throws IOException {
+        long start = System.nanoTime();
+        BlockingQueue<Command> commands = new ArrayBlockingQueue<>(LOOKAHEAD);
+        CompletableFuture<Void> reader = CompletableFuture.runAsync(() -> readScript(script, commands), ioExecutor);
+
+        // Results in script order, and the reads that must finish before the next write
+        Deque<CompletableFuture<Result>> results = new ArrayDeque<>();
+        List<CompletableFuture<Result>> reads = new ArrayList<>();
+        AtomicInteger failed = new AtomicInteger();
+        int count = 0;
+
+        while (true) {
+            Command command;
+            try {
+                command = commands.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while running script", e);
+            }
+            if (command == END) {
+                break;
+            }
+            count++;
+
+            if (isRead(command)) {
+                CompletableFuture<Result> result = CompletableFuture.supplyAsync(() -> execute(command),
+                        command.tokens[0].equals("export") ? ioExecutor : cpuExecutor);
+                reads.add(result);
+                results.add(result);
+            } else {
+                // Writes see the graph as left by every earlier command
+                CompletableFuture.allOf(reads.toArray(new CompletableFuture<?>[0])).join();
+                reads.clear();
+                printReady(results, failed);
+                results.add(CompletableFuture.completedFuture(execute(command)));
+            }
+            printReady(results, failed);
+        }
+
+        try {
+            reader.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw e;
+        }
+        while (!results.isEmpty()) {
+            print(results.poll().join(), failed);
+        }
+        return new Summary(count, failed.get(), System.nanoTime() - start);
+    }
+
+    /**
+     * Read commands into the queue, starting file reads for parse commands at once
+     */
+    private void readScript(Reader script, BlockingQueue<Command> commands) {
+        BufferedReader lines = new BufferedReader(script);
+        // Files written by exports seen so far; reading them early would see old content
+        Set<java.nio.file.Path> exported = new HashSet<>();
+        try {
+            String text;
+            int line = 0;
+            while ((text = lines.readLine()) != null) {
+                line++;
+                text = text.trim();
+                if (text.isEmpty() || text.startsWith("#")) {
+                    continue;
+                }
+                Command command = new Command(line, text);
+                if (command.tokens[0].equals("export") && command.tokens.length >= 2) {
+                    exported.add(normalize(command.tokens[1]));
+                }
+                if (command.tokens[0].equals("parse") && command.tokens.length == 2
+                        && !exported.contains(normalize(command.tokens[1]))) {
+                    String path = command.tokens[1];
+                    command.prefetch = CompletableFuture.supplyAsync(() -> {
+                        try {
+                            return Files.readAllBytes(Paths.get(path));
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }, ioExecutor);
+                }
+                commands.put(command);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            try {
+                commands.put(END);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static java.nio.file.Path normalize(String path) {
+        return Paths.get(path).toAbsolutePath().normalize();
+    }
+
+    /**
+     * Check whether a command only reads the graph
+     */
+    private static boolean isRead(Command command) {
+        String op = command.tokens[0];
+        return op.equals("search") || (op.equals("export") && command.tokens.length == 2);
+    }
+
+    /**
+     * Run one command
+     *
+     * @return the result
+     */
+    private Result execute(Command command) {
+        String[] t = command.tokens;
+        try {
+            switch (t[0]) {
+                case "parse":
+                    expectArguments(t, 1);
+                    if (command.prefetch == null) {
+                        return status(command, graph.parseGraph(t[1]));
+                    }
+                    return status(command, graph.parseGraph(t[1], () -> {
+                        try {
+                            return command.prefetch.join();
+                        } catch (CompletionException e) {
+                            if (e.getCause() instanceof UncheckedIOException) {
+                                throw ((UncheckedIOException) e.getCause()).getCause();
+                            }
+                            throw e;
+                        }
+                    }));
+                case "addNode":
+                    expectArguments(t, 1);
+                    return status(command, graph.addNode(t[1]));
+                case "addEdge":
+                    expectArguments(t, 2);
+                    return status(command, graph.addEdge(t[1], t[2]));
+                case "removeNode":
+                    expectArguments(t, 1);
+                    return status(command, graph.removeNode(t[1]));
+                case "removeEdge":
+                    expectArguments(t, 2);
+                    return status(command, graph.removeEdge(t[1], t[2]));
+                case "search":
+                    expectArguments(t, 3);
+                    Path path = graph.graphSearch(t[2], t[3], algorithm(t[1]));
+                    return new Result(command, true, path == null ? "no path" : path.toString());
+                case "export":
+                    if (t.length == 2) {
+                        return status(command, graph.outputDOTGraph(t[1]));
+                    }
+                    expectArguments(t, 2);
+                    return status(command, graph.outputGraphics(t[1], t[2]));
+                default:
+                    return new Result(command, false, "Unknown command: " + t[0]);
+            }
+        } catch (IllegalArgumentException e) {
+            return new Result(command, false, e.getMessage());
+        } catch (RuntimeException | StackOverflowError e) {
+            // A failure in one command must not abort the rest of the script and its summary
+            return new Result(command, false, "Error: " + e);
+        }
+    }
+
+    private static Result status(Command command, boolean success) {
+        return new Result(command, success, "");
+    }
+
+    private static Algorithm algorithm(String name) {
+        for (Algorithm algorithm : Algorithm.values()) {
+            if (algorithm.name().equalsIgnoreCase(name)) {
+                return algorithm;
+            }
+        }
+        throw new IllegalArgumentException("Error: Unknown algorithm: " + name);
+    }
+
+    private static void expectArguments(String[] tokens, int count) {
+        if (tokens.length != count + 1) {
+            throw new IllegalArgumentException("Error: " + tokens[0] + " takes " + count + " arguments.");
+        }
+    }
+
+    /**
+     * Print the finished results at the head of the queue, keeping script order
+     */
+    private void printReady(Deque<CompletableFuture<Result>> results, AtomicInteger failed) {
+        while (!results.isEmpty() && results.peek().isDone()) {
+            print(results.poll().join(), failed);
+        }
+    }
+
+    private void print(Result result, AtomicInteger failed) {
+        if (!result.ok) {
+            failed.incrementAndGet();
+        }
+        out.println(result.line);
+    }
+
+    /**
+     * Shut down the worker threads
+     */
+    @Override
+    public void close() {
+        ioExecutor.shutdown();
+        cpuExecutor.shutdown();
+    }
+}
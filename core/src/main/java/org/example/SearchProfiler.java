@@ -0,0 +1,139 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregates {@link SearchStats} across many searches to find traversal hot spots:
+ * the vertices that searches expand most often. Attach one to a graph with
+ * {@link DOTGraph#setSearchProfiler} and every graphSearch call is explained and
+ * recorded here. Safe to share between threads and graphs.
+ */
+public class SearchProfiler {
+    private final Map<String, LongAdder> expansions = new ConcurrentHashMap<>();
+    private final LongAdder searches = new LongAdder();
+    private final LongAdder pathsFound = new LongAdder();
+    private final LongAdder visitedVertices = new LongAdder();
+    private final LongAdder examinedEdges = new LongAdder();
+    private final LongAdder traverseNanos = new LongAdder();
+    private final LongAdder allocatedBytes = new LongAdder();
+
+    /**
+     * Add the statistics of one search
+     *
+     * @param stats the statistics, which should come from explainSearch
+     */
+    public void record(SearchStats stats) {
+        searches.increment();
+        if (stats.getPath() != null) {
+            pathsFound.increment();
+        }
+        visitedVertices.add(stats.getVisitedVertices());
+        examinedEdges.add(stats.getExaminedEdges());
+        traverseNanos.add(stats.getPhaseNanos().getOrDefault("traverse", 0L));
+        if (stats.getAllocatedBytes() > 0) {
+            allocatedBytes.add(stats.getAllocatedBytes());
+        }
+        for (String vertex : stats.getExpandedVertices()) {
+            expansions.computeIfAbsent(vertex, v -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * Get the vertices expanded most often
+     *
+     * @param limit the maximum number of vertices to return
+     * @return vertex -> expansion count, most expanded first
+     */
+    public List<Map.Entry<String, Long>> hotSpots(int limit) {
+        List<Map.Entry<String, Long>> counts = new ArrayList<>(expansions.size());
+        for (Map.Entry<String, LongAdder> entry : expansions.entrySet()) {
+            counts.add(Map.entry(entry.getKey(), entry.getValue().sum()));
+        }
+        counts.sort(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                .thenComparing(Map.Entry.comparingByKey()));
+        return counts.subList(0, Math.min(limit, counts.size()));
+    }
+
+    /**
+     * Get how often one vertex was expanded
+     *
+     * @param vertex the vertex
+     * @return the expansion count
+     */
+    public long expansionsOf(String vertex) {
+        LongAdder count = expansions.get(vertex);
+        return count == null ? 0 : count.sum();
+    }
+
+    /**
+     * Get the number of searches recorded
+     *
+     * @return the search count
+     */
+    public long getSearchCount() {
+        return searches.sum();
+    }
+
+    /**
+     * Get the number of recorded searches that found a path
+     *
+     * @return the count
+     */
+    public long getPathsFound() {
+        return pathsFound.sum();
+    }
+
+    /**
+     * Get the total number of vertices reached over all searches
+     *
+     * @return the vertex count
+     */
+    public long getTotalVisitedVertices() {
+        return visitedVertices.sum();
+    }
+
+    /**
+     * Get the total number of edges examined over all searches
+     *
+     * @return the edge count
+     */
+    public long getTotalExaminedEdges() {
+        return examinedEdges.sum();
+    }
+
+    /**
+     * Get the total time spent traversing over all searches
+     *
+     * @return the time in nanoseconds
+     */
+    public long getTotalTraverseNanos() {
+        return traverseNanos.sum();
+    }
+
+    /**
+     * Get the total bytes allocated over all searches
+     *
+     * @return the byte count, 0 if the JVM does not measure allocation
+     */
+    public long getTotalAllocatedBytes() {
+        return allocatedBytes.sum();
+    }
+
+    /**
+     * Discard everything recorded so far
+     */
+    public void reset() {
+        expansions.clear();
+        searches.reset();
+        pathsFound.reset();
+        visitedVertices.reset();
+        examinedEdges.reset();
+        traverseNanos.reset();
+        allocatedBytes.reset();
+    }
+}
@@ -0,0 +1,222 @@
+package org.example;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Statistics about a single graph search: how much of the graph it touched, how
+ * the frontier grew, and where the time went. Every search fills in the basic
+ * counters; a search run through {@link DOTGraph#explainSearch} also records the
+ * per-level frontier sizes, the time per phase, the bytes allocated and the order
+ * in which vertices were expanded.
+ *
+ * For BFS the frontier is the queue and a level is a distance from the sources.
+ * For DFS the frontier is the recursion stack and a level is a recursion depth.
+ */
+public class SearchStats {
+    // Basic counters, always filled in
+    int visitedVertices;
+    long examinedEdges;
+    int frontierPeak;
+    int pathLength;
+
+    // Detailed statistics, only filled in when explaining
+    private final boolean detailed;
+    private final Algorithm algorithm;
+    private Path path;
+    private int[] levelSizes = new int[0];
+    private int levelCount;
+    private final Map<String, Long> phaseNanos = new LinkedHashMap<>();
+    private final List<String> expanded = new ArrayList<>();
+    private long allocatedBytes = -1;
+
+    SearchStats() {
+        this(null, false);
+    }
+
+    SearchStats(Algorithm algorithm, boolean detailed) {
+        this.algorithm = algorithm;
+        this.detailed = detailed;
+    }
+
+    /**
+     * Count a vertex first reached at the given level
+     */
+    void reachedAtLevel(int level) {
+        if (!detailed) {
+            return;
+        }
+        if (level >= levelSizes.length) {
+            levelSizes = Arrays.copyOf(levelSizes, Math.max(8, Math.max(level + 1, levelSizes.length * 2)));
+        }
+        levelSizes[level]++;
+        levelCount = Math.max(levelCount, level + 1);
+    }
+
+    /**
+     * Note that a vertex's outgoing edges are being examined
+     */
+    void expand(String vertex) {
+        if (detailed) {
+            expanded.add(vertex);
+        }
+    }
+
+    /**
+     * Start timing a phase
+     *
+     * @return the start time to pass to endPhase(), or 0 when not explaining
+     */
+    long startPhase() {
+        return detailed ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Finish timing a phase
+     */
+    void endPhase(String phase, long start) {
+        if (detailed) {
+            phaseNanos.merge(phase, System.nanoTime() - start, Long::sum);
+        }
+    }
+
+    void setPath(Path path) {
+        this.path = path;
+    }
+
+    void setAllocatedBytes(long bytes) {
+        this.allocatedBytes = bytes;
+    }
+
+    /**
+     * Read the bytes allocated so far by the current thread
+     *
+     * @return the byte count, or -1 if the JVM does not track allocation per thread
+     */
+    static long threadAllocatedBytes() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+            if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+                return threads.getCurrentThreadAllocatedBytes();
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Get the algorithm that ran
+     *
+     * @return the algorithm
+     */
+    public Algorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * Get the path found
+     *
+     * @return the path, or null if the destination was unreachable
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Get the number of vertices reached, including the sources
+     *
+     * @return the vertex count
+     */
+    public int getVisitedVertices() {
+        return visitedVertices;
+    }
+
+    /**
+     * Get the number of edges followed from expanded vertices
+     *
+     * @return the edge count
+     */
+    public long getExaminedEdges() {
+        return examinedEdges;
+    }
+
+    /**
+     * Get the largest frontier: the longest queue for BFS, the deepest stack for DFS
+     *
+     * @return the peak size
+     */
+    public int getFrontierPeak() {
+        return frontierPeak;
+    }
+
+    /**
+     * Get the deepest level reached. For DFS this is the maximum recursion depth,
+     * counting the source as depth 0.
+     *
+     * @return the depth, or 0 when the level sizes were not recorded
+     */
+    public int getMaxDepth() {
+        return Math.max(0, levelCount - 1);
+    }
+
+    /**
+     * Get the number of vertices first reached at each level. BFS stops as soon as
+     * it meets a target, so the last level only counts vertices found before that.
+     *
+     * @return one entry per level, starting with the sources
+     */
+    public int[] getLevelSizes() {
+        return Arrays.copyOf(levelSizes, levelCount);
+    }
+
+    /**
+     * Get the number of nodes on the path found
+     *
+     * @return the path length, or 0 if no path was found
+     */
+    public int getPathLength() {
+        return pathLength;
+    }
+
+    /**
+     * Get the time spent in each phase: "resolve" (checking and finding the
+     * endpoints), "traverse" and "reconstruct" (rebuilding the BFS path)
+     *
+     * @return phase name -> nanoseconds
+     */
+    public Map<String, Long> getPhaseNanos() {
+        return Collections.unmodifiableMap(phaseNanos);
+    }
+
+    /**
+     * Get the bytes allocated by the search thread during the search
+     *
+     * @return the byte count, or -1 if the JVM does not support measuring it
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * Get the vertices whose outgoing edges were examined, in order
+     *
+     * @return the expanded vertices
+     */
+    public List<String> getExpandedVertices() {
+        return Collections.unmodifiableList(expanded);
+    }
+
+    @Override
+    public String toString() {
+        return algorithm + " search: " + visitedVertices + " vertices, " + examinedEdges
+                + " edges, frontier peak " + frontierPeak + ", max depth " + getMaxDepth()
+                + ", levels " + Arrays.toString(getLevelSizes()) + ", path length " + pathLength
+                + ", phases " + phaseNanos + " ns, allocated " + allocatedBytes + " bytes";
+    }
+}
@@ -0,0 +1,292 @@
+package org.example;
+
+import java.util.function.IntConsumer;
+
+/**
+ * A uniform grid over a {@link GraphLayout} that records which vertices and edges
+ * fall into each cell, so that a rectangular region can be drawn without looking at
+ * the rest of the graph. Vertices are stored in the cell containing their position;
+ * edges are stored in every cell their line segment passes through. Both lists are
+ * kept in compressed arrays (one offsets array plus one id array).
+ */
+public class SpatialGrid {
+    private final GraphLayout layout;
+    private final double originX;
+    private final double originY;
+    private final double cellSize;
+    private final int columns;
+    private final int rows;
+
+    private final int[] vertexOffsets;
+    private final int[] vertexIds;
+    private final int[] edgeOffsets;
+    private final int[] edgeIds;
+    private final int[] edgeSources;
+
+    /**
+     * Index a layout
+     *
+     * @param layout the positions to index
+     * @param originX the layout x coordinate of the grid's left edge
+     * @param originY the layout y coordinate of the grid's top edge
+     * @param cellSize the width and height of one cell in layout units
+     * @param columns the number of columns
+     * @param rows the number of rows
+     */
+    public SpatialGrid(GraphLayout layout, double originX, double originY, double cellSize, int columns, int rows) {
+        this.layout = layout;
+        this.originX = originX;
+        this.originY = originY;
+        this.cellSize = cellSize;
+        this.columns = columns;
+        this.rows = rows;
+
+        GraphSnapshot snapshot = layout.getSnapshot();
+        int n = snapshot.vertexCount();
+        int cells = columns * rows;
+        double[] x = layout.x();
+        double[] y = layout.y();
+
+        // Vertices: count per cell, prefix sum, then fill
+        vertexOffsets = new int[cells + 1];
+        int[] home = new int[n];
+        for (int v = 0; v < n; v++) {
+            home[v] = cellOf(x[v], y[v]);
+            if (home[v] >= 0) {
+                vertexOffsets[home[v] + 1]++;
+            }
+        }
+        prefixSum(vertexOffsets);
+        vertexIds = new int[vertexOffsets[cells]];
+        int[] fill = new int[cells];
+        for (int v = 0; v < n; v++) {
+            if (home[v] >= 0) {
+                vertexIds[vertexOffsets[home[v]] + fill[home[v]]++] = v;
+            }
+        }
+
+        // Edges: source of every CSR position, then the same two-pass fill over traversed cells
+        int[] outOffsets = snapshot.outOffsets();
+        int[] outTargets = snapshot.outTargets();
+        edgeSources = new int[snapshot.edgeCount()];
+        for (int v = 0; v < n; v++) {
+            for (int i = outOffsets[v]; i < outOffsets[v + 1]; i++) {
+                edgeSources[i] = v;
+            }
+        }
+
+        edgeOffsets = new int[cells + 1];
+        for (int e = 0; e < edgeSources.length; e++) {
+            int s = edgeSources[e];
+            int t = outTargets[e];
+            traverse(x[s], y[s], x[t], y[t], cell -> edgeOffsets[cell + 1]++);
+        }
+        prefixSum(edgeOffsets);
+        edgeIds = new int[edgeOffsets[cells]];
+        int[] edgeFill = new int[cells];
+        for (int e = 0; e < edgeSources.length; e++) {
+            int s = edgeSources[e];
+            int t = outTargets[e];
+            final int edge = e;
+            traverse(x[s], y[s], x[t], y[t], cell -> edgeIds[edgeOffsets[cell] + edgeFill[cell]++] = edge);
+        }
+    }
+
+    private static void prefixSum(int[] offsets) {
+        for (int i = 1; i < offsets.length; i++) {
+            offsets[i] += offsets[i - 1];
+        }
+    }
+
+    /**
+     * Get the cell index containing a point
+     *
+     * @return the cell index, or -1 if the point is outside the grid
+     */
+    private int cellOf(double px, double py) {
+        int col = (int) Math.floor((px - originX) / cellSize);
+        int row = (int) Math.floor((py - originY) / cellSize);
+        if (col < 0 || row < 0 || col >= columns || row >= rows) {
+            return -1;
+        }
+        return row * columns + col;
+    }
+
+    /**
+     * Visit every grid cell crossed by a line segment, using the Amanatides-Woo
+     * voxel traversal. Cells outside the grid are skipped.
+     */
+    private void traverse(double x0, double y0, double x1, double y1, IntConsumer visit) {
+        double gx0 = (x0 - originX) / cellSize;
+        double gy0 = (y0 - originY) / cellSize;
+        double gx1 = (x1 - originX) / cellSize;
+        double gy1 = (y1 - originY) / cellSize;
+        int col = (int) Math.floor(gx0);
+        int row = (int) Math.floor(gy0);
+        int endCol = (int) Math.floor(gx1);
+        int endRow = (int) Math.floor(gy1);
+
+        double dx = gx1 - gx0;
+        double dy = gy1 - gy0;
+        int stepX = dx > 0 ? 1 : -1;
+        int stepY = dy > 0 ? 1 : -1;
+        double tDeltaX = dx == 0 ? Double.POSITIVE_INFINITY : Math.abs(1 / dx);
+        double tDeltaY = dy == 0 ? Double.POSITIVE_INFINITY : Math.abs(1 / dy);
+        double tMaxX = dx == 0 ? Double.POSITIVE_INFINITY
+                : ((stepX > 0 ? col + 1 : col) - gx0) / dx;
+        double tMaxY = dy == 0 ? Double.POSITIVE_INFINITY
+                : ((stepY > 0 ? row + 1 : row) - gy0) / dy;
+
+        int steps = Math.abs(endCol - col) + Math.abs(endRow - row);
+        for (int i = 0; i <= steps; i++) {
+            if (col >= 0 && row >= 0 && col < columns && row < rows) {
+                visit.accept(row * columns + col);
+            }
+            if (tMaxX < tMaxY) {
+                tMaxX += tDeltaX;
+                col += stepX;
+            } else {
+                tMaxY += tDeltaY;
+                row += stepY;
+            }
+        }
+    }
+
+    /**
+     * Visit the vertices positioned inside a cell
+     *
+     * @param col the cell column
+     * @param row the cell row
+     * @param visit called with each vertex id
+     */
+    public void forEachVertex(int col, int row, IntConsumer visit) {
+        if (col < 0 || row < 0 || col >= columns || row >= rows) {
+            return;
+        }
+        int cell = row * columns + col;
+        for (int i = vertexOffsets[cell]; i < vertexOffsets[cell + 1]; i++) {
+            visit.accept(vertexIds[i]);
+        }
+    }
+
+    /**
+     * Visit the edges whose segment passes through a cell. Edges are identified by
+     * their position in the snapshot's outgoing adjacency array.
+     *
+     * @param col the cell column
+     * @param row the cell row
+     * @param visit called with each edge position
+     */
+    public void forEachEdge(int col, int row, IntConsumer visit) {
+        if (col < 0 || row < 0 || col >= columns || row >= rows) {
+            return;
+        }
+        int cell = row * columns + col;
+        for (int i = edgeOffsets[cell]; i < edgeOffsets[cell + 1]; i++) {
+            visit.accept(edgeIds[i]);
+        }
+    }
+
+    /**
+     * Visit the vertices in every cell overlapping a region of the layout. Vertices
+     * just outside the region may be visited too, so callers still check positions.
+     *
+     * @param minX the left edge in layout units
+     * @param minY the top edge in layout units
+     * @param maxX the right edge in layout units
+     * @param maxY the bottom edge in layout units
+     * @param visit called with each vertex id
+     */
+    public void forEachVertexIn(double minX, double minY, double maxX, double maxY, IntConsumer visit) {
+        int firstCol = Math.max(0, (int) Math.floor((minX - originX) / cellSize));
+        int firstRow = Math.max(0, (int) Math.floor((minY - originY) / cellSize));
+        int lastCol = Math.min(columns - 1, (int) Math.floor((maxX - originX) / cellSize));
+        int lastRow = Math.min(rows - 1, (int) Math.floor((maxY - originY) / cellSize));
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int col = firstCol; col <= lastCol; col++) {
+                forEachVertex(col, row, visit);
+            }
+        }
+    }
+
+    /**
+     * Visit the edges in every cell overlapping a region of the layout. An edge
+     * crossing several of those cells is visited once per cell.
+     *
+     * @param minX the left edge in layout units
+     * @param minY the top edge in layout units
+     * @param maxX the right edge in layout units
+     * @param maxY the bottom edge in layout units
+     * @param visit called with each edge position
+     */
+    public void forEachEdgeIn(double minX, double minY, double maxX, double maxY, IntConsumer visit) {
+        int firstCol = Math.max(0, (int) Math.floor((minX - originX) / cellSize));
+        int firstRow = Math.max(0, (int) Math.floor((minY - originY) / cellSize));
+        int lastCol = Math.min(columns - 1, (int) Math.floor((maxX - originX) / cellSize));
+        int lastRow = Math.min(rows - 1, (int) Math.floor((maxY - originY) / cellSize));
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int col = firstCol; col <= lastCol; col++) {
+                forEachEdge(col, row, visit);
+            }
+        }
+    }
+
+    /**
+     * Get the source vertex of an edge position
+     *
+     * @param edge the edge position
+     * @return the source vertex id
+     */
+    public int edgeSource(int edge) {
+        return edgeSources[edge];
+    }
+
+    /**
+     * Get the target vertex of an edge position
+     *
+     * @param edge the edge position
+     * @return the target vertex id
+     */
+    public int edgeTarget(int edge) {
+        return layout.getSnapshot().outTargets()[edge];
+    }
+
+    /**
+     * Check whether a cell contains any vertex or edge
+     *
+     * @param col the cell column
+     * @param row the cell row
+     * @return true if the cell is empty
+     */
+    public boolean isEmpty(int col, int row) {
+        int cell = row * columns + col;
+        return vertexOffsets[cell] == vertexOffsets[cell + 1] && edgeOffsets[cell] == edgeOffsets[cell + 1];
+    }
+
+    /**
+     * Get the layout this grid indexes
+     *
+     * @return the layout
+     */
+    public GraphLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * Get the number of columns
+     *
+     * @return the column count
+     */
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * Get the number of rows
+     *
+     * @return the row count
+     */
+    public int getRows() {
+        return rows;
+    }
+}
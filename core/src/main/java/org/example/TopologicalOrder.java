@@ -0,0 +1,359 @@
+package org.example;
+
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultEdge;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * A topological order of a directed graph that is kept up to date as edges are
+ * added, using the dynamic algorithm of Pearce and Kelly. Inserting an edge only
+ * searches and reorders the vertices whose positions lie between its endpoints,
+ * instead of re-running a full DFS over the graph.
+ *
+ * The order is only meaningful while the graph is acyclic. If an edge that closes
+ * a cycle is accepted anyway, or the graph was already cyclic when the order was
+ * built, the order is marked as cyclic. While it is cyclic every added edge is
+ * checked with a search of the whole graph instead, and every removal rebuilds
+ * the order from scratch to see whether the cycle is gone, so both cost
+ * O(V + E) until the last cycle is removed.
+ */
+public class TopologicalOrder {
+    private final Graph<String, DefaultEdge> graph;
+
+    // Position of every vertex, and the reverse mapping kept sorted by position
+    private final Map<String, Integer> ord = new HashMap<>();
+    private final TreeMap<Integer, String> byOrd = new TreeMap<>();
+    private int nextOrd;
+    private boolean cyclic;
+
+    /**
+     * Build an order for the current contents of the graph
+     *
+     * @param graph the graph to track
+     */
+    public TopologicalOrder(Graph<String, DefaultEdge> graph) {
+        this.graph = graph;
+        rebuild();
+    }
+
+    /**
+     * Recompute the order from scratch with Kahn's algorithm
+     */
+    private void rebuild() {
+        ord.clear();
+        byOrd.clear();
+        nextOrd = 0;
+
+        Map<String, Integer> remaining = new HashMap<>();
+        Deque<String> ready = new ArrayDeque<>();
+        for (String vertex : graph.vertexSet()) {
+            int inDegree = graph.inDegreeOf(vertex);
+            remaining.put(vertex, inDegree);
+            if (inDegree == 0) {
+                ready.add(vertex);
+            }
+        }
+
+        while (!ready.isEmpty()) {
+            String vertex = ready.poll();
+            place(vertex);
+            for (DefaultEdge edge : graph.outgoingEdgesOf(vertex)) {
+                String target = graph.getEdgeTarget(edge);
+                int left = remaining.merge(target, -1, Integer::sum);
+                if (left == 0) {
+                    ready.add(target);
+                }
+            }
+        }
+
+        // Vertices on or behind a cycle never reach in-degree zero
+        cyclic = ord.size() < graph.vertexSet().size();
+        if (cyclic) {
+            for (String vertex : graph.vertexSet()) {
+                if (!ord.containsKey(vertex)) {
+                    place(vertex);
+                }
+            }
+        }
+    }
+
+    private void place(String vertex) {
+        ord.put(vertex, nextOrd);
+        byOrd.put(nextOrd, vertex);
+        nextOrd++;
+    }
+
+    /**
+     * Record a newly added vertex; it has no edges yet so it goes last
+     *
+     * @param vertex the new vertex
+     */
+    public void vertexAdded(String vertex) {
+        if (!ord.containsKey(vertex)) {
+            place(vertex);
+        }
+    }
+
+    /**
+     * Record that a vertex and its edges were removed from the graph
+     *
+     * @param vertex the removed vertex
+     */
+    public void vertexRemoved(String vertex) {
+        Integer position = ord.remove(vertex);
+        if (position != null) {
+            byOrd.remove(position);
+        }
+        // The removal may have broken the cycle; finding out costs a full rebuild
+        if (cyclic) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Record that an edge was removed. Removing an edge never invalidates an
+     * acyclic order, so only a cyclic graph needs to be re-checked, which
+     * rebuilds the whole order in O(V + E).
+     */
+    public void edgeRemoved() {
+        if (cyclic) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Check whether an edge from src to dst would close a cycle, without
+     * changing the order. Both vertices must already be in the graph.
+     *
+     * @param src the source vertex
+     * @param dst the destination vertex
+     * @return true if dst can already reach src
+     */
+    public boolean wouldCreateCycle(String src, String dst) {
+        if (src.equals(dst)) {
+            return true;
+        }
+        if (cyclic) {
+            return reaches(dst, src);
+        }
+        int lower = ord.get(dst);
+        int upper = ord.get(src);
+        if (lower > upper) {
+            return false;
+        }
+        return forward(dst, upper, new HashSet<>(), new ArrayList<>());
+    }
+
+    /**
+     * Update the order for an edge from src to dst that is about to be added.
+     * Must be called before the edge is inserted into the graph. If the edge would
+     * close a cycle nothing is changed; the caller either drops the edge or adds it
+     * and calls {@link #markCyclic()}. Once the graph is cyclic there is no order
+     * to maintain, but edges that close another cycle are still detected by
+     * searching the whole graph.
+     *
+     * @param src the source vertex
+     * @param dst the destination vertex
+     * @return true if the order was updated, false if the edge closes a cycle
+     */
+    public boolean edgeAdded(String src, String dst) {
+        if (src.equals(dst)) {
+            return false;
+        }
+        if (cyclic) {
+            // There is no order to bound the search, so look at everything dst reaches
+            return !reaches(dst, src);
+        }
+
+        int lower = ord.get(dst);
+        int upper = ord.get(src);
+        if (lower > upper) {
+            // Edge already agrees with the order
+            return true;
+        }
+
+        // Vertices reachable from dst that currently sit before src
+        List<String> forwardSet = new ArrayList<>();
+        if (forward(dst, upper, new HashSet<>(), forwardSet)) {
+            return false;
+        }
+
+        // Vertices that reach src and currently sit after dst
+        List<String> backwardSet = new ArrayList<>();
+        backward(src, lower, new HashSet<>(), backwardSet);
+
+        reorder(backwardSet, forwardSet);
+        return true;
+    }
+
+    /**
+     * Depth-first search along outgoing edges over the whole graph
+     *
+     * @return true if the goal is reachable from the start
+     */
+    private boolean reaches(String start, String goal) {
+        Deque<String> stack = new ArrayDeque<>();
+        Set<String> visited = new HashSet<>();
+        stack.push(start);
+        visited.add(start);
+
+        while (!stack.isEmpty()) {
+            String vertex = stack.pop();
+            for (DefaultEdge edge : graph.outgoingEdgesOf(vertex)) {
+                String target = graph.getEdgeTarget(edge);
+                if (target.equals(goal)) {
+                    return true;
+                }
+                if (visited.add(target)) {
+                    stack.push(target);
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Depth-first search along outgoing edges, restricted to vertices ordered at or
+     * before the upper bound
+     *
+     * @return true if the vertex at the upper bound (the edge source) was reached
+     */
+    private boolean forward(String start, int upper, Set<String> visited, List<String> found) {
+        Deque<String> stack = new ArrayDeque<>();
+        stack.push(start);
+        visited.add(start);
+
+        while (!stack.isEmpty()) {
+            String vertex = stack.pop();
+            found.add(vertex);
+            for (DefaultEdge edge : graph.outgoingEdgesOf(vertex)) {
+                String target = graph.getEdgeTarget(edge);
+                int position = ord.get(target);
+                if (position == upper) {
+                    return true;
+                }
+                if (position < upper && visited.add(target)) {
+                    stack.push(target);
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Depth-first search along incoming edges, restricted to vertices ordered after
+     * the lower bound
+     */
+    private void backward(String start, int lower, Set<String> visited, List<String> found) {
+        Deque<String> stack = new ArrayDeque<>();
+        stack.push(start);
+        visited.add(start);
+
+        while (!stack.isEmpty()) {
+            String vertex = stack.pop();
+            found.add(vertex);
+            for (DefaultEdge edge : graph.incomingEdgesOf(vertex)) {
+                String source = graph.getEdgeSource(edge);
+                if (ord.get(source) > lower && visited.add(source)) {
+                    stack.push(source);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reassign the positions held by the affected vertices so that every vertex that
+     * reaches the new edge's source comes before every vertex reachable from its target
+     */
+    private void reorder(List<String> backwardSet, List<String> forwardSet) {
+        Comparator<String> byPosition = Comparator.comparingInt(ord::get);
+        backwardSet.sort(byPosition);
+        forwardSet.sort(byPosition);
+
+        List<Integer> slots = new ArrayList<>(backwardSet.size() + forwardSet.size());
+        for (String vertex : backwardSet) {
+            slots.add(ord.get(vertex));
+        }
+        for (String vertex : forwardSet) {
+            slots.add(ord.get(vertex));
+        }
+        Collections.sort(slots);
+
+        int i = 0;
+        for (String vertex : backwardSet) {
+            assign(vertex, slots.get(i++));
+        }
+        for (String vertex : forwardSet) {
+            assign(vertex, slots.get(i++));
+        }
+    }
+
+    private void assign(String vertex, int position) {
+        ord.put(vertex, position);
+        byOrd.put(position, vertex);
+    }
+
+    /**
+     * Record that an edge closing a cycle was added to the graph
+     */
+    public void markCyclic() {
+        cyclic = true;
+    }
+
+    /**
+     * Check whether the tracked graph currently contains a cycle
+     *
+     * @return true if there is a cycle
+     */
+    public boolean hasCycle() {
+        return cyclic;
+    }
+
+    /**
+     * Get the current position of a vertex. Positions are increasing along every
+     * edge but are not necessarily contiguous.
+     *
+     * @param vertex the vertex
+     * @return its position, or -1 if the vertex is unknown
+     */
+    public int positionOf(String vertex) {
+        Integer position = ord.get(vertex);
+        return position == null ? -1 : position;
+    }
+
+    /**
+     * Get a live, read-only view of the vertices in topological order
+     *
+     * @return the ordered vertices
+     * @throws IllegalStateException if the graph contains a cycle
+     */
+    public Collection<String> vertices() {
+        if (cyclic) {
+            throw new IllegalStateException("Error: Graph contains a cycle, no topological order exists.");
+        }
+        return Collections.unmodifiableCollection(byOrd.values());
+    }
+
+    /**
+     * Estimate the heap used by the order, counting one boxed position in each map
+     *
+     * @return the size in bytes
+     */
+    long estimatedBytes() {
+        return MemoryReport.object(3, 5)
+                + MemoryReport.hashMap(ord.size()) + ord.size() * MemoryReport.INTEGER
+                + MemoryReport.object(7, 8) + byOrd.size() * (MemoryReport.TREE_MAP_ENTRY + MemoryReport.INTEGER);
+    }
+}
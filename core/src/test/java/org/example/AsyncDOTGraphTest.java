@@ -0,0 +1,116 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the asynchronous graph facade
+ */
+public class AsyncDOTGraphTest {
+
+    @TempDir
+    java.nio.file.Path tempDir;
+
+    /**
+     * Test parsing, searching and exporting through futures
+     */
+    @Test
+    public void testPipeline() throws IOException {
+        java.nio.file.Path dot = tempDir.resolve("grid.dot");
+        GraphGenerator.grid(10, 10).writeDOT(dot.toString());
+
+        try (AsyncDOTGraph async = new AsyncDOTGraph(new DOTGraph())) {
+            Path path = async.parseGraph(dot.toString())
+                    .thenCompose(parsed -> async.graphSearch("n0", "n99", Algorithm.BFS))
+                    .join();
+            assertEquals(19, path.getNodes().size());
+
+            java.nio.file.Path out = tempDir.resolve("out.dot");
+            assertTrue(async.outputDOTGraph(out.toString()).join());
+            assertTrue(Files.size(out) > 0);
+            assertTrue(async.outputGraphics(tempDir.resolve("out.svg").toString(), "svg").join());
+
+            // Errors surface through the future
+            CompletionException error = assertThrows(CompletionException.class,
+                    () -> async.graphSearch("n0", "missing", Algorithm.BFS).join());
+            assertInstanceOf(IllegalArgumentException.class, error.getCause());
+
+            async.update(graph -> graph.addEdge("n99", "n0")).join();
+            assertEquals(181, async.query(DOTGraph::getEdgeCount).join());
+        }
+    }
+
+    /**
+     * Test that thousands of outstanding searches complete on a small pool
+     */
+    @Test
+    public void testManyConcurrentRequests() {
+        ExecutorService io = Executors.newVirtualThreadPerTaskExecutor();
+        ExecutorService cpu = Executors.newFixedThreadPool(2);
+        try (AsyncDOTGraph async = new AsyncDOTGraph(GraphGenerator.chain(200).toDOTGraph(), io, cpu)) {
+            List<CompletableFuture<Path>> futures = new ArrayList<>();
+            for (int i = 0; i < 5000; i++) {
+                futures.add(async.graphSearch("n0", GraphGenerator.node(i % 200), Algorithm.BFS));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+            for (int i = 0; i < futures.size(); i++) {
+                assertEquals(i % 200 + 1, futures.get(i).join().getNodes().size());
+            }
+        } finally {
+            io.shutdown();
+            cpu.shutdown();
+        }
+    }
+
+    /**
+     * Test that a cancelled request never runs
+     */
+    @Test
+    public void testCancellation() throws InterruptedException {
+        ExecutorService io = Executors.newVirtualThreadPerTaskExecutor();
+        ExecutorService cpu = Executors.newSingleThreadExecutor();
+        try (AsyncDOTGraph async = new AsyncDOTGraph(GraphGenerator.chain(10).toDOTGraph(), io, cpu)) {
+            // Occupy the only CPU thread
+            CountDownLatch release = new CountDownLatch(1);
+            CompletableFuture<Void> blocker = async.update(graph -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+
+            AtomicBoolean ran = new AtomicBoolean();
+            CompletableFuture<Integer> queued = async.query(graph -> {
+                ran.set(true);
+                return graph.getVertexCount();
+            });
+            assertTrue(queued.cancel(true));
+            assertThrows(CancellationException.class, queued::join);
+
+            release.countDown();
+            blocker.join();
+            assertEquals(10, async.query(DOTGraph::getVertexCount).join());
+            assertFalse(ran.get());
+        } finally {
+            io.shutdown();
+            cpu.shutdown();
+            assertTrue(cpu.awaitTermination(10, TimeUnit.SECONDS));
+        }
+    }
+}
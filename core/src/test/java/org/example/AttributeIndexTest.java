@@ -0,0 +1,102 @@
+package org.example;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for attribute indexes and attribute-based lookups
+ */
+public class AttributeIndexTest {
+
+    private DOTGraph dotGraph;
+
+    @BeforeEach
+    public void setUp() {
+        // test.dot has nodes A-D labelled "Node A" to "Node D"
+        dotGraph = new DOTGraph();
+        dotGraph.createAttributeIndex("label", true);
+        assertTrue(dotGraph.parseGraph("test.dot"));
+    }
+
+    /**
+     * Test equality lookups on parsed labels
+     */
+    @Test
+    public void testFindByLabel() {
+        assertEquals(Set.of("A"), dotGraph.findNodes("label", "Node A"));
+        assertEquals(Set.of("C"), dotGraph.findNodes("label", "\"Node C\""));
+        assertTrue(dotGraph.findNodes("label", "Node Z").isEmpty());
+    }
+
+    /**
+     * Test range and prefix lookups
+     */
+    @Test
+    public void testRangeAndPrefix() {
+        assertEquals(Set.of("B", "C"), dotGraph.findNodesInRange("label", "Node B", "Node D"));
+        assertEquals(Set.of("A", "B", "C", "D"), dotGraph.findNodesWithPrefix("label", "Node"));
+    }
+
+    /**
+     * Test prefixes ending in the largest char value, which cannot be incremented
+     */
+    @Test
+    public void testPrefixEndingInMaxChar() {
+        dotGraph.createAttributeIndex("tag", true);
+        dotGraph.setNodeAttribute("A", "tag", "x\uFFFF");
+        dotGraph.setNodeAttribute("B", "tag", "x\uFFFF\uFFFFy");
+        dotGraph.setNodeAttribute("C", "tag", "y");
+        dotGraph.setNodeAttribute("D", "tag", "\uFFFFz");
+
+        assertEquals(Set.of("A", "B"), dotGraph.findNodesWithPrefix("tag", "x\uFFFF"));
+        assertEquals(Set.of("B"), dotGraph.findNodesWithPrefix("tag", "x\uFFFF\uFFFF"));
+        assertEquals(Set.of("D"), dotGraph.findNodesWithPrefix("tag", "\uFFFF"));
+    }
+
+    /**
+     * Test that the index follows addNode, removeNode and setNodeAttribute
+     */
+    @Test
+    public void testIndexMaintainedOnMutation() {
+        dotGraph.createAttributeIndex("color", false);
+        dotGraph.addNode("E");
+        dotGraph.setNodeAttribute("E", "color", "red");
+        dotGraph.setNodeAttribute("A", "color", "red");
+
+        assertEquals(Set.of("E"), dotGraph.findNodes("label", "E"));
+        assertEquals(Set.of("A", "E"), dotGraph.findNodes("color", "red"));
+
+        dotGraph.setNodeAttribute("A", "color", "blue");
+        dotGraph.removeNode("E");
+        assertTrue(dotGraph.findNodes("color", "red").isEmpty());
+        assertEquals(Set.of("A"), dotGraph.findNodes("color", "blue"));
+        assertTrue(dotGraph.findNodes("label", "E").isEmpty());
+    }
+
+    /**
+     * Test that lookups without an index give the same results
+     */
+    @Test
+    public void testScanWithoutIndex() {
+        dotGraph.dropAttributeIndex("label");
+        assertEquals(Set.of("B"), dotGraph.findNodes("label", "Node B"));
+        assertEquals(Set.of("A", "B"), dotGraph.findNodesInRange("label", "Node A", "Node C"));
+    }
+
+    /**
+     * Test searching between nodes selected by attribute value
+     */
+    @Test
+    public void testGraphSearchByAttribute() {
+        Path path = dotGraph.graphSearch("label", "Node A", "Node D", Algorithm.BFS);
+        assertNotNull(path);
+        assertEquals("A -> C -> D", path.toString());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> dotGraph.graphSearch("label", "Node A", "Node Z", Algorithm.DFS));
+    }
+}
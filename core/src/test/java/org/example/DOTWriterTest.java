@@ -0,0 +1,54 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the streaming DOT writer
+ */
+public class DOTWriterTest {
+
+    /**
+     * Test that vertices, edges and edge attributes are written in DOTExporter format
+     */
+    @Test
+    public void testWriteWithEdgeAttributes() throws IOException {
+        DOTGraph dotGraph = new DOTGraph();
+        dotGraph.addNode("A");
+        dotGraph.addNode("B");
+        dotGraph.addEdge("A", "B");
+        dotGraph.setEdgeAttribute("A", "B", "color", "red");
+
+        StringWriter out = new StringWriter();
+        new DOTWriter(out).write(dotGraph);
+        String content = out.toString().replace("\r\n", "\n");
+
+        assertTrue(content.startsWith("strict digraph G {\n"));
+        assertTrue(content.contains("  A [ label=\"\\\"A\\\"\" ];\n"));
+        assertTrue(content.contains("  A -> B [ color=\"red\" ];\n"));
+        assertTrue(content.endsWith("}\n"));
+    }
+
+    /**
+     * Test that ids which are not plain identifiers are quoted and escaped
+     */
+    @Test
+    public void testQuotedIds() throws IOException {
+        DOTGraph dotGraph = new DOTGraph();
+        dotGraph.addNode("my node");
+        dotGraph.addNode("42");
+        dotGraph.addEdge("my node", "42");
+
+        StringWriter out = new StringWriter();
+        new DOTWriter(out).write(dotGraph);
+
+        assertTrue(out.toString().contains("\"my node\" -> 42;"));
+        assertTrue(DOTWriter.isIdentifier("_a1"));
+        assertTrue(DOTWriter.isIdentifier("-3.5"));
+        assertFalse(DOTWriter.isIdentifier("1abc"));
+    }
+}
@@ -0,0 +1,169 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for graph content hashing and the export cache
+ */
+public class ExportCacheTest {
+
+    @TempDir
+    java.nio.file.Path tempDir;
+
+    /**
+     * Test that the hash ignores insertion order and tracks every kind of change
+     */
+    @Test
+    public void testContentHash() {
+        DOTGraph first = new DOTGraph();
+        first.addNodes(new String[]{"A", "B", "C"});
+        first.addEdge("A", "B");
+        first.addEdge("B", "C");
+
+        DOTGraph second = new DOTGraph();
+        second.addNodes(new String[]{"C", "B", "A"});
+        second.addEdge("B", "C");
+        second.addEdge("A", "B");
+        assertEquals(first.contentHash(), second.contentHash());
+
+        long before = first.contentHash();
+        first.setEdgeAttribute("A", "B", "color", "red");
+        long colored = first.contentHash();
+        assertNotEquals(before, colored);
+
+        first.setNodeAttribute("C", "shape", "box");
+        assertNotEquals(colored, first.contentHash());
+
+        // Undoing the changes restores the hash
+        first.removeNode("C");
+        first.addNode("C");
+        first.addEdge("B", "C");
+        first.removeEdge("A", "B");
+        first.addEdge("A", "B");
+        assertEquals(before, first.contentHash());
+
+        // Edge direction matters
+        DOTGraph reversed = new DOTGraph();
+        reversed.addNodes(new String[]{"A", "B", "C"});
+        reversed.addEdge("B", "A");
+        reversed.addEdge("B", "C");
+        assertNotEquals(before, reversed.contentHash());
+    }
+
+    /**
+     * Test that a parsed graph and an extracted subgraph get consistent hashes
+     */
+    @Test
+    public void testHashAfterParseAndSubgraph() throws IOException {
+        DOTGraph graph = new DOTGraph();
+        graph.addNodes(new String[]{"A", "B"});
+        graph.addEdge("A", "B");
+        graph.setEdgeAttribute("A", "B", "weight", "3");
+
+        java.nio.file.Path dot = tempDir.resolve("graph.dot");
+        assertTrue(graph.outputDOTGraph(dot.toString()));
+        DOTGraph parsed = new DOTGraph();
+        assertTrue(parsed.parseGraph(dot.toString()));
+
+        DOTGraph reparsed = new DOTGraph();
+        assertTrue(reparsed.parseGraph(dot.toString()));
+        assertEquals(parsed.contentHash(), reparsed.contentHash());
+
+        assertEquals(graph.contentHash(), graph.inducedSubgraph(graph.getGraph().vertexSet()).contentHash());
+    }
+
+    /**
+     * Test that unchanged graphs are served from the cache
+     */
+    @Test
+    public void testCachedExport() throws IOException {
+        ExportCache cache = new ExportCache(tempDir.resolve("cache").toString(), 1 << 20);
+        DOTGraph graph = new DOTGraph();
+        graph.addNodes(new String[]{"A", "B"});
+        graph.addEdge("A", "B");
+        graph.setExportCache(cache);
+
+        java.nio.file.Path out = tempDir.resolve("out.dot");
+        assertTrue(graph.outputDOTGraph(out.toString()));
+        String key = ExportCache.key(graph.contentHash(), "dot", "dot");
+        assertTrue(cache.contains(key));
+
+        // Mark the cached copy so a hit is visible
+        Files.writeString(tempDir.resolve("cache").resolve(key), "cached");
+        java.nio.file.Path again = tempDir.resolve("again.dot");
+        assertTrue(graph.outputDOTGraph(again.toString()));
+        assertEquals("cached", Files.readString(again));
+
+        // A change produces a new key and a fresh export
+        graph.addNode("C");
+        java.nio.file.Path changed = tempDir.resolve("changed.dot");
+        assertTrue(graph.outputDOTGraph(changed.toString()));
+        assertTrue(Files.readString(changed).contains("C"));
+
+        java.nio.file.Path image = tempDir.resolve("graph.svg");
+        assertTrue(graph.outputGraphics(image.toString(), "svg"));
+        assertTrue(cache.contains(ExportCache.key(graph.contentHash(), "graphics-native-100", "svg")));
+    }
+
+    /**
+     * Test that a parse that fails half way leaves the hash and indexes matching the graph
+     */
+    @Test
+    public void testFailedParseRebuildsDerivedState() throws IOException {
+        java.nio.file.Path good = tempDir.resolve("good.dot");
+        java.nio.file.Path truncated = tempDir.resolve("truncated.dot");
+        Files.writeString(good, "digraph G {\n  A [color=\"red\"];\n  A -> B;\n}\n");
+        Files.writeString(truncated, "digraph G {\n  C -> D;\n  D -> ");
+
+        DOTGraph graph = new DOTGraph();
+        assertTrue(graph.parseGraph(good.toString()));
+        graph.createAttributeIndex("color", false);
+        graph.setExportCache(new ExportCache(tempDir.resolve("cache").toString(), 1 << 20));
+        java.nio.file.Path before = tempDir.resolve("before.dot");
+        assertTrue(graph.outputDOTGraph(before.toString()));
+        assertTrue(Files.readString(before).contains("red"));
+
+        // The failed parse imports C -> D and drops the node attributes, as a successful one would
+        assertFalse(graph.parseGraph(truncated.toString()));
+        assertTrue(graph.getGraph().containsEdge("C", "D"));
+        assertTrue(graph.findNodes("color", "red").isEmpty());
+        assertEquals(graph.inducedSubgraph(graph.getGraph().vertexSet()).contentHash(), graph.contentHash());
+
+        // The hash no longer matches the cached export, so nothing stale is served
+        java.nio.file.Path after = tempDir.resolve("after.dot");
+        assertTrue(graph.outputDOTGraph(after.toString()));
+        assertFalse(Files.readString(after).contains("red"));
+    }
+
+    /**
+     * Test least recently used eviction, including across reopening
+     */
+    @Test
+    public void testEviction() throws IOException {
+        String dir = tempDir.resolve("cache").toString();
+        java.nio.file.Path source = tempDir.resolve("blob");
+        Files.write(source, new byte[100]);
+
+        ExportCache cache = new ExportCache(dir, 250);
+        assertTrue(cache.store("a", source.toString()));
+        assertTrue(cache.store("b", source.toString()));
+        assertTrue(cache.fetch("a", tempDir.resolve("copy").toString()));
+        assertTrue(cache.store("c", source.toString()));
+
+        assertTrue(cache.contains("a"));
+        assertFalse(cache.contains("b"));
+        assertTrue(cache.contains("c"));
+        assertEquals(200, cache.size());
+        assertFalse(Files.exists(tempDir.resolve("cache").resolve("b")));
+
+        ExportCache reopened = new ExportCache(dir, 150);
+        assertEquals(1, (reopened.contains("a") ? 1 : 0) + (reopened.contains("c") ? 1 : 0));
+        assertEquals(100, reopened.size());
+    }
+}
@@ -0,0 +1,78 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the native force-directed layout
+ */
+public class ForceDirectedLayoutTest {
+
+    /**
+     * Build a square grid graph with side * side nodes
+     */
+    private DOTGraph grid(int side) {
+        DOTGraph dotGraph = new DOTGraph();
+        for (int r = 0; r < side; r++) {
+            for (int c = 0; c < side; c++) {
+                dotGraph.getGraph().addVertex("N" + r + "_" + c);
+            }
+        }
+        for (int r = 0; r < side; r++) {
+            for (int c = 0; c < side; c++) {
+                if (c + 1 < side) {
+                    dotGraph.getGraph().addEdge("N" + r + "_" + c, "N" + r + "_" + (c + 1));
+                }
+                if (r + 1 < side) {
+                    dotGraph.getGraph().addEdge("N" + r + "_" + c, "N" + (r + 1) + "_" + c);
+                }
+            }
+        }
+        return dotGraph;
+    }
+
+    /**
+     * Test that connected vertices end up closer together than the layout average
+     */
+    @Test
+    public void testEdgesShorterThanAverageDistance() {
+        GraphSnapshot snapshot = grid(10).snapshot();
+        GraphLayout layout = new ForceDirectedLayout(200).compute(snapshot);
+        double[] x = layout.x();
+        double[] y = layout.y();
+
+        double edgeTotal = 0;
+        int[] offsets = snapshot.outOffsets();
+        int[] targets = snapshot.outTargets();
+        for (int v = 0; v < snapshot.vertexCount(); v++) {
+            for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                edgeTotal += Math.hypot(x[v] - x[targets[i]], y[v] - y[targets[i]]);
+            }
+        }
+        double pairTotal = 0;
+        int pairs = 0;
+        for (int v = 0; v < snapshot.vertexCount(); v++) {
+            assertTrue(Double.isFinite(x[v]) && Double.isFinite(y[v]));
+            for (int u = v + 1; u < snapshot.vertexCount(); u++) {
+                pairTotal += Math.hypot(x[v] - x[u], y[v] - y[u]);
+                pairs++;
+            }
+        }
+
+        assertTrue(edgeTotal / snapshot.edgeCount() < pairTotal / pairs / 2,
+                "Edges should be much shorter than the average vertex distance");
+    }
+
+    /**
+     * Test that the same seed gives the same layout
+     */
+    @Test
+    public void testDeterministic() {
+        GraphSnapshot snapshot = grid(5).snapshot();
+        GraphLayout first = new ForceDirectedLayout(50).compute(snapshot);
+        GraphLayout second = new ForceDirectedLayout(50).compute(snapshot);
+        assertArrayEquals(first.x(), second.x(), 1e-9);
+        assertArrayEquals(first.y(), second.y(), 1e-9);
+    }
+}
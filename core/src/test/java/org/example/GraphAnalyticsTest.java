@@ -0,0 +1,128 @@
+package org.example;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PageRank and centrality analytics
+ */
+public class GraphAnalyticsTest {
+
+    private DOTGraph graph;
+
+    @BeforeEach
+    public void setUp() {
+        // Star graph: every leaf points at the hub, the hub points back at A
+        //    A -> HUB, B -> HUB, C -> HUB, HUB -> A
+        graph = new DOTGraph();
+        graph.addNodes(new String[]{"HUB", "A", "B", "C"});
+        graph.addEdge("A", "HUB");
+        graph.addEdge("B", "HUB");
+        graph.addEdge("C", "HUB");
+        graph.addEdge("HUB", "A");
+    }
+
+    /**
+     * Test that PageRank sums to one and ranks the hub highest
+     */
+    @Test
+    public void testPageRank() {
+        GraphSnapshot snapshot = graph.snapshot();
+        double[] rank = new GraphAnalytics(snapshot).pageRank(0.85, 100, 1e-12);
+
+        double total = 0;
+        for (double r : rank) {
+            total += r;
+        }
+        assertEquals(1.0, total, 1e-9);
+
+        int hub = snapshot.idOf("HUB");
+        for (int v = 0; v < rank.length; v++) {
+            if (v != hub) {
+                assertTrue(rank[hub] > rank[v], "Hub should have the highest rank");
+            }
+        }
+    }
+
+    /**
+     * Test degree centrality values
+     */
+    @Test
+    public void testDegreeCentrality() {
+        GraphSnapshot snapshot = graph.snapshot();
+        GraphAnalytics analytics = new GraphAnalytics(snapshot);
+
+        assertEquals(1.0, analytics.inDegreeCentrality()[snapshot.idOf("HUB")], 1e-9);
+        assertEquals(0.0, analytics.inDegreeCentrality()[snapshot.idOf("B")], 1e-9);
+        assertEquals(1.0 / 3, analytics.outDegreeCentrality()[snapshot.idOf("C")], 1e-9);
+    }
+
+    /**
+     * Test exact betweenness when every vertex is sampled
+     */
+    @Test
+    public void testExactBetweenness() {
+        GraphSnapshot snapshot = graph.snapshot();
+        double[] scores = new GraphAnalytics(snapshot).betweenness(snapshot.vertexCount(), 1L);
+
+        // B -> HUB -> A and C -> HUB -> A pass through the hub; nothing passes through a leaf
+        assertEquals(2.0, scores[snapshot.idOf("HUB")], 1e-9);
+        assertEquals(0.0, scores[snapshot.idOf("A")], 1e-9);
+        assertEquals(0.0, scores[snapshot.idOf("B")], 1e-9);
+    }
+
+    /**
+     * Test exact betweenness on a grid whose shortest-path counts do not fit in a long
+     */
+    @Test
+    public void testBetweennessWithHugePathCounts() {
+        int side = 40;
+        GraphSnapshot snapshot = GraphGenerator.grid(side, side).toDOTGraph().snapshot();
+        double[] scores = new GraphAnalytics(snapshot).betweenness(snapshot.vertexCount(), 1L);
+
+        // Paths from (r1, c1) to (r2, c2) on a right/down grid: C(r2 - r1 + c2 - c1, r2 - r1)
+        double[][] binomial = new double[2 * side][2 * side];
+        for (int i = 0; i < 2 * side; i++) {
+            binomial[i][0] = 1;
+            for (int j = 1; j <= i; j++) {
+                binomial[i][j] = binomial[i - 1][j - 1] + (j < i ? binomial[i - 1][j] : 0);
+            }
+        }
+        assertTrue(binomial[2 * side - 2][side - 1] > Long.MAX_VALUE);
+
+        for (int[] cell : new int[][]{{20, 20}, {5, 30}, {1, 1}}) {
+            int r = cell[0];
+            int c = cell[1];
+            double expected = 0;
+            for (int r1 = 0; r1 <= r; r1++) {
+                for (int c1 = 0; c1 <= c; c1++) {
+                    for (int r2 = r; r2 < side; r2++) {
+                        for (int c2 = c; c2 < side; c2++) {
+                            if ((r1 == r && c1 == c) || (r2 == r && c2 == c)) {
+                                continue;
+                            }
+                            double through = binomial[r - r1 + c - c1][r - r1] * binomial[r2 - r + c2 - c][r2 - r];
+                            expected += through / binomial[r2 - r1 + c2 - c1][r2 - r1];
+                        }
+                    }
+                }
+            }
+            double actual = scores[snapshot.idOf(GraphGenerator.node(r * side + c))];
+            assertEquals(expected, actual, expected * 1e-9);
+        }
+    }
+
+    /**
+     * Test that computed scores are written back as node attributes
+     */
+    @Test
+    public void testWriteAttributes() {
+        graph.computeCentrality(10);
+
+        assertNotNull(graph.getNodeAttribute("HUB", GraphAnalytics.PAGERANK));
+        assertNotNull(graph.getNodeAttribute("A", GraphAnalytics.BETWEENNESS));
+        assertEquals("\"HUB\"", graph.getNodeAttribute("HUB", "label"));
+    }
+}
@@ -0,0 +1,179 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for graph diffs and patches
+ */
+public class GraphDiffTest {
+
+    @TempDir
+    java.nio.file.Path tempDir;
+
+    /**
+     * Build the graph a -> b -> c -> d with a color on b and a weight on b -> c
+     */
+    private DOTGraph before() {
+        DOTGraph dotGraph = new DOTGraph();
+        dotGraph.addNodes(new String[]{"a", "b", "c", "d"});
+        dotGraph.addEdge("a", "b");
+        dotGraph.addEdge("b", "c");
+        dotGraph.addEdge("c", "d");
+        dotGraph.setNodeAttribute("b", "color", "red");
+        dotGraph.setEdgeAttribute("b", "c", "weight", "1");
+        return dotGraph;
+    }
+
+    /**
+     * The same graph with d removed, e added, b recolored and the weight dropped
+     */
+    private DOTGraph after() {
+        DOTGraph dotGraph = new DOTGraph();
+        dotGraph.addNodes(new String[]{"a", "b", "c", "e"});
+        dotGraph.addEdge("a", "b");
+        dotGraph.addEdge("b", "c");
+        dotGraph.addEdge("c", "e");
+        dotGraph.addEdge("a", "e");
+        dotGraph.setNodeAttribute("b", "color", "blue");
+        dotGraph.setEdgeAttribute("a", "e", "style", "dashed");
+        return dotGraph;
+    }
+
+    /**
+     * Test that comparing a graph with an equal one finds no changes
+     */
+    @Test
+    public void testEqualGraphsHaveEmptyDiff() {
+        GraphDiff diff = before().diff(before());
+        assertTrue(diff.isEmpty());
+        assertEquals(0, diff.size());
+    }
+
+    /**
+     * Test that added and removed nodes and edges and attribute changes are listed
+     */
+    @Test
+    public void testDiffListsChanges() {
+        GraphDiff diff = before().diff(after());
+
+        assertEquals(Collections.singletonList("e"), diff.getAddedNodes());
+        assertEquals(Collections.singletonList("d"), diff.getRemovedNodes());
+        assertEquals(Collections.singletonList(new GraphDiff.Edge("c", "d")), diff.getRemovedEdges());
+        assertEquals(2, diff.getAddedEdges().size());
+        assertTrue(diff.getAddedEdges().containsAll(Arrays.asList(
+                new GraphDiff.Edge("c", "e"), new GraphDiff.Edge("a", "e"))));
+
+        // b recolored, e labelled, weight dropped, style added
+        List<GraphDiff.AttributeChange> changes = diff.getAttributeChanges();
+        assertEquals(4, changes.size());
+        GraphDiff.AttributeChange color = changes.stream()
+                .filter(c -> c.getName().equals("color")).findFirst().orElseThrow();
+        assertFalse(color.isEdgeAttribute());
+        assertEquals("b", color.getSource());
+        assertEquals("red", color.getOldValue());
+        assertEquals("blue", color.getNewValue());
+        GraphDiff.AttributeChange weight = changes.stream()
+                .filter(c -> c.getName().equals("weight")).findFirst().orElseThrow();
+        assertTrue(weight.isEdgeAttribute());
+        assertEquals("1", weight.getOldValue());
+        assertNull(weight.getNewValue());
+    }
+
+    /**
+     * Test that applying a diff to the first graph turns it into the second
+     */
+    @Test
+    public void testPatchTurnsFirstGraphIntoSecond() {
+        DOTGraph first = before();
+        DOTGraph second = after();
+        first.createAttributeIndex("color", false);
+
+        first.applyPatch(first.diff(second));
+
+        assertEquals(second.contentHash(), first.contentHash());
+        assertTrue(first.diff(second).isEmpty());
+        assertEquals("dashed", first.getEdgeAttribute("a", "e", "style"));
+        assertNull(first.getEdgeAttribute("b", "c", "weight"));
+        assertEquals(Collections.singleton("b"), first.findNodes("color", "blue"));
+        assertTrue(first.findNodes("color", "red").isEmpty());
+    }
+
+    /**
+     * Test that a patch that does not fit the graph is rejected without changes
+     */
+    @Test
+    public void testPatchThatDoesNotFitChangesNothing() {
+        GraphDiff patch = before().diff(after());
+        DOTGraph other = before();
+        other.setNodeAttribute("b", "color", "green");
+        long hash = other.contentHash();
+
+        assertThrows(IllegalArgumentException.class, () -> other.applyPatch(patch));
+        assertEquals(hash, other.contentHash());
+        assertTrue(other.getGraph().containsVertex("d"));
+
+        // Applying twice fails because the removed node is already gone
+        DOTGraph first = before();
+        first.applyPatch(patch);
+        assertThrows(IllegalArgumentException.class, () -> first.applyPatch(patch));
+    }
+
+    /**
+     * Test comparing two DOT files parsed on a shared or a default executor
+     */
+    @Test
+    public void testCompareFiles() throws IOException {
+        java.nio.file.Path first = tempDir.resolve("before.dot");
+        java.nio.file.Path second = tempDir.resolve("after.dot");
+        Files.writeString(first, "digraph G {\n  a -> b;\n  b -> c;\n}\n");
+        Files.writeString(second, "digraph G {\n  b -> c;\n  a -> c;\n}\n");
+
+        GraphDiff diff = GraphDiff.compareFiles(first.toString(), second.toString());
+        assertNotNull(diff);
+        assertTrue(diff.getAddedNodes().isEmpty());
+        assertEquals(Collections.singletonList(new GraphDiff.Edge("a", "b")), diff.getRemovedEdges());
+        assertEquals(Collections.singletonList(new GraphDiff.Edge("a", "c")), diff.getAddedEdges());
+
+        assertNull(GraphDiff.compareFiles(first.toString(), tempDir.resolve("missing.dot").toString()));
+
+        ExecutorService ioExecutor = Executors.newFixedThreadPool(2);
+        try {
+            GraphDiff shared = GraphDiff.compareFiles(first.toString(), second.toString(), ioExecutor);
+            assertEquals(diff.getAddedEdges(), shared.getAddedEdges());
+            assertEquals(diff.getRemovedEdges(), shared.getRemovedEdges());
+            assertFalse(ioExecutor.isShutdown());
+        } finally {
+            ioExecutor.shutdown();
+        }
+    }
+
+    /**
+     * Test that the text form lists one change per line
+     */
+    @Test
+    public void testWriteListsOneChangePerLine() throws IOException {
+        StringWriter out = new StringWriter();
+        before().diff(after()).write(out);
+        String text = out.toString();
+
+        assertTrue(text.contains("- node d\n"));
+        assertTrue(text.contains("+ node e\n"));
+        assertTrue(text.contains("- edge c -> d\n"));
+        assertTrue(text.contains("+ edge a -> e\n"));
+        assertTrue(text.contains("~ node b color: red => blue\n"));
+        assertTrue(text.contains("~ edge b -> c weight: 1 => (none)\n"));
+        assertEquals(9, text.split("\n").length);
+    }
+}
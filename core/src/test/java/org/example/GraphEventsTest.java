@@ -0,0 +1,129 @@
+package org.example;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the Java Flight Recorder events
+ */
+public class GraphEventsTest {
+
+    @TempDir
+    java.nio.file.Path tempDir;
+
+    /**
+     * Test that parse, search and render calls emit events with their counters
+     */
+    @Test
+    public void testEventsAreRecorded() throws IOException {
+        java.nio.file.Path dot = tempDir.resolve("chain.dot");
+        GraphGenerator.chain(20).writeDOT(dot.toString());
+
+        List<RecordedEvent> events = new ArrayList<>();
+        java.nio.file.Path jfr = tempDir.resolve("events.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("org.example.Parse").withThreshold(java.time.Duration.ZERO);
+            recording.enable("org.example.Search").withThreshold(java.time.Duration.ZERO);
+            recording.enable("org.example.Render").withThreshold(java.time.Duration.ZERO);
+            recording.enable("org.example.Phase").withThreshold(java.time.Duration.ZERO);
+            recording.start();
+
+            DOTGraph graph = new DOTGraph();
+            assertTrue(graph.parseGraph(dot.toString()));
+            assertNotNull(graph.graphSearch("n0", "n19", Algorithm.BFS));
+            assertNotNull(graph.graphSearch("n0", "n19", Algorithm.DFS));
+            assertTrue(graph.outputGraphics(tempDir.resolve("chain.svg").toString(), "svg"));
+
+            recording.stop();
+            recording.dump(jfr);
+        }
+        events.addAll(RecordingFile.readAllEvents(jfr));
+
+        RecordedEvent parse = only(events, "org.example.Parse");
+        assertEquals(dot.toString(), parse.getString("path"));
+        assertEquals(20, parse.getInt("vertexCount"));
+        assertEquals(19, parse.getInt("edgeCount"));
+        assertTrue(parse.getLong("bytes") > 0);
+        assertTrue(parse.getBoolean("success"));
+
+        List<RecordedEvent> searches = named(events, "org.example.Search");
+        assertEquals(2, searches.size());
+        for (RecordedEvent search : searches) {
+            assertEquals(20, search.getInt("visitedVertices"));
+            assertEquals(19, search.getLong("examinedEdges"));
+            assertEquals(20, search.getInt("pathLength"));
+        }
+        // A chain keeps the BFS queue at one node but drives DFS to full depth
+        assertEquals(Set.of(1, 20), searches.stream()
+                .map(e -> e.getInt("frontierPeak")).collect(Collectors.toSet()));
+
+        RecordedEvent render = only(events, "org.example.Render");
+        assertEquals("svg", render.getString("format"));
+        assertEquals("native", render.getString("engine"));
+        assertTrue(render.getBoolean("success"));
+
+        Set<String> phases = named(events, "org.example.Phase").stream()
+                .map(e -> e.getString("operation") + "." + e.getString("phase"))
+                .collect(Collectors.toSet());
+        assertTrue(phases.containsAll(Set.of("parseGraph.read", "parseGraph.import", "parseGraph.index",
+                "outputGraphics.layout", "outputGraphics.encode")), phases.toString());
+    }
+
+    /**
+     * Test that failed renders and searches from a node to itself still emit events.
+     * The core module has no renderer, so PNG output fails too.
+     */
+    @Test
+    public void testEventsOnEveryExitPath() throws IOException {
+        java.nio.file.Path jfr = tempDir.resolve("failures.jfr");
+        String unwritable = tempDir.resolve("missing").resolve("graph.svg").toString();
+        try (Recording recording = new Recording()) {
+            recording.enable("org.example.Search").withThreshold(java.time.Duration.ZERO);
+            recording.enable("org.example.Render").withThreshold(java.time.Duration.ZERO);
+            recording.start();
+
+            DOTGraph graph = GraphGenerator.chain(5).toDOTGraph();
+            assertNotNull(graph.graphSearch("n2", "n2", Algorithm.DFS));
+            assertFalse(graph.outputGraphics(tempDir.resolve("graph.jpg").toString(), "jpg"));
+            assertFalse(graph.outputGraphics(unwritable, "svg"));
+            assertFalse(graph.outputGraphics(tempDir.resolve("graph.png").toString(), "png"));
+
+            recording.stop();
+            recording.dump(jfr);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(jfr);
+
+        RecordedEvent search = only(events, "org.example.Search");
+        assertEquals("DFS", search.getString("algorithm"));
+        assertEquals(1, search.getInt("visitedVertices"));
+        assertEquals(1, search.getInt("pathLength"));
+
+        List<RecordedEvent> renders = named(events, "org.example.Render");
+        assertEquals(Set.of("jpg", "svg", "png"), renders.stream()
+                .map(e -> e.getString("format")).collect(Collectors.toSet()));
+        for (RecordedEvent render : renders) {
+            assertFalse(render.getBoolean("success"));
+        }
+    }
+
+    private static List<RecordedEvent> named(List<RecordedEvent> events, String name) {
+        return events.stream().filter(e -> e.getEventType().getName().equals(name)).collect(Collectors.toList());
+    }
+
+    private static RecordedEvent only(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = named(events, name);
+        assertEquals(1, matching.size(), name);
+        return matching.get(0);
+    }
+}
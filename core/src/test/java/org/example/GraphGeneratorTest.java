@@ -0,0 +1,105 @@
+package org.example;
+
+import org.jgrapht.graph.DefaultEdge;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the synthetic graph generators
+ */
+public class GraphGeneratorTest {
+
+    @TempDir
+    java.nio.file.Path tempDir;
+
+    /**
+     * Test the exact shapes of the deterministic generators
+     */
+    @Test
+    public void testChainAndGrid() {
+        DOTGraph chain = GraphGenerator.chain(5).toDOTGraph();
+        assertEquals(5, chain.getVertexCount());
+        assertEquals(4, chain.getEdgeCount());
+        assertTrue(chain.getGraph().containsEdge("n3", "n4"));
+
+        DOTGraph grid = GraphGenerator.grid(3, 4).toDOTGraph();
+        assertEquals(12, grid.getVertexCount());
+        // 3 rows of 3 horizontal edges, 2 rows of 4 vertical edges
+        assertEquals(17, grid.getEdgeCount());
+        assertTrue(grid.getGraph().containsEdge("n0", "n4"));
+
+        assertThrows(IllegalArgumentException.class, () -> GraphGenerator.chain(0));
+    }
+
+    /**
+     * Test that layered DAGs only connect adjacent layers and have no cycles
+     */
+    @Test
+    public void testLayeredDag() {
+        DOTGraph dag = GraphGenerator.layeredDag(4, 10, 3, 7).toDOTGraph();
+        assertEquals(40, dag.getVertexCount());
+        assertEquals(3 * 10 * 3, dag.getEdgeCount());
+        assertFalse(dag.hasCycle());
+        for (String vertex : dag.getGraph().vertexSet()) {
+            int layer = Integer.parseInt(vertex.substring(1)) / 10;
+            assertEquals(layer == 0 ? 0 : 3, dag.getGraph().inDegreeOf(vertex));
+        }
+    }
+
+    /**
+     * Test preferential attachment edge counts and hub formation
+     */
+    @Test
+    public void testBarabasiAlbert() {
+        DOTGraph graph = GraphGenerator.barabasiAlbert(2000, 3, 11).toDOTGraph();
+        assertEquals(2000, graph.getVertexCount());
+        // Core of 4 fully connected nodes, then 3 edges per remaining node
+        assertEquals(6 + 1996 * 3, graph.getEdgeCount());
+
+        int maxDegree = 0;
+        for (String vertex : graph.getGraph().vertexSet()) {
+            maxDegree = Math.max(maxDegree, graph.getGraph().degreeOf(vertex));
+        }
+        assertTrue(maxDegree > 50, "expected hubs, max degree was " + maxDegree);
+    }
+
+    /**
+     * Test that generators are reproducible and seeds matter
+     */
+    @Test
+    public void testSeeds() {
+        long first = GraphGenerator.rmat(10, 8, 1).toDOTGraph().contentHash();
+        long again = GraphGenerator.rmat(10, 8, 1).toDOTGraph().contentHash();
+        long other = GraphGenerator.rmat(10, 8, 2).toDOTGraph().contentHash();
+        assertEquals(first, again);
+        assertNotEquals(first, other);
+
+        DOTGraph rmat = GraphGenerator.rmat(10, 8, 1).toDOTGraph();
+        assertEquals(1024, rmat.getVertexCount());
+        assertTrue(rmat.getEdgeCount() > 1024 * 4);
+    }
+
+    /**
+     * Test that a streamed file parses back into the same graph
+     */
+    @Test
+    public void testStreamedFileRoundTrip() throws IOException {
+        GraphGenerator generator = GraphGenerator.rmat(8, 4, 3);
+        String path = tempDir.resolve("rmat.dot").toString();
+        generator.writeDOT(path);
+
+        DOTGraph parsed = new DOTGraph();
+        assertTrue(parsed.parseGraph(path));
+        DOTGraph built = generator.toDOTGraph();
+        assertEquals(built.getVertexCount(), parsed.getVertexCount());
+        assertEquals(built.getEdgeCount(), parsed.getEdgeCount());
+        for (DefaultEdge edge : built.getGraph().edgeSet()) {
+            assertTrue(parsed.getGraph().containsEdge(
+                    built.getGraph().getEdgeSource(edge), built.getGraph().getEdgeTarget(edge)));
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package org.example;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the graph query server
+ */
+public class GraphServerTest {
+
+    @TempDir
+    java.nio.file.Path tempDir;
+
+    private GraphServer server;
+
+    @AfterEach
+    public void tearDown() {
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    /**
+     * A connected client that sends one line and reads one reply
+     */
+    private static final class Client implements AutoCloseable {
+        private final SocketChannel channel;
+        private final BufferedReader in;
+        private final Writer out;
+
+        Client(java.net.SocketAddress address) throws IOException {
+            channel = SocketChannel.open(address);
+            in = new BufferedReader(new InputStreamReader(Channels.newInputStream(channel), StandardCharsets.UTF_8));
+            out = new OutputStreamWriter(Channels.newOutputStream(channel), StandardCharsets.UTF_8);
+        }
+
+        String send(String request) throws IOException {
+            out.write(request + "\n");
+            out.flush();
+            return in.readLine();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * Test every command over TCP
+     */
+    @Test
+    public void testProtocol() throws IOException {
+        server = new GraphServer(GraphGenerator.chain(5).toDOTGraph(), tempDir);
+        server.startTcp(0);
+
+        try (Client client = new Client(server.getLocalAddress())) {
+            assertEquals("OK n0 n1 n2 n3 n4", client.send("SEARCH BFS n0 n4"));
+            assertEquals("OK n1 n2", client.send("SEARCH DFS n1 n2"));
+            assertEquals("OK NONE", client.send("SEARCH BFS n4 n0"));
+            assertEquals("ERR Destination node 'x' does not exist.", client.send("SEARCH BFS n0 x"));
+            assertEquals("ERR Unknown algorithm: A*", client.send("SEARCH A* n0 n1"));
+
+            assertEquals("OK", client.send("ADDNODE x"));
+            assertEquals("OK", client.send("ADDEDGE n4 x"));
+            assertEquals("OK n0 n1 n2 n3 n4 x", client.send("SEARCH BFS n0 x"));
+            assertEquals("OK 6 5", client.send("STATS"));
+            assertEquals("OK", client.send("REMOVEEDGE n4 x"));
+            assertEquals("OK", client.send("REMOVENODE x"));
+            assertTrue(client.send("REMOVENODE x").startsWith("ERR"));
+
+            assertEquals("OK", client.send("EXPORT export.dot"));
+            assertTrue(Files.readString(tempDir.resolve("export.dot")).contains("n4"));
+
+            assertTrue(client.send("ADDEDGE n0").startsWith("ERR ADDEDGE takes 2 arguments"));
+            assertEquals("ERR Unknown command: HELLO", client.send("HELLO"));
+            assertEquals("OK", client.send("QUIT"));
+        }
+    }
+
+    /**
+     * Test that exports cannot leave the export directory, and are off without one
+     */
+    @Test
+    public void testExportIsConfined() throws IOException {
+        java.nio.file.Path exports = Files.createDirectory(tempDir.resolve("exports"));
+        server = new GraphServer(GraphGenerator.chain(3).toDOTGraph(), exports);
+        server.startTcp(0);
+
+        try (Client client = new Client(server.getLocalAddress())) {
+            assertTrue(client.send("EXPORT ../escape.dot").startsWith("ERR"));
+            assertTrue(client.send("EXPORT sub/../../escape.dot").startsWith("ERR"));
+            assertTrue(client.send("EXPORT " + tempDir.resolve("escape.dot")).startsWith("ERR"));
+            assertFalse(Files.exists(tempDir.resolve("escape.dot")));
+            assertEquals("OK", client.send("EXPORT inside.dot"));
+            assertTrue(Files.exists(exports.resolve("inside.dot")));
+        }
+
+        assertEquals("ERR EXPORT is disabled.",
+                new GraphServer(GraphGenerator.chain(3).toDOTGraph()).handle("EXPORT inside.dot"));
+    }
+
+    /**
+     * Test that a search that blows up gets an error and later searches are still answered
+     */
+    @Test
+    public void testFailingSearchDoesNotStopServer() throws IOException {
+        // Deep enough for the recursive DFS to overflow the stack
+        server = new GraphServer(GraphGenerator.chain(200_000).toDOTGraph());
+        server.startTcp(0);
+
+        try (Client client = new Client(server.getLocalAddress())) {
+            String failed = client.send("SEARCH DFS n0 n199999");
+            assertTrue(failed.startsWith("ERR Search failed"), failed);
+            assertEquals("OK n0 n1 n2", client.send("SEARCH BFS n0 n2"));
+            assertEquals("OK n5 n6", client.send("SEARCH DFS n5 n6"));
+        }
+
+        // Searches after close are refused rather than left waiting
+        server.close();
+        assertEquals("ERR Server is not running", server.handle("SEARCH BFS n0 n1"));
+    }
+
+    /**
+     * Test that many clients on a Unix socket share one graph and their searches are batched
+     */
+    @Test
+    public void testConcurrentClientsAreBatched() throws Exception {
+        server = new GraphServer(GraphGenerator.grid(30, 30).toDOTGraph());
+        java.nio.file.Path socket = tempDir.resolve("graph.sock");
+        server.startUnix(socket);
+        UnixDomainSocketAddress address = UnixDomainSocketAddress.of(socket);
+
+        ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+        List<Future<String>> replies = new ArrayList<>();
+        for (int c = 0; c < 50; c++) {
+            int id = c;
+            replies.add(clients.submit(() -> {
+                try (Client client = new Client(address)) {
+                    String last = null;
+                    for (int i = 0; i < 20; i++) {
+                        last = client.send("SEARCH BFS n0 n" + (899 - (id + i) % 30));
+                        assertTrue(last.startsWith("OK n0 "), last);
+                    }
+                    return client.send("SEARCH BFS n0 n899");
+                }
+            }));
+        }
+        for (Future<String> reply : replies) {
+            String path = reply.get();
+            // Shortest path across a 30x30 grid has 59 nodes
+            assertEquals(59, path.split(" ").length - 1);
+        }
+        clients.shutdown();
+        assertTrue(server.getLargestBatch() >= 1);
+
+        server.close();
+        assertFalse(Files.exists(socket));
+    }
+
+    /**
+     * Test that a multi-target BFS returns the same paths as separate searches
+     */
+    @Test
+    public void testSearchAllMatchesSingleSearches() {
+        DOTGraph graph = GraphGenerator.rmat(9, 4, 5).toDOTGraph();
+        List<String> targets = new ArrayList<>();
+        for (int i = 0; i < 512; i += 7) {
+            targets.add(GraphGenerator.node(i));
+        }
+        java.util.Map<String, Path> paths = graph.graphSearchAll("n0", targets);
+        for (String target : targets) {
+            assertEquals(graph.graphSearch("n0", target, Algorithm.BFS), paths.get(target), target);
+        }
+    }
+}
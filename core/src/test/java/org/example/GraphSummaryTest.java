@@ -0,0 +1,125 @@
+package org.example;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for collapsed (level-of-detail) graph views
+ */
+public class GraphSummaryTest {
+
+    @TempDir
+    java.nio.file.Path tempDir;
+
+    private DOTGraph graph;
+
+    @BeforeEach
+    public void setUp() {
+        // Two cycles A-B-C and D-E-F joined by two edges, plus a lone node G
+        graph = new DOTGraph();
+        graph.addNodes(new String[]{"A", "B", "C", "D", "E", "F", "G"});
+        graph.addEdge("A", "B");
+        graph.addEdge("B", "C");
+        graph.addEdge("C", "A");
+        graph.addEdge("D", "E");
+        graph.addEdge("E", "F");
+        graph.addEdge("F", "D");
+        graph.addEdge("A", "D");
+        graph.addEdge("B", "E");
+        graph.setEdgeAttribute("A", "B", "color", "red");
+    }
+
+    /**
+     * Test that strongly connected components become super-nodes with aggregated edges
+     */
+    @Test
+    public void testComponents() {
+        GraphSummary summary = graph.summarizeByComponents();
+
+        assertEquals(3, summary.getClusterCount());
+        assertEquals(summary.clusterOf("A"), summary.clusterOf("C"));
+        assertEquals(summary.clusterOf("D"), summary.clusterOf("F"));
+        assertNotEquals(summary.clusterOf("A"), summary.clusterOf("D"));
+        assertEquals(-1, summary.clusterOf("Z"));
+
+        DOTGraph collapsed = summary.toDOTGraph();
+        String abc = GraphSummary.clusterName(summary.clusterOf("A"));
+        String def = GraphSummary.clusterName(summary.clusterOf("D"));
+        assertEquals(3, collapsed.getVertexCount());
+        assertEquals(1, collapsed.getEdgeCount());
+        assertEquals("2", collapsed.getEdgeAttribute(abc, def, "count"));
+        assertEquals("3", collapsed.getNodeAttribute(abc, "size"));
+        assertEquals("3", collapsed.getNodeAttribute(abc, "internalEdges"));
+    }
+
+    /**
+     * Test that a long chain doesn't overflow the stack
+     */
+    @Test
+    public void testLongChain() {
+        DOTGraph chain = new DOTGraph();
+        int n = 50000;
+        for (int i = 0; i < n; i++) {
+            chain.getGraph().addVertex("n" + i);
+        }
+        for (int i = 1; i < n; i++) {
+            chain.getGraph().addEdge("n" + (i - 1), "n" + i);
+        }
+        chain.getGraph().addEdge("n" + (n - 1), "n0");
+
+        assertEquals(1, chain.summarizeByComponents().getClusterCount());
+    }
+
+    /**
+     * Test that label propagation separates loosely joined groups
+     */
+    @Test
+    public void testCommunities() {
+        GraphSummary summary = graph.summarizeByCommunities(20);
+
+        assertEquals(summary.clusterOf("A"), summary.clusterOf("B"));
+        assertEquals(summary.clusterOf("D"), summary.clusterOf("E"));
+        assertNotEquals(summary.clusterOf("G"), summary.clusterOf("A"));
+        assertTrue(summary.getClusterCount() >= 2);
+    }
+
+    /**
+     * Test expanding a cluster back into its nodes, and bad cluster ids
+     */
+    @Test
+    public void testDrillDown() {
+        GraphSummary summary = graph.summarizeByComponents();
+        DOTGraph cluster = summary.drillDown(summary.clusterOf("B"));
+
+        assertEquals(3, cluster.getVertexCount());
+        assertEquals(3, cluster.getEdgeCount());
+        assertEquals("red", cluster.getEdgeAttribute("A", "B", "color"));
+
+        assertThrows(IllegalArgumentException.class, () -> summary.drillDown(-1));
+        assertThrows(IllegalArgumentException.class, () -> summary.drillDown(summary.getClusterCount()));
+    }
+
+    /**
+     * Test exporting and rendering the collapsed view
+     */
+    @Test
+    public void testOutput() throws Exception {
+        GraphSummary summary = graph.summarizeByComponents();
+        File dot = tempDir.resolve("summary.dot").toFile();
+        File svg = tempDir.resolve("summary.svg").toFile();
+
+        assertTrue(summary.outputDOTGraph(dot.getPath()));
+        assertTrue(summary.outputGraphics(svg.getPath(), "svg"));
+        assertTrue(svg.length() > 0);
+
+        String content = Files.readString(dot.toPath());
+        assertTrue(content.contains("count=\"2\""));
+        assertFalse(content.contains(" A "));
+    }
+}
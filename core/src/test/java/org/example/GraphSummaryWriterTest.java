@@ -0,0 +1,93 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for streaming and partitioned graph summaries
+ */
+public class GraphSummaryWriterTest {
+
+    @TempDir
+    java.nio.file.Path tempDir;
+
+    /**
+     * Build a chain graph N0 -> N1 -> ... -> N(count-1)
+     */
+    private DOTGraph chain(int count) {
+        DOTGraph dotGraph = new DOTGraph();
+        for (int i = 0; i < count; i++) {
+            dotGraph.getGraph().addVertex("N" + i);
+            if (i > 0) {
+                dotGraph.getGraph().addEdge("N" + (i - 1), "N" + i);
+            }
+        }
+        return dotGraph;
+    }
+
+    /**
+     * Test that the streamed file matches toString for a small graph
+     */
+    @Test
+    public void testOutputMatchesToString() throws IOException {
+        DOTGraph dotGraph = chain(20);
+        String path = tempDir.resolve("summary.txt").toString();
+
+        assertTrue(dotGraph.outputGraph(path));
+        assertEquals(dotGraph.toString(), new String(Files.readAllBytes(Paths.get(path))));
+    }
+
+    /**
+     * Test that toString is truncated for large graphs while outputGraph is not
+     */
+    @Test
+    public void testToStringTruncated() throws IOException {
+        DOTGraph dotGraph = chain(DOTGraph.TO_STRING_LIMIT + 10);
+        String summary = dotGraph.toString();
+
+        assertTrue(summary.contains("... (10 more nodes)"));
+        assertTrue(summary.contains("... (9 more edges)"));
+
+        String path = tempDir.resolve("full.txt").toString();
+        assertTrue(dotGraph.outputGraph(path));
+        List<String> lines = Files.readAllLines(Paths.get(path));
+        assertTrue(lines.contains("  N1009"));
+        assertTrue(lines.contains("  N1008 -> N1009"));
+    }
+
+    /**
+     * Test that partitioned output covers every node and edge exactly once
+     */
+    @Test
+    public void testPartitionedOutput() throws IOException {
+        DOTGraph dotGraph = chain(100);
+        String base = tempDir.resolve("parts.txt").toString();
+
+        List<String> paths = GraphSummaryWriter.writePartitioned(dotGraph, base, 4);
+        assertEquals(4, paths.size());
+
+        int nodes = 0;
+        int edges = 0;
+        for (String path : paths) {
+            for (String line : Files.readAllLines(Paths.get(path))) {
+                if (line.startsWith("  ")) {
+                    if (line.contains(" -> ")) {
+                        edges++;
+                    } else {
+                        nodes++;
+                    }
+                }
+            }
+        }
+        assertEquals(100, nodes);
+        assertEquals(99, edges);
+        assertTrue(Files.readAllLines(Paths.get(paths.get(0))).get(0).startsWith("Graph Summary:"));
+    }
+}
@@ -0,0 +1,82 @@
+package org.example;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for cached layouts that are relaxed incrementally after mutations
+ */
+public class LayoutCacheTest {
+
+    private DOTGraph dotGraph;
+    private ForceDirectedLayout engine;
+
+    @BeforeEach
+    public void setUp() {
+        // Chain N0 -> N1 -> ... -> N29
+        dotGraph = new DOTGraph();
+        for (int i = 0; i < 30; i++) {
+            dotGraph.addNode("N" + i);
+            if (i > 0) {
+                dotGraph.addEdge("N" + (i - 1), "N" + i);
+            }
+        }
+        engine = new ForceDirectedLayout(100);
+    }
+
+    private double[] position(GraphLayout layout, String vertex) {
+        int id = layout.getSnapshot().idOf(vertex);
+        return new double[]{layout.x()[id], layout.y()[id]};
+    }
+
+    /**
+     * Test that re-layout without changes returns identical positions
+     */
+    @Test
+    public void testUnchangedGraphIsStable() {
+        GraphLayout first = dotGraph.computeLayout(engine);
+        GraphLayout second = dotGraph.computeLayout(engine);
+
+        for (int i = 0; i < 30; i++) {
+            assertArrayEquals(position(first, "N" + i), position(second, "N" + i), 0.0);
+        }
+    }
+
+    /**
+     * Test that adding a node only moves its neighbourhood
+     */
+    @Test
+    public void testAddNodeRelaxesLocally() {
+        GraphLayout before = dotGraph.computeLayout(engine);
+
+        dotGraph.addNode("X");
+        dotGraph.addEdge("X", "N0");
+        GraphLayout after = dotGraph.computeLayout(engine);
+
+        // Far end of the chain keeps its place
+        assertArrayEquals(position(before, "N29"), position(after, "N29"), 0.0);
+        assertArrayEquals(position(before, "N15"), position(after, "N15"), 0.0);
+
+        // The new node lands next to the node it is attached to
+        double[] x = position(after, "X");
+        double[] n0 = position(after, "N0");
+        assertTrue(Math.hypot(x[0] - n0[0], x[1] - n0[1]) < 3.0);
+    }
+
+    /**
+     * Test that removed nodes are dropped and clearing forces a new layout
+     */
+    @Test
+    public void testRemoveAndClear() {
+        dotGraph.computeLayout(engine);
+        dotGraph.removeNode("N29");
+
+        GraphLayout after = dotGraph.computeLayout(engine);
+        assertEquals(29, after.getSnapshot().vertexCount());
+
+        dotGraph.clearLayoutCache();
+        assertNotNull(dotGraph.computeLayout(engine));
+    }
+}
@@ -0,0 +1,80 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the heap footprint report
+ */
+public class MemoryReportTest {
+
+    /**
+     * Test the size model against known JDK object sizes
+     */
+    @Test
+    public void testSizeModel() {
+        assertEquals(16, MemoryReport.align(13));
+        assertEquals(16, MemoryReport.align(16));
+        // A five-character Latin-1 string: 24-byte String plus a 24-byte byte[]
+        if (MemoryReport.COMPRESSED_OOPS) {
+            assertEquals(48, MemoryReport.string("hello"));
+            assertEquals(32, MemoryReport.HASH_MAP_NODE);
+            assertEquals(40, MemoryReport.LINKED_HASH_MAP_ENTRY);
+        }
+        // Non-Latin-1 strings take two bytes per character
+        assertTrue(MemoryReport.string("中文中文中文中文中文") > MemoryReport.string("abcdefghij"));
+        assertEquals(0, MemoryReport.hashTable(0));
+        assertEquals(MemoryReport.array(16, MemoryReport.REFERENCE), MemoryReport.hashTable(12));
+        assertEquals(MemoryReport.array(32, MemoryReport.REFERENCE), MemoryReport.hashTable(13));
+    }
+
+    /**
+     * Test that each structure is reported and grows with the graph
+     */
+    @Test
+    public void testBreakdown() {
+        DOTGraph graph = GraphGenerator.chain(1000).toDOTGraph();
+        MemoryReport bare = graph.memoryReport();
+        assertEquals(1000, bare.getVertexCount());
+        assertEquals(999, bare.getEdgeCount());
+        assertTrue(bare.getBytes("vertices") > 1000 * 64);
+        assertTrue(bare.getBytes("adjacency") > 999 * 100);
+        assertEquals(0, bare.getBytes("topologicalOrder"));
+        assertEquals(bare.getTotalBytes(),
+                bare.getBytesByStructure().values().stream().mapToLong(Long::longValue).sum());
+        assertTrue(bare.getBytesPerEdge() > 100 && bare.getBytesPerEdge() < 400, bare.toString());
+
+        for (int i = 0; i < 1000; i++) {
+            graph.setNodeAttribute(GraphGenerator.node(i), "color", i % 2 == 0 ? "red" : "blue");
+        }
+        graph.createAttributeIndex("color", true);
+        graph.enableTopologicalOrder(false);
+        MemoryReport full = graph.memoryReport();
+        assertTrue(full.getBytes("vertexAttributes") > 1000 * MemoryReport.HASH_MAP);
+        assertTrue(full.getBytes("attributeStrings") > 1000 * MemoryReport.string("red"));
+        assertTrue(full.getBytes("attributeIndexes") > 1000 * MemoryReport.HASH_MAP_NODE);
+        assertTrue(full.getBytes("topologicalOrder") > 1000 * MemoryReport.TREE_MAP_ENTRY);
+        assertEquals(bare.getBytes("adjacency"), full.getBytes("adjacency"));
+        assertTrue(full.getBytesPerVertex() > bare.getBytesPerVertex());
+        assertTrue(full.toString().contains("bytes per vertex"));
+    }
+
+    /**
+     * Test that shared attribute names are counted once
+     */
+    @Test
+    public void testSharedAttributeNames() {
+        DOTGraph graph = new DOTGraph();
+        graph.addNodes(new String[]{"A", "B"});
+        long one = graph.memoryReport().getBytes("attributeStrings");
+        graph.addNode("C");
+        long two = graph.memoryReport().getBytes("attributeStrings");
+        // Only the new label value is added, not another copy of "label"
+        assertEquals(MemoryReport.string("\"C\""), two - one);
+
+        DOTGraph empty = new DOTGraph();
+        assertEquals(0, empty.memoryReport().getBytesPerVertex());
+        assertEquals(0, empty.memoryReport().getBytesPerEdge());
+    }
+}
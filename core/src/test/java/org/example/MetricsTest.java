@@ -0,0 +1,131 @@
+package org.example;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for latency histograms and the metrics registry
+ */
+public class MetricsTest {
+
+    @TempDir
+    java.nio.file.Path tempDir;
+
+    @AfterEach
+    public void tearDown() {
+        Metrics.setEnabled(true);
+    }
+
+    /**
+     * Test bucket boundaries and percentile accuracy
+     */
+    @Test
+    public void testHistogram() {
+        // Small values are exact, large ones land in a bucket that contains them
+        for (long value : new long[]{0, 1, 31, 32, 63, 64, 1000, 123456789, Long.MAX_VALUE}) {
+            int bucket = LatencyHistogram.bucketOf(value);
+            assertTrue(LatencyHistogram.highestValueIn(bucket) >= value);
+            if (bucket > 0) {
+                assertTrue(LatencyHistogram.highestValueIn(bucket - 1) < value);
+            }
+        }
+
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 10000; i++) {
+            histogram.record(i * 1000L);
+        }
+        assertEquals(10000, histogram.getCount());
+        assertEquals(10_000_000, histogram.getMax());
+        assertEquals(5_000_500, histogram.getMean(), 1);
+        assertEquals(5_000_000, histogram.getValueAtPercentile(50), 5_000_000 * 0.04);
+        assertEquals(9_900_000, histogram.getValueAtPercentile(99), 9_900_000 * 0.04);
+        assertEquals(10_000_000, histogram.getValueAtPercentile(100));
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getValueAtPercentile(50));
+    }
+
+    /**
+     * Test that graph operations are timed per operation and per algorithm
+     */
+    @Test
+    public void testOperationsAreRecorded() {
+        long before = Metrics.histogram("graphSearch.BFS").getCount();
+        long addsBefore = Metrics.histogram("addEdge").getCount();
+
+        DOTGraph graph = new DOTGraph();
+        graph.addNodes(new String[]{"A", "B", "C"});
+        graph.addEdge("A", "B");
+        graph.addEdge("B", "C");
+        graph.graphSearch("A", "C", Algorithm.BFS);
+        // A search from a node to itself is timed too
+        graph.graphSearch("A", "A", Algorithm.BFS);
+
+        assertEquals(before + 2, Metrics.histogram("graphSearch.BFS").getCount());
+        assertEquals(addsBefore + 2, Metrics.histogram("addEdge").getCount());
+        assertTrue(Metrics.operations().contains("addNode"));
+    }
+
+    /**
+     * Test that exports are timed on cache hits and failures as well as fresh writes
+     */
+    @Test
+    public void testExportsAreRecorded() {
+        long dotBefore = Metrics.histogram("outputDOTGraph").getCount();
+        long graphicsBefore = Metrics.histogram("outputGraphics").getCount();
+
+        DOTGraph graph = new DOTGraph();
+        graph.addNodes(new String[]{"A", "B"});
+        graph.addEdge("A", "B");
+        graph.setExportCache(new ExportCache(tempDir.resolve("cache").toString(), 1 << 20));
+
+        String dot = tempDir.resolve("graph.dot").toString();
+        assertTrue(graph.outputDOTGraph(dot));
+        assertTrue(graph.outputDOTGraph(dot));
+        assertFalse(graph.outputDOTGraph(tempDir.resolve("missing").resolve("graph.dot").toString()));
+        assertEquals(dotBefore + 3, Metrics.histogram("outputDOTGraph").getCount());
+
+        String svg = tempDir.resolve("graph.svg").toString();
+        assertTrue(graph.outputGraphics(svg, "svg"));
+        assertTrue(graph.outputGraphics(svg, "svg"));
+        assertFalse(graph.outputGraphics(svg, "gif"));
+        assertEquals(graphicsBefore + 3, Metrics.histogram("outputGraphics").getCount());
+    }
+
+    /**
+     * Test that nothing is recorded while disabled
+     */
+    @Test
+    public void testDisabled() {
+        long before = Metrics.histogram("addNode").getCount();
+        Metrics.setEnabled(false);
+        assertEquals(0, Metrics.start());
+
+        DOTGraph graph = new DOTGraph();
+        graph.addNode("A");
+        assertEquals(before, Metrics.histogram("addNode").getCount());
+    }
+
+    /**
+     * Test that histograms are visible over JMX
+     */
+    @Test
+    public void testJmx() throws Exception {
+        Metrics.record("jmxTest", Metrics.start());
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName("org.example:type=Metrics,name=" + ObjectName.quote("jmxTest"));
+        assertTrue(server.isRegistered(name));
+        assertEquals(1L, server.getAttribute(name, "Count"));
+        assertNotNull(server.getAttribute(name, "P99Micros"));
+    }
+}
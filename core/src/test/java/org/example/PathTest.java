@@ -0,0 +1,77 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the Path class
+ */
+public class PathTest {
+
+    /**
+     * Test that appending leaves the original path unchanged
+     */
+    @Test
+    public void testAppendSharesPrefix() {
+        Path base = new Path(Arrays.asList("A", "B"));
+        Path left = base.append("C");
+        Path right = base.append("D");
+
+        assertEquals("A -> B", base.toString());
+        assertEquals("A -> B -> C", left.toString());
+        assertEquals("A -> B -> D", right.toString());
+        assertEquals(2, base.length());
+        assertEquals(3, left.length());
+        assertEquals("D", right.getLastNode());
+    }
+
+    /**
+     * Test that the node list is read-only and in path order
+     */
+    @Test
+    public void testGetNodesIsUnmodifiable() {
+        Path path = new Path("A");
+        path.addNode("B");
+        path.addNode("C");
+
+        List<String> nodes = path.getNodes();
+        assertEquals(Arrays.asList("A", "B", "C"), nodes);
+        assertThrows(UnsupportedOperationException.class, () -> nodes.add("D"));
+    }
+
+    /**
+     * Test that copies are independent of later changes to the original
+     */
+    @Test
+    public void testCopyIsIndependent() {
+        Path original = new Path("A");
+        original.addNode("B");
+        String before = original.toString();
+
+        Path copy = new Path(original);
+        original.addNode("C");
+
+        assertEquals(before, copy.toString());
+        assertEquals("A -> B -> C", original.toString());
+        assertEquals(2, copy.length());
+    }
+
+    /**
+     * Test equality and hashing between paths built in different ways
+     */
+    @Test
+    public void testEqualsAndHashCode() {
+        Path built = new Path("A").append("B").append("C");
+        Path fromList = new Path(Arrays.asList("A", "B", "C"));
+
+        assertEquals(built, fromList);
+        assertEquals(built.hashCode(), fromList.hashCode());
+        assertNotEquals(built, new Path(Arrays.asList("A", "B")));
+        assertEquals("Empty path", new Path().toString());
+        assertTrue(new Path().isEmpty());
+    }
+}
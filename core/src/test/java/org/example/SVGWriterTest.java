@@ -0,0 +1,204 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for streaming SVG export
+ */
+public class SVGWriterTest {
+
+    @TempDir
+    java.nio.file.Path tempDir;
+
+    /**
+     * Build a layout from explicit positions; vertex i is named "n" + i
+     */
+    private GraphLayout layout(double[][] positions, int[][] edges) {
+        DOTGraph dotGraph = new DOTGraph();
+        for (int i = 0; i < positions.length; i++) {
+            dotGraph.getGraph().addVertex("n" + i);
+        }
+        for (int[] edge : edges) {
+            dotGraph.getGraph().addEdge("n" + edge[0], "n" + edge[1]);
+        }
+        GraphSnapshot snapshot = dotGraph.snapshot();
+
+        double[] x = new double[positions.length];
+        double[] y = new double[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            x[snapshot.idOf("n" + i)] = positions[i][0];
+            y[snapshot.idOf("n" + i)] = positions[i][1];
+        }
+        return new GraphLayout(snapshot, x, y);
+    }
+
+    private static int count(String text, String element) {
+        return text.split(element, -1).length - 1;
+    }
+
+    /**
+     * Test a full export of a small graph, including label escaping
+     */
+    @Test
+    public void testFullExport() throws IOException {
+        DOTGraph dotGraph = new DOTGraph();
+        dotGraph.getGraph().addVertex("A<B");
+        dotGraph.getGraph().addVertex("C");
+        dotGraph.getGraph().addEdge("A<B", "C");
+        GraphSnapshot snapshot = dotGraph.snapshot();
+        GraphLayout layout = new GraphLayout(snapshot, new double[]{0, 2}, new double[]{0, 1});
+
+        StringWriter out = new StringWriter();
+        int written = new SVGWriter(out, 1000, 40).write(layout);
+        String svg = out.toString();
+
+        assertEquals(3, written);
+        assertTrue(svg.startsWith("<?xml"));
+        assertTrue(svg.trim().endsWith("</svg>"));
+        assertEquals(1, count(svg, "<line "));
+        assertEquals(2, count(svg, "<circle "));
+        assertTrue(svg.contains("A&lt;B"));
+    }
+
+    /**
+     * Test that nodes and edges outside the viewport are not written
+     */
+    @Test
+    public void testViewportCulling() throws IOException {
+        GraphLayout layout = layout(
+                new double[][]{{0, 0}, {1, 0}, {100, 100}, {101, 100}},
+                new int[][]{{0, 1}, {2, 3}, {1, 2}});
+
+        StringWriter out = new StringWriter();
+        SVGWriter writer = new SVGWriter(out, 1000, 40);
+        writer.setViewport(-1, -1, 2, 1);
+        writer.write(layout);
+        String svg = out.toString();
+
+        // Nodes 0 and 1, edge 0-1, and the long edge 1-2 that starts inside
+        assertEquals(2, count(svg, "<circle "));
+        assertEquals(2, count(svg, "<line "));
+    }
+
+    /**
+     * Test that with a spatial index a small viewport only visits nearby nodes and
+     * edges, and writes the same SVG as checking every element
+     */
+    @Test
+    public void testGridVisitsOnlyViewport() throws IOException {
+        int side = 100;
+        double[][] positions = new double[side * side][];
+        int[][] edges = new int[side * (side - 1)][];
+        for (int row = 0; row < side; row++) {
+            for (int col = 0; col < side; col++) {
+                positions[row * side + col] = new double[]{col, row};
+                if (col > 0) {
+                    edges[row * (side - 1) + col - 1] = new int[]{row * side + col - 1, row * side + col};
+                }
+            }
+        }
+        GraphLayout layout = layout(positions, edges);
+
+        int[] visited = new int[2];
+        SpatialGrid grid = new SpatialGrid(layout, 0, 0, 10, 10, 10) {
+            @Override
+            public void forEachVertexIn(double minX, double minY, double maxX, double maxY, IntConsumer visit) {
+                super.forEachVertexIn(minX, minY, maxX, maxY, v -> {
+                    visited[0]++;
+                    visit.accept(v);
+                });
+            }
+
+            @Override
+            public void forEachEdgeIn(double minX, double minY, double maxX, double maxY, IntConsumer visit) {
+                super.forEachEdgeIn(minX, minY, maxX, maxY, e -> {
+                    visited[1]++;
+                    visit.accept(e);
+                });
+            }
+        };
+
+        StringWriter indexed = new StringWriter();
+        SVGWriter writer = new SVGWriter(indexed, 1000, 40);
+        writer.setViewport(0, 0, 2, 2);
+        int written = writer.write(layout, grid);
+
+        // Only the top-left cell of 100 nodes and 90 edges is visited
+        assertTrue(visited[0] >= 9 && visited[0] <= 100, "visited " + visited[0] + " nodes");
+        assertTrue(visited[1] >= 6 && visited[1] <= 100, "visited " + visited[1] + " edges");
+
+        StringWriter scanned = new StringWriter();
+        SVGWriter reference = new SVGWriter(scanned, 1000, 40);
+        reference.setViewport(0, 0, 2, 2);
+        assertEquals(reference.write(layout), written);
+        assertEquals(scanned.toString(), indexed.toString());
+        assertEquals(9, count(indexed.toString(), "<circle "));
+
+        SpatialGrid other = new SpatialGrid(layout(new double[][]{{0, 0}}, new int[0][]), 0, 0, 1, 1, 1);
+        assertThrows(IllegalArgumentException.class, () -> writer.write(layout, other));
+    }
+
+    /**
+     * Test that nodes sharing a pixel and parallel edges in the same cells are dropped
+     */
+    @Test
+    public void testSimplification() throws IOException {
+        // At 1 pixel per unit, nodes 0 and 1 share a pixel, as do 2 and 3
+        GraphLayout layout = layout(
+                new double[][]{{0, 0}, {0.1, 0.1}, {100, 0}, {100.1, 0.1}},
+                new int[][]{{0, 2}, {1, 3}});
+
+        StringWriter out = new StringWriter();
+        new SVGWriter(out, 1000, 1).write(layout);
+        String svg = out.toString();
+        assertEquals(2, count(svg, "<circle "));
+        assertEquals(1, count(svg, "<line "));
+
+        StringWriter full = new StringWriter();
+        SVGWriter writer = new SVGWriter(full, 1000, 1);
+        writer.setNodeResolution(0);
+        writer.setEdgeBundling(0);
+        writer.write(layout);
+        assertEquals(4, count(full.toString(), "<circle "));
+        assertEquals(2, count(full.toString(), "<line "));
+
+        assertThrows(IllegalArgumentException.class, () -> writer.setEdgeBundling(0.5));
+    }
+
+    /**
+     * Test SVG export through DOTGraph
+     */
+    @Test
+    public void testOutputGraphicsSvg() throws IOException {
+        DOTGraph dotGraph = new DOTGraph();
+        dotGraph.addNodes(new String[]{"A", "B", "C"});
+        dotGraph.addEdge("A", "B");
+        dotGraph.addEdge("B", "C");
+
+        java.nio.file.Path path = tempDir.resolve("graph.svg");
+        assertTrue(dotGraph.outputGraphics(path.toString(), "svg"));
+        String svg = Files.readString(path);
+        assertEquals(3, count(svg, "<circle "));
+
+        java.nio.file.Path region = tempDir.resolve("region.svg");
+        assertTrue(dotGraph.outputSVG(region.toString(), 1000, 1000, 1001, 1001));
+        assertEquals(0, count(Files.readString(region), "<circle "));
+
+        // Later regions reuse the index until the graph changes
+        double[] bounds = dotGraph.computeLayout(new ForceDirectedLayout(100)).bounds();
+        assertTrue(dotGraph.outputSVG(region.toString(), bounds[0], bounds[1], bounds[2], bounds[3]));
+        assertEquals(3, count(Files.readString(region), "<circle "));
+        dotGraph.addNode("D");
+        bounds = dotGraph.computeLayout(new ForceDirectedLayout(100)).bounds();
+        assertTrue(dotGraph.outputSVG(region.toString(), bounds[0], bounds[1], bounds[2], bounds[3]));
+        assertEquals(4, count(Files.readString(region), "<circle "));
+    }
+}
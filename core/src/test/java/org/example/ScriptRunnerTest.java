@@ -0,0 +1,171 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the batch command script runner
+ */
+public class ScriptRunnerTest {
+
+    @TempDir
+    java.nio.file.Path tempDir;
+
+    private String run(DOTGraph graph, String script, ScriptRunner.Summary[] summary) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ScriptRunner runner = new ScriptRunner(graph, new PrintStream(bytes, true, StandardCharsets.UTF_8))) {
+            summary[0] = runner.run(new StringReader(script));
+        }
+        return bytes.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Test that every command runs in order and reads see earlier writes
+     */
+    @Test
+    public void testScript() throws IOException {
+        java.nio.file.Path dot = tempDir.resolve("chain.dot");
+        GraphGenerator.chain(4).writeDOT(dot.toString());
+        java.nio.file.Path export = tempDir.resolve("out.dot");
+
+        String script = String.join("\n",
+                "# load and extend",
+                "parse " + dot,
+                "search BFS n0 n3",
+                "addNode x",
+                "addEdge n3 x",
+                "",
+                "search dfs n0 x",
+                "search BFS x n0",
+                "export " + export,
+                "export " + tempDir.resolve("out.svg") + " svg",
+                "removeEdge n3 x",
+                "search BFS n0 x",
+                "removeNode missing",
+                "frobnicate",
+                "parse " + tempDir.resolve("missing.dot"));
+        ScriptRunner.Summary[] summary = new ScriptRunner.Summary[1];
+        String output = run(new DOTGraph(), script, summary);
+        String[] lines = output.split("\\R");
+
+        assertEquals(13, lines.length, output);
+        assertTrue(lines[0].startsWith("2: parse ") && lines[0].endsWith("-> ok"));
+        assertEquals("3: search BFS n0 n3 -> ok n0 -> n1 -> n2 -> n3", lines[1]);
+        assertEquals("7: search dfs n0 x -> ok n0 -> n1 -> n2 -> n3 -> x", lines[4]);
+        assertEquals("8: search BFS x n0 -> ok no path", lines[5]);
+        assertTrue(lines[6].endsWith("-> ok"));
+        assertTrue(lines[7].endsWith("svg -> ok"));
+        assertEquals("12: search BFS n0 x -> ok no path", lines[9]);
+        assertEquals("13: removeNode missing -> error Error: Node 'missing' does not exist.", lines[10]);
+        assertEquals("14: frobnicate -> error Unknown command: frobnicate", lines[11]);
+        assertTrue(lines[12].endsWith("-> error"));
+
+        assertEquals(13, summary[0].getCommands());
+        assertEquals(3, summary[0].getFailed());
+        assertTrue(summary[0].getThroughput() > 0);
+        assertTrue(summary[0].toString().startsWith("Ran 13 commands (3 failed)"));
+        assertTrue(Files.readString(export).contains("x"));
+    }
+
+    /**
+     * Test that parsing a file exported earlier in the script reads the new content
+     */
+    @Test
+    public void testParseAfterExportSeesExportedFile() throws IOException {
+        // The file starts out with a node the script never creates
+        java.nio.file.Path snapshot = tempDir.resolve("snap.dot");
+        Files.writeString(snapshot, "digraph G {\n  stale;\n}\n");
+
+        String script = String.join("\n",
+                "addNode fresh",
+                "export " + snapshot,
+                "parse " + snapshot,
+                "search BFS fresh fresh",
+                "search BFS stale stale");
+        ScriptRunner.Summary[] summary = new ScriptRunner.Summary[1];
+        String[] lines = run(new DOTGraph(), script, summary).split("\\R");
+
+        assertTrue(lines[2].endsWith("-> ok"), lines[2]);
+        assertTrue(lines[3].contains("-> ok"), lines[3]);
+        assertTrue(lines[4].contains("-> error"), lines[4]);
+        assertEquals(1, summary[0].getFailed());
+    }
+
+    /**
+     * Test that many parallel read-only queries keep their order
+     */
+    @Test
+    public void testParallelQueriesKeepOrder() throws IOException {
+        StringBuilder script = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            script.append("search BFS n0 n").append(i % 100).append('\n');
+            if (i % 100 == 99) {
+                script.append("addNode extra").append(i).append('\n');
+            }
+        }
+        ScriptRunner.Summary[] summary = new ScriptRunner.Summary[1];
+        String[] lines = run(GraphGenerator.chain(100).toDOTGraph(), script.toString(), summary).split("\\R");
+
+        assertEquals(505, summary[0].getCommands());
+        assertEquals(0, summary[0].getFailed());
+        int search = 0;
+        for (String line : lines) {
+            if (line.contains("search")) {
+                int target = search++ % 100;
+                assertTrue(line.endsWith(" n" + target), line);
+            }
+        }
+        assertEquals(500, search);
+    }
+
+    /**
+     * Test that an unexpected exception or stack overflow in one command is reported
+     * as an error while the rest of the script still runs
+     */
+    @Test
+    public void testUnexpectedFailureMidScript() throws IOException {
+        DOTGraph graph = new DOTGraph() {
+            @Override
+            public boolean addNode(String label) {
+                if (label.equals("boom")) {
+                    throw new IllegalStateException("broken");
+                }
+                return super.addNode(label);
+            }
+
+            @Override
+            public Path graphSearch(String src, String dst, Algorithm algo) {
+                if (dst.equals("deep")) {
+                    throw new StackOverflowError();
+                }
+                return super.graphSearch(src, dst, algo);
+            }
+        };
+
+        String script = String.join("\n",
+                "addNode a",
+                "addNode boom",
+                "search DFS a deep",
+                "addNode b",
+                "addEdge a b",
+                "search BFS a b");
+        ScriptRunner.Summary[] summary = new ScriptRunner.Summary[1];
+        String[] lines = run(graph, script, summary).split("\\R");
+
+        assertEquals(6, lines.length);
+        assertEquals("2: addNode boom -> error Error: java.lang.IllegalStateException: broken", lines[1]);
+        assertEquals("3: search DFS a deep -> error Error: java.lang.StackOverflowError", lines[2]);
+        assertEquals("6: search BFS a b -> ok a -> b", lines[5]);
+        assertEquals(6, summary[0].getCommands());
+        assertEquals(2, summary[0].getFailed());
+    }
+}
@@ -0,0 +1,122 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for search explain mode and the search profiler
+ */
+public class SearchExplainTest {
+
+    /**
+     * Build a diamond with a tail: A -> B, A -> C, B -> D, C -> D, D -> E
+     */
+    private DOTGraph diamond() {
+        DOTGraph graph = new DOTGraph();
+        graph.addNodes(new String[]{"A", "B", "C", "D", "E"});
+        graph.addEdge("A", "B");
+        graph.addEdge("A", "C");
+        graph.addEdge("B", "D");
+        graph.addEdge("C", "D");
+        graph.addEdge("D", "E");
+        return graph;
+    }
+
+    /**
+     * Test the BFS level sizes, counters and phases
+     */
+    @Test
+    public void testExplainBFS() {
+        SearchStats stats = diamond().explainSearch("A", "E", Algorithm.BFS);
+
+        assertEquals("A -> B -> D -> E", stats.getPath().toString());
+        assertEquals(Algorithm.BFS, stats.getAlgorithm());
+        assertArrayEquals(new int[]{1, 2, 1, 1}, stats.getLevelSizes());
+        assertEquals(3, stats.getMaxDepth());
+        assertEquals(5, stats.getVisitedVertices());
+        // A's two edges, B -> D, C -> D and D -> E
+        assertEquals(5, stats.getExaminedEdges());
+        assertEquals(2, stats.getFrontierPeak());
+        assertEquals(4, stats.getPathLength());
+        assertEquals(List.of("A", "B", "C", "D"), stats.getExpandedVertices());
+        assertEquals(java.util.Set.of("resolve", "traverse", "reconstruct"), stats.getPhaseNanos().keySet());
+        assertNotEquals(0, stats.getAllocatedBytes());
+    }
+
+    /**
+     * Test that DFS reports its recursion depth
+     */
+    @Test
+    public void testExplainDFS() {
+        SearchStats stats = diamond().explainSearch("A", "E", Algorithm.DFS);
+
+        assertEquals(4, stats.getPathLength());
+        assertEquals(3, stats.getMaxDepth());
+        assertEquals(4, stats.getFrontierPeak());
+        assertEquals(4, stats.getVisitedVertices());
+        assertArrayEquals(new int[]{1, 1, 1, 1}, stats.getLevelSizes());
+
+        // Unreachable destinations still report the work done
+        SearchStats none = diamond().explainSearch("E", "A", Algorithm.DFS);
+        assertNull(none.getPath());
+        assertEquals(0, none.getPathLength());
+        assertEquals(1, none.getVisitedVertices());
+        assertEquals(List.of("E"), none.getExpandedVertices());
+    }
+
+    /**
+     * Test explaining attribute searches and trivial searches
+     */
+    @Test
+    public void testAttributeExplain() {
+        DOTGraph graph = diamond();
+        graph.setNodeAttribute("A", "color", "blue");
+        graph.setNodeAttribute("E", "color", "red");
+        SearchStats stats = graph.explainSearch("color", "blue", "red", Algorithm.BFS);
+        assertNotNull(stats.getPath());
+        assertEquals(3, stats.getMaxDepth());
+
+        SearchStats same = graph.explainSearch("A", "A", Algorithm.BFS);
+        assertEquals(1, same.getPathLength());
+        assertArrayEquals(new int[]{1}, same.getLevelSizes());
+    }
+
+    /**
+     * Test that a profiler aggregates searches and finds the hot spots
+     */
+    @Test
+    public void testProfilerHotSpots() {
+        DOTGraph graph = diamond();
+        SearchProfiler profiler = new SearchProfiler();
+        graph.setSearchProfiler(profiler);
+
+        for (int i = 0; i < 10; i++) {
+            assertNotNull(graph.graphSearch("A", "E", Algorithm.BFS));
+        }
+        assertNotNull(graph.graphSearch("C", "E", Algorithm.DFS));
+        assertNull(graph.graphSearch("E", "A", Algorithm.BFS));
+
+        assertEquals(12, profiler.getSearchCount());
+        assertEquals(11, profiler.getPathsFound());
+        assertEquals(10 * 5 + 2, profiler.getTotalExaminedEdges());
+
+        List<Map.Entry<String, Long>> hot = profiler.hotSpots(2);
+        assertEquals(2, hot.size());
+        // C and D are expanded by every search that gets past A
+        assertEquals(Map.entry("C", 11L), hot.get(0));
+        assertEquals(Map.entry("D", 11L), hot.get(1));
+        assertEquals(10, profiler.expansionsOf("A"));
+
+        graph.setSearchProfiler(null);
+        graph.graphSearch("A", "E", Algorithm.BFS);
+        assertEquals(12, profiler.getSearchCount());
+
+        profiler.reset();
+        assertEquals(0, profiler.getSearchCount());
+        assertTrue(profiler.hotSpots(5).isEmpty());
+    }
+}
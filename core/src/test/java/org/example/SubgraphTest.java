@@ -0,0 +1,81 @@
+package org.example;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for k-hop neighbourhood extraction
+ */
+public class SubgraphTest {
+
+    @TempDir
+    java.nio.file.Path tempDir;
+
+    private DOTGraph graph;
+
+    @BeforeEach
+    public void setUp() {
+        // Chain A -> B -> C -> D -> E with a side branch X -> C
+        graph = new DOTGraph();
+        graph.addNodes(new String[]{"A", "B", "C", "D", "E", "X"});
+        graph.addEdge("A", "B");
+        graph.addEdge("B", "C");
+        graph.addEdge("C", "D");
+        graph.addEdge("D", "E");
+        graph.addEdge("X", "C");
+        graph.setEdgeAttribute("B", "C", "color", "red");
+    }
+
+    /**
+     * Test outgoing neighbourhood
+     */
+    @Test
+    public void testOutgoing() {
+        DOTGraph sub = graph.subgraph("B", 2, Direction.OUT);
+
+        assertEquals(3, sub.getVertexCount());
+        assertTrue(sub.getGraph().containsVertex("D"));
+        assertFalse(sub.getGraph().containsVertex("E"));
+        assertEquals(2, sub.getEdgeCount());
+        assertEquals("red", sub.getEdgeAttribute("B", "C", "color"));
+        assertEquals("\"B\"", sub.getNodeAttribute("B", "label"));
+    }
+
+    /**
+     * Test incoming and undirected neighbourhoods
+     */
+    @Test
+    public void testIncomingAndBoth() {
+        DOTGraph in = graph.subgraph("C", 1, Direction.IN);
+        assertEquals(3, in.getVertexCount());
+        assertTrue(in.getGraph().containsVertex("X"));
+        assertFalse(in.getGraph().containsVertex("D"));
+
+        DOTGraph both = graph.subgraph("C", 1, Direction.BOTH);
+        assertEquals(4, both.getVertexCount());
+        assertEquals(3, both.getEdgeCount());
+    }
+
+    /**
+     * Test that the extracted slice is independent and can be exported
+     */
+    @Test
+    public void testSliceIsIndependent() {
+        DOTGraph sub = graph.subgraph("A", 0, Direction.BOTH);
+        assertEquals(1, sub.getVertexCount());
+
+        sub.addNode("Z");
+        assertFalse(graph.getGraph().containsVertex("Z"));
+
+        File output = tempDir.resolve("slice.dot").toFile();
+        assertTrue(sub.outputDOTGraph(output.getPath()));
+        assertTrue(output.length() > 0);
+
+        assertThrows(IllegalArgumentException.class, () -> graph.subgraph("Q", 1, Direction.OUT));
+    }
+}
@@ -0,0 +1,120 @@
+package org.example;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for incremental topological ordering and cycle detection
+ */
+public class TopologicalOrderTest {
+
+    private DOTGraph graph;
+
+    @BeforeEach
+    public void setUp() {
+        graph = new DOTGraph();
+        graph.addNodes(new String[]{"A", "B", "C", "D"});
+    }
+
+    /**
+     * Check that every edge in the given list points forward in the order
+     */
+    private void assertOrdered(String... edges) {
+        List<String> order = new ArrayList<>(graph.topologicalOrder());
+        for (String edge : edges) {
+            String[] ends = edge.split("->");
+            assertTrue(order.indexOf(ends[0]) < order.indexOf(ends[1]),
+                    "Edge " + edge + " should point forward in " + order);
+        }
+    }
+
+    /**
+     * Test that edges added against the current order trigger a reorder
+     */
+    @Test
+    public void testOrderMaintainedOnAddEdge() {
+        assertTrue(graph.enableTopologicalOrder(true));
+
+        // Insert edges backwards relative to insertion order
+        assertTrue(graph.addEdge("D", "C"));
+        assertTrue(graph.addEdge("C", "B"));
+        assertTrue(graph.addEdge("B", "A"));
+        assertTrue(graph.addEdge("D", "A"));
+
+        assertFalse(graph.hasCycle());
+        assertOrdered("D->C", "C->B", "B->A", "D->A");
+    }
+
+    /**
+     * Test that cycle-creating edges are rejected when requested
+     */
+    @Test
+    public void testRejectCycle() {
+        graph.enableTopologicalOrder(true);
+        graph.addEdge("A", "B");
+        graph.addEdge("B", "C");
+
+        assertFalse(graph.addEdge("C", "A"), "Edge closing a cycle should be rejected");
+        assertFalse(graph.addEdge("A", "A"), "Self loop should be rejected");
+        assertEquals(2, graph.getEdgeCount());
+        assertFalse(graph.hasCycle());
+    }
+
+    /**
+     * Test that cycles are flagged when they are allowed, and cleared on removal
+     */
+    @Test
+    public void testFlagCycleAndRecover() {
+        graph.enableTopologicalOrder(false);
+        graph.addEdge("A", "B");
+        graph.addEdge("B", "C");
+
+        assertTrue(graph.addEdge("C", "A"));
+        assertTrue(graph.hasCycle());
+        assertThrows(IllegalStateException.class, () -> graph.topologicalOrder());
+
+        graph.removeEdge("C", "A");
+        assertFalse(graph.hasCycle());
+        assertOrdered("A->B", "B->C");
+    }
+
+    /**
+     * Test cycle detection on a parsed graph without the incremental order
+     */
+    @Test
+    public void testParsedGraphCycle() {
+        DOTGraph parsed = new DOTGraph();
+        assertTrue(parsed.parseGraph("test.dot"));
+        assertTrue(parsed.hasCycle());
+
+        assertFalse(parsed.enableTopologicalOrder(true));
+    }
+
+    /**
+     * Test that new cycles are still refused or flagged once the graph is cyclic
+     */
+    @Test
+    public void testCycleDetectionWhileCyclic() {
+        graph.addEdge("A", "B");
+        graph.addEdge("B", "A");
+        graph.addEdge("B", "C");
+        assertFalse(graph.enableTopologicalOrder(true));
+
+        assertFalse(graph.addEdge("C", "B"), "Edge closing a second cycle should be rejected");
+        assertFalse(graph.addEdge("D", "D"), "Self loop should be rejected");
+        assertTrue(graph.addEdge("C", "D"));
+        assertFalse(graph.addEdge("D", "A"));
+        assertEquals(4, graph.getEdgeCount());
+
+        // Removing the original cycle leaves an acyclic, ordered graph
+        graph.removeEdge("B", "A");
+        assertFalse(graph.hasCycle());
+        assertOrdered("A->B", "B->C", "C->D");
+        assertFalse(graph.addEdge("D", "A"));
+    }
+}
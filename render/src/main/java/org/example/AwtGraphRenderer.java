@@ -0,0 +1,34 @@
+package org.example;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+
+import javax.imageio.ImageIO;
+
+/**
+ * The standard renderer: AWT and ImageIO for precomputed layouts and tiles. It has
+ * no layout of its own, so every image is drawn from DOTGraph's cached native
+ * layout.
+ */
+public class AwtGraphRenderer implements GraphRenderer {
+
+    @Override
+    public String getName() {
+        return "awt";
+    }
+
+    @Override
+    public Raster rasterize(GraphLayout layout) {
+        BufferedImage image = new LayoutRenderer(DOTGraph.MAX_IMAGE_SIZE, 40).render(layout);
+        return (path, format) -> ImageIO.write(image, format, new File(path));
+    }
+
+    @Override
+    public int renderTiles(GraphLayout layout, String directory, int tileSize, int levels) throws IOException {
+        TiledRenderer renderer = new TiledRenderer(tileSize, 40, Runtime.getRuntime().availableProcessors());
+        return levels > 1
+                ? renderer.renderPyramid(layout, directory, levels)
+                : renderer.renderTiles(layout, directory);
+    }
+}
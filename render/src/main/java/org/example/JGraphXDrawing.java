@@ -0,0 +1,57 @@
+package org.example;
+
+import org.jgrapht.Graph;
+import org.jgrapht.ext.JGraphXAdapter;
+import org.jgrapht.graph.DefaultEdge;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+
+import javax.imageio.ImageIO;
+
+import com.mxgraph.layout.mxCircleLayout;
+import com.mxgraph.layout.mxIGraphLayout;
+import com.mxgraph.util.mxCellRenderer;
+
+/**
+ * Draws a graph with JGraphX. The only class that refers to JGraphX, so that its
+ * absence is noticed when drawing rather than when the renderer is loaded.
+ */
+final class JGraphXDrawing {
+    private JGraphXDrawing() {
+    }
+
+    /**
+     * Lay out a graph on a circle and save it as an image
+     *
+     * @param graph the graph to draw
+     * @param path the path of the image file
+     * @param format the image format
+     * @throws IOException if the image cannot be written
+     */
+    static void draw(Graph<String, DefaultEdge> graph, String path, String format) throws IOException {
+        // Create a JGraphXAdapter for visualization
+        GraphEvents.Phase phase = GraphEvents.Phase.start("outputGraphics", "adapter");
+        JGraphXAdapter<String, DefaultEdge> graphAdapter = new JGraphXAdapter<>(graph);
+        phase.commit();
+
+        // Create a layout to organize the graph visually
+        phase = GraphEvents.Phase.start("outputGraphics", "layout");
+        mxIGraphLayout layout = new mxCircleLayout(graphAdapter);
+        layout.execute(graphAdapter.getDefaultParent());
+        phase.commit();
+
+        // Create a buffered image to render the graph
+        phase = GraphEvents.Phase.start("outputGraphics", "rasterize");
+        BufferedImage image = mxCellRenderer.createBufferedImage(
+                graphAdapter, null, 2, Color.WHITE, true, null);
+        phase.commit();
+
+        // Save the image
+        phase = GraphEvents.Phase.start("outputGraphics", "encode");
+        ImageIO.write(image, format, new File(path));
+        phase.commit();
+    }
+}
@@ -0,0 +1,54 @@
+package org.example;
+
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultEdge;
+
+import java.io.IOException;
+
+/**
+ * Draws small graphs with JGraphX's circle layout instead of the native layout,
+ * for images that should look like earlier releases. Chosen with
+ * -Ddotgraph.renderer=jgraphx. The circle layout is computed afresh for every
+ * image, unlike the cached native layout. JGraphX is only touched through
+ * {@link JGraphXDrawing}, and only when its classes were found on the class path,
+ * so layouts and tiles still render when the JGraphX jars are absent.
+ */
+public class JGraphXRenderer extends AwtGraphRenderer {
+    private static final boolean JGRAPHX_PRESENT =
+            isPresent("com.mxgraph.view.mxGraph") && isPresent("org.jgrapht.ext.JGraphXAdapter");
+
+    /**
+     * Check for a class without initializing it
+     */
+    private static boolean isPresent(String name) {
+        try {
+            Class.forName(name, false, JGraphXRenderer.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "jgraphx";
+    }
+
+    /**
+     * Small graphs are laid out by JGraphX when its jars are installed
+     *
+     * @return true if JGraphX is on the class path
+     */
+    @Override
+    public boolean supportsOwnLayout() {
+        return JGRAPHX_PRESENT;
+    }
+
+    @Override
+    public void renderGraph(Graph<String, DefaultEdge> graph, String path, String format) throws IOException {
+        if (!JGRAPHX_PRESENT) {
+            throw new UnsupportedOperationException("JGraphX is not on the class path");
+        }
+        JGraphXDrawing.draw(graph, path, format);
+    }
+}
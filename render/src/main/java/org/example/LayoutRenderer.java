@@ -0,0 +1,145 @@
+package org.example;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+/**
+ * Draws a {@link GraphLayout} into a {@link BufferedImage} directly from its
+ * coordinate arrays, without building any per-vertex or per-edge scene objects.
+ * Labels are only drawn when the graph is small enough for them to be readable.
+ */
+public class LayoutRenderer {
+    // Pixels between the outermost vertices and the image border
+    private static final int MARGIN = 20;
+
+    static final Color EDGE_COLOR = new Color(DrawingStyle.EDGE_RGB);
+    static final Color NODE_COLOR = new Color(DrawingStyle.NODE_RGB);
+
+    private final int maxSize;
+    private final double pixelsPerUnit;
+
+    /**
+     * Create a renderer
+     *
+     * @param maxSize the largest width or height of the image in pixels
+     * @param pixelsPerUnit how many pixels one layout unit (one ideal edge) spans
+     */
+    public LayoutRenderer(int maxSize, double pixelsPerUnit) {
+        this.maxSize = maxSize;
+        this.pixelsPerUnit = pixelsPerUnit;
+    }
+
+    /**
+     * Compute the scale that maps layout units to pixels for a layout
+     *
+     * @param bounds the layout bounds {minX, minY, maxX, maxY}
+     * @return pixels per layout unit
+     */
+    double scaleFor(double[] bounds) {
+        double extent = Math.max(bounds[2] - bounds[0], bounds[3] - bounds[1]);
+        if (extent <= 0) {
+            return pixelsPerUnit;
+        }
+        return Math.min(pixelsPerUnit, (maxSize - 2.0 * MARGIN) / extent);
+    }
+
+    /**
+     * Render the whole layout into one image
+     *
+     * @param layout the positions to draw
+     * @return the image
+     */
+    public BufferedImage render(GraphLayout layout) {
+        double[] bounds = layout.bounds();
+        double scale = scaleFor(bounds);
+        int width = (int) Math.ceil((bounds[2] - bounds[0]) * scale) + 2 * MARGIN;
+        int height = (int) Math.ceil((bounds[3] - bounds[1]) * scale) + 2 * MARGIN;
+
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, width, height);
+            draw(g, layout, bounds[0] - MARGIN / scale, bounds[1] - MARGIN / scale, scale);
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+
+    /**
+     * Check whether labels are drawn for a graph of this size
+     *
+     * @param vertexCount the number of vertices
+     * @return true if labels are drawn
+     */
+    static boolean drawLabels(int vertexCount) {
+        return DrawingStyle.drawLabels(vertexCount);
+    }
+
+    /**
+     * Get the radius in pixels used to draw vertices for a graph of this size
+     *
+     * @param vertexCount the number of vertices
+     * @return the radius
+     */
+    static int nodeRadius(int vertexCount) {
+        return DrawingStyle.nodeRadius(vertexCount);
+    }
+
+    /**
+     * Draw the layout onto a graphics context. Layout point (originX, originY) is
+     * drawn at pixel (0, 0).
+     *
+     * @param g the graphics context
+     * @param layout the positions to draw
+     * @param originX the layout x coordinate at the left edge
+     * @param originY the layout y coordinate at the top edge
+     * @param scale pixels per layout unit
+     */
+    void draw(Graphics2D g, GraphLayout layout, double originX, double originY, double scale) {
+        GraphSnapshot snapshot = layout.getSnapshot();
+        double[] x = layout.x();
+        double[] y = layout.y();
+        int n = snapshot.vertexCount();
+        boolean small = drawLabels(n);
+
+        if (small) {
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        }
+
+        // Edges first so vertices are drawn on top
+        g.setColor(EDGE_COLOR);
+        g.setStroke(new BasicStroke(1f));
+        int[] outOffsets = snapshot.outOffsets();
+        int[] outTargets = snapshot.outTargets();
+        for (int v = 0; v < n; v++) {
+            int x1 = (int) ((x[v] - originX) * scale);
+            int y1 = (int) ((y[v] - originY) * scale);
+            for (int i = outOffsets[v]; i < outOffsets[v + 1]; i++) {
+                int u = outTargets[i];
+                g.drawLine(x1, y1, (int) ((x[u] - originX) * scale), (int) ((y[u] - originY) * scale));
+            }
+        }
+
+        int radius = nodeRadius(n);
+        g.setColor(NODE_COLOR);
+        for (int v = 0; v < n; v++) {
+            int px = (int) ((x[v] - originX) * scale);
+            int py = (int) ((y[v] - originY) * scale);
+            g.fillOval(px - radius, py - radius, 2 * radius, 2 * radius);
+        }
+
+        if (small) {
+            g.setColor(Color.BLACK);
+            for (int v = 0; v < n; v++) {
+                int px = (int) ((x[v] - originX) * scale);
+                int py = (int) ((y[v] - originY) * scale);
+                g.drawString(snapshot.vertex(v), px + radius + 2, py - radius);
+            }
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package org.example;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.imageio.ImageIO;
+
+/**
+ * Renders a {@link GraphLayout} as a set of fixed-size PNG tiles instead of one
+ * large image. A {@link SpatialGrid} with one cell per tile finds the vertices and
+ * edges that touch each tile, so a tile only draws its own content. Tiles are
+ * rendered in parallel; peak image memory is one tile per worker thread, however
+ * large the full canvas is. Tiles with nothing on them are not written.
+ */
+public class TiledRenderer {
+    // Pixels between the outermost vertices and the canvas border
+    private static final int MARGIN = 20;
+
+    private final int tileSize;
+    private final double pixelsPerUnit;
+    private final int threads;
+
+    /**
+     * Create a tiled renderer
+     *
+     * @param tileSize the width and height of each tile in pixels
+     * @param pixelsPerUnit how many pixels one layout unit spans at full zoom
+     * @param threads the number of tiles rendered at the same time
+     */
+    public TiledRenderer(int tileSize, double pixelsPerUnit, int threads) {
+        if (tileSize <= 0 || threads <= 0) {
+            throw new IllegalArgumentException("Error: Tile size and thread count must be positive.");
+        }
+        this.tileSize = tileSize;
+        this.pixelsPerUnit = pixelsPerUnit;
+        this.threads = threads;
+    }
+
+    /**
+     * Render the layout at full zoom into directory/tile_ROW_COL.png
+     *
+     * @param layout the positions to draw
+     * @param directory the output directory, created if needed
+     * @return the number of tiles written
+     * @throws IOException if a tile cannot be written
+     */
+    public int renderTiles(GraphLayout layout, String directory) throws IOException {
+        File dir = new File(directory);
+        dir.mkdirs();
+        return renderLevel(layout, pixelsPerUnit, (row, col) -> new File(dir, "tile_" + row + "_" + col + ".png"));
+    }
+
+    /**
+     * Render a zoom pyramid into directory/Z/COL_ROW.png. Level levels-1 is full
+     * zoom and each level below it halves the scale, so level 0 is the overview.
+     *
+     * @param layout the positions to draw
+     * @param directory the output directory, created if needed
+     * @param levels the number of zoom levels
+     * @return the number of tiles written across all levels
+     * @throws IOException if a tile cannot be written
+     */
+    public int renderPyramid(GraphLayout layout, String directory, int levels) throws IOException {
+        int written = 0;
+        for (int z = 0; z < levels; z++) {
+            File dir = new File(directory, Integer.toString(z));
+            dir.mkdirs();
+            double scale = pixelsPerUnit / (1L << (levels - 1 - z));
+            written += renderLevel(layout, scale, (row, col) -> new File(dir, col + "_" + row + ".png"));
+        }
+        return written;
+    }
+
+    /**
+     * Maps a tile position to its output file
+     */
+    private interface TileNamer {
+        File fileFor(int row, int col);
+    }
+
+    /**
+     * Render every non-empty tile of one zoom level
+     */
+    private int renderLevel(GraphLayout layout, double scale, TileNamer namer) throws IOException {
+        double[] bounds = layout.bounds();
+        double originX = bounds[0] - MARGIN / scale;
+        double originY = bounds[1] - MARGIN / scale;
+        int width = (int) Math.ceil((bounds[2] - bounds[0]) * scale) + 2 * MARGIN;
+        int height = (int) Math.ceil((bounds[3] - bounds[1]) * scale) + 2 * MARGIN;
+        int columns = (width + tileSize - 1) / tileSize;
+        int rows = (height + tileSize - 1) / tileSize;
+
+        SpatialGrid grid = new SpatialGrid(layout, originX, originY, tileSize / scale, columns, rows);
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Boolean>> tiles = new ArrayList<>();
+            for (int row = 0; row < rows; row++) {
+                for (int col = 0; col < columns; col++) {
+                    final int r = row;
+                    final int c = col;
+                    tiles.add(pool.submit(() -> renderTile(layout, grid, originX, originY, scale, r, c, namer)));
+                }
+            }
+
+            int written = 0;
+            for (Future<Boolean> tile : tiles) {
+                if (tile.get()) {
+                    written++;
+                }
+            }
+            return written;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while rendering tiles", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Draw and write one tile
+     *
+     * @return true if the tile had content and was written
+     */
+    private boolean renderTile(GraphLayout layout, SpatialGrid grid, double originX, double originY,
+                               double scale, int row, int col, TileNamer namer) throws IOException {
+        // Vertex discs can reach over the tile border, so neighbours count too
+        boolean empty = true;
+        for (int r = row - 1; r <= row + 1 && empty; r++) {
+            for (int c = col - 1; c <= col + 1 && empty; c++) {
+                if (r >= 0 && c >= 0 && r < grid.getRows() && c < grid.getColumns() && !grid.isEmpty(c, r)) {
+                    empty = false;
+                }
+            }
+        }
+        if (empty) {
+            return false;
+        }
+
+        double[] x = layout.x();
+        double[] y = layout.y();
+        int n = layout.getSnapshot().vertexCount();
+        int radius = LayoutRenderer.nodeRadius(n);
+        double tileX = originX + col * tileSize / scale;
+        double tileY = originY + row * tileSize / scale;
+
+        BufferedImage image = new BufferedImage(tileSize, tileSize, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, tileSize, tileSize);
+
+            g.setColor(LayoutRenderer.EDGE_COLOR);
+            grid.forEachEdge(col, row, e -> {
+                int s = grid.edgeSource(e);
+                int t = grid.edgeTarget(e);
+                g.drawLine((int) ((x[s] - tileX) * scale), (int) ((y[s] - tileY) * scale),
+                        (int) ((x[t] - tileX) * scale), (int) ((y[t] - tileY) * scale));
+            });
+
+            g.setColor(LayoutRenderer.NODE_COLOR);
+            for (int r = row - 1; r <= row + 1; r++) {
+                for (int c = col - 1; c <= col + 1; c++) {
+                    grid.forEachVertex(c, r, v -> {
+                        int px = (int) ((x[v] - tileX) * scale);
+                        int py = (int) ((y[v] - tileY) * scale);
+                        g.fillOval(px - radius, py - radius, 2 * radius, 2 * radius);
+                    });
+                }
+            }
+        } finally {
+            g.dispose();
+        }
+
+        ImageIO.write(image, "png", namer.fileFor(row, col));
+        return true;
+    }
+}
@@ -0,0 +1,104 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for batch rendering of many DOT files
+ */
+public class BatchRendererTest {
+
+    @TempDir
+    java.nio.file.Path tempDir;
+
+    /**
+     * Write a chain graph with the given number of nodes
+     */
+    private void writeChain(java.nio.file.Path dir, String name, int nodes) throws IOException {
+        StringBuilder dot = new StringBuilder("digraph G {\n");
+        for (int i = 1; i < nodes; i++) {
+            dot.append("  n").append(i - 1).append(" -> n").append(i).append(";\n");
+        }
+        dot.append("}\n");
+        Files.writeString(dir.resolve(name), dot.toString());
+    }
+
+    /**
+     * Test rendering a directory with more files than may be in flight at once
+     */
+    @Test
+    public void testRenderDirectory() throws IOException {
+        java.nio.file.Path input = Files.createDirectory(tempDir.resolve("in"));
+        for (int i = 0; i < 5; i++) {
+            writeChain(input, "graph" + i + ".dot", 10 + i);
+        }
+        Files.writeString(input.resolve("notes.txt"), "not a graph");
+        String output = tempDir.resolve("out").toString();
+
+        List<BatchRenderer.Result> results = new BatchRenderer(2, 2, 20)
+                .renderDirectory(input.toString(), output, "png");
+
+        assertEquals(5, results.size());
+        for (BatchRenderer.Result result : results) {
+            assertTrue(result.isSuccess(), result.toString());
+            assertTrue(new File(result.getOutput()).length() > 0);
+            assertTrue(result.getTotalMillis() >= 0);
+        }
+        assertTrue(results.get(0).getOutput().endsWith("graph0.png"));
+    }
+
+    /**
+     * Test that stage pools with more threads than files in flight accept every file
+     */
+    @Test
+    public void testStagesNeverRejectWork() throws IOException {
+        java.nio.file.Path input = Files.createDirectory(tempDir.resolve("many"));
+        for (int i = 0; i < 12; i++) {
+            writeChain(input, "graph" + i + ".dot", 5 + i);
+        }
+
+        List<BatchRenderer.Result> results = new BatchRenderer(4, 1, 5)
+                .renderDirectory(input.toString(), tempDir.resolve("out").toString(), "png");
+
+        assertEquals(12, results.size());
+        for (BatchRenderer.Result result : results) {
+            assertTrue(result.isSuccess(), result.toString());
+        }
+    }
+
+    /**
+     * Test that one bad file doesn't stop the batch, and SVG output
+     */
+    @Test
+    public void testFailureIsolation() throws IOException {
+        writeChain(tempDir, "good.dot", 4);
+        Files.writeString(tempDir.resolve("bad.dot"), "digraph G { A -> ");
+        String output = tempDir.resolve("out").toString();
+
+        List<BatchRenderer.Result> results = new BatchRenderer(1, 1, 10).render(
+                List.of(tempDir.resolve("bad.dot").toString(), tempDir.resolve("good.dot").toString()),
+                output, "svg");
+
+        assertFalse(results.get(0).isSuccess());
+        assertNotNull(results.get(0).getError());
+        assertTrue(results.get(1).isSuccess());
+        assertTrue(Files.readString(java.nio.file.Path.of(results.get(1).getOutput())).contains("<svg"));
+    }
+
+    /**
+     * Test argument validation
+     */
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new BatchRenderer(0, 1, 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> new BatchRenderer(1, 1, 10).render(List.of(), tempDir.toString(), "jpg"));
+    }
+}
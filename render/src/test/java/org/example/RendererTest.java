@@ -0,0 +1,199 @@
+package org.example;
+
+import org.apfloat.Apfloat;
+import org.antlr.v4.runtime.Lexer;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.text.StringEscapeUtils;
+import org.jgrapht.Graph;
+import org.jgrapht.nio.dot.DOTImporter;
+import org.jheaps.AddressableHeap;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the renderer lookup and the split between the core and the
+ * rendering stack
+ */
+public class RendererTest {
+
+    @TempDir
+    java.nio.file.Path tempDir;
+
+    /**
+     * A class loader that can tell whether it has loaded a class
+     */
+    private static final class TrackingLoader extends URLClassLoader {
+        TrackingLoader(URL[] urls) {
+            super(urls, ClassLoader.getPlatformClassLoader());
+        }
+
+        boolean hasLoaded(String name) {
+            return findLoadedClass(name) != null;
+        }
+    }
+
+    private static URL locationOf(Class<?> type) {
+        return type.getProtectionDomain().getCodeSource().getLocation();
+    }
+
+    @Test
+    public void testServiceLoaderFindsAwtRenderer() {
+        GraphRenderer renderer = Renderers.get();
+        assertNotNull(renderer);
+        assertEquals("awt", renderer.getName());
+        assertTrue(renderer instanceof AwtGraphRenderer);
+    }
+
+    /**
+     * Test that renderers report whether they can lay out graphs themselves
+     */
+    @Test
+    public void testOwnLayoutCapability() {
+        // The default renderer draws cached layouts; JGraphX is on the test class path
+        assertFalse(new AwtGraphRenderer().supportsOwnLayout());
+        assertTrue(new JGraphXRenderer().supportsOwnLayout());
+
+        GraphRenderer layoutOnly = new GraphRenderer() {
+            @Override
+            public String getName() {
+                return "layout-only";
+            }
+
+            @Override
+            public Raster rasterize(GraphLayout layout) {
+                return (path, format) -> {
+                };
+            }
+
+            @Override
+            public int renderTiles(GraphLayout layout, String directory, int tileSize, int levels) {
+                return 0;
+            }
+        };
+        assertFalse(layoutOnly.supportsOwnLayout());
+        assertThrows(UnsupportedOperationException.class,
+                () -> layoutOnly.renderGraph(new DOTGraph().getGraph(), "unused.png", "png"));
+    }
+
+    @Test
+    public void testRenderGoesThroughRenderer() throws Exception {
+        DOTGraph dotGraph = new DOTGraph();
+        assertTrue(dotGraph.parseGraph("outputGraphicsTest.dot"));
+
+        String png = tempDir.resolve("graph.png").toString();
+        String svg = tempDir.resolve("graph.svg").toString();
+        assertTrue(dotGraph.outputGraphics(png, "png"));
+        assertTrue(dotGraph.outputGraphics(svg, "svg"));
+        assertTrue(Files.size(java.nio.file.Paths.get(png)) > 0);
+        assertTrue(Files.readString(java.nio.file.Paths.get(svg)).contains("<svg"));
+    }
+
+    /**
+     * Test that large graphs are rendered through the native engine
+     */
+    @Test
+    public void testOutputGraphicsLargeGraph() {
+        DOTGraph dotGraph = GraphGenerator.grid(50, 50).toDOTGraph();
+        assertTrue(dotGraph.getVertexCount() > DOTGraph.NATIVE_LAYOUT_THRESHOLD);
+
+        java.io.File output = tempDir.resolve("grid.png").toFile();
+        assertTrue(dotGraph.outputGraphics(output.getPath(), "png"));
+        assertTrue(output.length() > 0);
+    }
+
+    /**
+     * Test that graphs of a few hundred nodes, too large for JGraphX, use the native engine
+     */
+    @Test
+    public void testThresholdIsBelowJGraphXLimit() {
+        // JGraphX runs out of a default heap at around 400 nodes
+        assertTrue(DOTGraph.NATIVE_LAYOUT_THRESHOLD < 400);
+
+        DOTGraph dotGraph = GraphGenerator.grid(18, 18).toDOTGraph();
+        assertTrue(dotGraph.getVertexCount() > DOTGraph.NATIVE_LAYOUT_THRESHOLD);
+        java.io.File output = tempDir.resolve("mid.png").toFile();
+        assertTrue(dotGraph.outputGraphics(output.getPath(), "png"));
+        assertTrue(output.length() > 0);
+    }
+
+    /**
+     * Test that cached images are keyed by the renderer and layout budget that drew them
+     */
+    @Test
+    public void testGraphicsCacheKeyNamesRenderer() {
+        DOTGraph dotGraph = GraphGenerator.chain(10).toDOTGraph();
+        ExportCache cache = new ExportCache(tempDir.resolve("cache").toString(), 1 << 20);
+        dotGraph.setExportCache(cache);
+
+        long hash = dotGraph.contentHash();
+        String png = ExportCache.key(hash, "graphics-awt-" + DOTGraph.DEFAULT_LAYOUT_ITERATIONS, "png");
+        assertEquals(png, dotGraph.graphicsCacheKey("png"));
+        assertNotEquals(ExportCache.key(hash, "graphics-jgraphx-" + DOTGraph.DEFAULT_LAYOUT_ITERATIONS, "png"), png);
+        assertEquals(ExportCache.key(hash, "graphics-native-" + DOTGraph.DEFAULT_LAYOUT_ITERATIONS, "svg"),
+                dotGraph.graphicsCacheKey("svg"));
+
+        assertTrue(dotGraph.outputGraphics(tempDir.resolve("graph.png").toString(), "png"));
+        assertTrue(cache.contains(png));
+    }
+
+    /**
+     * Test that PNG output of a small graph lays out through the cache
+     */
+    @Test
+    public void testPngOutputUsesCachedLayout() {
+        DOTGraph dotGraph = GraphGenerator.chain(30).toDOTGraph();
+        ForceDirectedLayout engine = new ForceDirectedLayout(100);
+        assertTrue(dotGraph.getVertexCount() <= DOTGraph.NATIVE_LAYOUT_THRESHOLD);
+        long empty = dotGraph.memoryReport().getBytes("layoutCache");
+
+        assertTrue(dotGraph.outputGraphics(tempDir.resolve("first.png").toString(), "png"));
+        assertTrue(dotGraph.memoryReport().getBytes("layoutCache") > empty);
+        GraphLayout first = dotGraph.computeLayout(engine);
+
+        // A second image after a mutation only relaxes around the new node
+        dotGraph.addNode("X");
+        dotGraph.addEdge("X", "n0");
+        assertTrue(dotGraph.outputGraphics(tempDir.resolve("second.png").toString(), "png"));
+        GraphLayout second = dotGraph.computeLayout(engine);
+        int before = first.getSnapshot().idOf("n29");
+        int after = second.getSnapshot().idOf("n29");
+        assertEquals(first.x()[before], second.x()[after], 0.0);
+        assertEquals(first.y()[before], second.y()[after], 0.0);
+    }
+
+    @Test
+    public void testCoreRunsWithoutRenderingStack() throws Exception {
+        java.nio.file.Path dot = tempDir.resolve("input.dot");
+        Files.writeString(dot, "digraph G {\n  a -> b;\n  b -> c;\n}\n");
+
+        // Only the core libraries: no jgrapht-ext and no JGraphX
+        URL[] core = {
+                locationOf(DOTGraph.class), locationOf(Graph.class), locationOf(DOTImporter.class),
+                locationOf(AddressableHeap.class), locationOf(Apfloat.class), locationOf(Lexer.class),
+                locationOf(StringEscapeUtils.class), locationOf(StringUtils.class)
+        };
+        try (TrackingLoader loader = new TrackingLoader(core)) {
+            Class<?> type = loader.loadClass("org.example.DOTGraph");
+            Object graph = type.getConstructor().newInstance();
+            assertEquals(true, type.getMethod("parseGraph", String.class).invoke(graph, dot.toString()));
+
+            Class<?> algorithm = loader.loadClass("org.example.Algorithm");
+            Method search = type.getMethod("graphSearch", String.class, String.class, algorithm);
+            Object path = search.invoke(graph, "a", "c", algorithm.getEnumConstants()[0]);
+            assertNotNull(path);
+            assertTrue(type.getMethod("outputDOTGraph", String.class)
+                    .invoke(graph, tempDir.resolve("out.dot").toString()).equals(true));
+
+            assertFalse(loader.hasLoaded("org.example.AwtGraphRenderer"));
+            assertFalse(loader.hasLoaded("org.example.Renderers"));
+            assertFalse(loader.hasLoaded("org.jgrapht.ext.JGraphXAdapter"));
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for tiled rendering and the spatial grid behind it
+ */
+public class TiledRendererTest {
+
+    @TempDir
+    java.nio.file.Path tempDir;
+
+    /**
+     * Build a two-vertex layout with a single long edge between them
+     */
+    private GraphLayout line() {
+        DOTGraph dotGraph = new DOTGraph();
+        dotGraph.getGraph().addVertex("A");
+        dotGraph.getGraph().addVertex("B");
+        dotGraph.getGraph().addEdge("A", "B");
+        GraphSnapshot snapshot = dotGraph.snapshot();
+
+        double[] x = new double[2];
+        double[] y = new double[2];
+        x[snapshot.idOf("A")] = 0.5;
+        y[snapshot.idOf("A")] = 0.5;
+        x[snapshot.idOf("B")] = 3.5;
+        y[snapshot.idOf("B")] = 0.5;
+        return new GraphLayout(snapshot, x, y);
+    }
+
+    /**
+     * Test that edges are registered in every cell they cross
+     */
+    @Test
+    public void testGridTraversal() {
+        SpatialGrid grid = new SpatialGrid(line(), 0, 0, 1, 4, 2);
+
+        for (int col = 0; col < 4; col++) {
+            int[] count = new int[1];
+            grid.forEachEdge(col, 0, e -> count[0]++);
+            assertEquals(1, count[0], "Edge should pass through cell " + col);
+        }
+        assertTrue(grid.isEmpty(0, 1));
+
+        int[] vertices = new int[1];
+        grid.forEachVertex(1, 0, v -> vertices[0]++);
+        assertEquals(0, vertices[0]);
+        grid.forEachVertex(0, 0, v -> vertices[0]++);
+        assertEquals(1, vertices[0]);
+    }
+
+    /**
+     * Test that only tiles with content are written
+     */
+    @Test
+    public void testRenderTiles() throws IOException {
+        File dir = tempDir.resolve("tiles").toFile();
+        int written = new TiledRenderer(64, 40, 2).renderTiles(line(), dir.getPath());
+
+        assertTrue(written > 0);
+        assertEquals(written, dir.listFiles().length);
+        assertTrue(new File(dir, "tile_0_0.png").exists());
+    }
+
+    /**
+     * Test that the pyramid has fewer tiles at the overview level
+     */
+    @Test
+    public void testRenderPyramid() throws IOException {
+        File dir = tempDir.resolve("pyramid").toFile();
+        new TiledRenderer(128, 40, 2).renderPyramid(line(), dir.getPath(), 3);
+
+        int overview = new File(dir, "0").listFiles().length;
+        int full = new File(dir, "2").listFiles().length;
+        assertEquals(1, overview);
+        assertTrue(full > overview);
+    }
+}